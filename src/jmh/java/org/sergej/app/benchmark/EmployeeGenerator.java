@@ -0,0 +1,63 @@
+package org.sergej.app.benchmark;
+
+import org.sergej.app.model.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded roster generator, so every benchmark run works on the same data.
+ * Ids are unique and shuffled; names come from small pools, like real rosters.
+ */
+final class EmployeeGenerator {
+
+    static final long SEED = 42;
+
+    static final int MAX_SALARY = 500_000;
+
+    private static final String[] FIRST_NAMES = {
+            "Иван", "Илья", "Анна", "Ангелина", "Василий", "Сергей", "Диана", "Вадим",
+            "Мария", "Ольга", "Пётр", "Алексей", "Елена", "Наталья", "Дмитрий", "Татьяна"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Петров", "Иванов", "Ивановна", "Николаевна", "Сергеевич", "Николаевич", "Кузнецов",
+            "Смирнов", "Попова", "Соколов", "Лебедева", "Козлов", "Новикова", "Морозов", "Волкова"
+    };
+
+    private EmployeeGenerator() {
+
+    }
+
+    static List<Employee> generate(int size) {
+        SplittableRandom random = new SplittableRandom(SEED);
+        int[] ids = new int[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i + 1;
+        }
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int id = ids[i];
+            ids[i] = ids[j];
+            ids[j] = id;
+        }
+
+        List<Employee> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(new Employee(ids[i],
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)],
+                    LAST_NAMES[random.nextInt(LAST_NAMES.length)] + random.nextInt(1000),
+                    random.nextInt(MAX_SALARY + 1)));
+        }
+        return employees;
+    }
+
+    /**
+     * Salary threshold above which roughly {@code selectivity} of the roster lies.
+     */
+    static int thresholdFor(double selectivity) {
+        return (int) (MAX_SALARY * (1 - selectivity));
+    }
+
+}
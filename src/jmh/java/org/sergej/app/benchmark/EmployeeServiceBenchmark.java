@@ -0,0 +1,103 @@
+package org.sergej.app.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sergej.app.exception.EmployeeNotFoundException;
+import org.sergej.app.model.Employee;
+import org.sergej.app.repository.EmployeeRepository;
+import org.sergej.app.repository.IntEmployeeMap;
+import org.sergej.app.service.EmployeeService;
+import org.sergej.app.service.impl.EmployeeServiceImpl;
+
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "1000000"})
+    int size;
+
+    private final EmployeeService service = new EmployeeServiceImpl();
+
+    private List<Employee> employees;
+
+    private EmployeeRepository repository;
+
+    private int[] probeIds;
+
+    private int probe;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = EmployeeGenerator.generate(size);
+        repository = new EmployeeRepository(employees);
+
+        SplittableRandom random = new SplittableRandom(EmployeeGenerator.SEED);
+        probeIds = new int[1024];
+        for (int i = 0; i < probeIds.length; i++) {
+            probeIds[i] = random.nextInt(size) + 1;
+        }
+    }
+
+    private int nextId() {
+        probe = (probe + 1) & (probeIds.length - 1);
+        return probeIds[probe];
+    }
+
+    @Benchmark
+    public Employee getEmployeeByIdHit() {
+        return service.getEmployeeById(nextId(), employees);
+    }
+
+    @Benchmark
+    public Object getEmployeeByIdMiss() {
+        try {
+            return service.getEmployeeById(-nextId(), employees);
+        } catch (EmployeeNotFoundException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Employee getEmployeeByIdHitIndexed() {
+        return service.getEmployeeById(nextId(), repository);
+    }
+
+    @Benchmark
+    public Object getEmployeeByIdMissIndexed() {
+        try {
+            return service.getEmployeeById(-nextId(), repository);
+        } catch (EmployeeNotFoundException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Map<String, Employee> getEmployeeMap() {
+        return service.getEmployeeMap(employees);
+    }
+
+    @Benchmark
+    public IntEmployeeMap getEmployeeIdMap() {
+        return service.getEmployeeIdMap(employees);
+    }
+
+}
@@ -0,0 +1,86 @@
+package org.sergej.app.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sergej.app.model.Employee;
+import org.sergej.app.service.FileService;
+import org.sergej.app.service.impl.FileServiceImpl;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class FileServiceBenchmark {
+
+    @Param({"1000", "1000000", "10000000"})
+    int rows;
+
+    @Param({".txt", ".emp"})
+    String extension;
+
+    private final FileService fileService = new FileServiceImpl();
+
+    private List<Employee> employees;
+
+    private Path directory;
+
+    private String source;
+
+    private String target;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        employees = EmployeeGenerator.generate(rows);
+        directory = Files.createTempDirectory("employee-benchmark");
+        source = directory.resolve("source" + extension).toString();
+        target = directory.resolve("target" + extension).toString();
+        fileService.saveEmployeesToFile(employees, source);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public String saveEmployeesToFile() {
+        fileService.saveEmployeesToFile(employees, target);
+        return target;
+    }
+
+    @Benchmark
+    public List<Employee> loadEmployeesFromFile() {
+        return fileService.loadEmployeesFromFile(source);
+    }
+
+    @Benchmark
+    public List<Employee> loadEmployeesFromFileParallel() {
+        return fileService.loadEmployeesFromFileParallel(source);
+    }
+
+}
@@ -0,0 +1,82 @@
+package org.sergej.app.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.sergej.app.model.Employee;
+import org.sergej.app.repository.EmployeeRepository;
+import org.sergej.app.repository.EmployeeTable;
+import org.sergej.app.service.EmployeeService;
+import org.sergej.app.service.impl.EmployeeServiceImpl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SalaryFilterBenchmark {
+
+    @Param({"1000", "1000000"})
+    int size;
+
+    @Param({"0.01", "0.1", "0.5", "0.9"})
+    double selectivity;
+
+    private final EmployeeService service = new EmployeeServiceImpl();
+
+    private List<Employee> employees;
+
+    private EmployeeRepository repository;
+
+    private EmployeeTable table;
+
+    private int threshold;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        employees = EmployeeGenerator.generate(size);
+        repository = new EmployeeRepository(employees);
+        repository.getSalaryIndex();
+        table = EmployeeTable.of(employees);
+        threshold = EmployeeGenerator.thresholdFor(selectivity);
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesBySalaryGreaterThan() {
+        return service.getEmployeesBySalaryGreaterThan(threshold, employees);
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesBySalaryGreaterThanIndexed() {
+        return service.getEmployeesBySalaryGreaterThan(threshold, repository);
+    }
+
+    @Benchmark
+    public int countBySalaryGreaterThanIndexed() {
+        return repository.getSalaryIndex().countGreaterThan(threshold);
+    }
+
+    @Benchmark
+    public List<Employee> getEmployeesBySalaryGreaterThanColumn() {
+        return table.getEmployeesBySalaryGreaterThan(threshold);
+    }
+
+    @Benchmark
+    public int countBySalaryGreaterThanColumn() {
+        return table.countBySalaryGreaterThan(threshold);
+    }
+
+}
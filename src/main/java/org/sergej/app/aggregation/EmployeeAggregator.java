@@ -0,0 +1,81 @@
+package org.sergej.app.aggregation;
+
+import org.sergej.app.model.Employee;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collector;
+
+/**
+ * Computes salary statistics for the whole roster and, optionally, per
+ * first or last name, in a single pass. It is a {@link Consumer}, so it can
+ * be fed from a list, a stream or {@code FileService.forEachEmployeeInFile};
+ * chunked or parallel runs use one aggregator per chunk and {@link #merge} them.
+ */
+public class EmployeeAggregator implements Consumer<Employee> {
+
+    private final HistogramSpec histogramSpec;
+
+    private final GroupBy groupBy;
+
+    private final SalaryStatistics total;
+
+    private final Map<String, SalaryStatistics> groups;
+
+    /**
+     * @param histogramSpec fixed-width histogram layout, or {@code null} for none
+     * @param groupBy       name to group by, or {@code null} for totals only
+     */
+    public EmployeeAggregator(HistogramSpec histogramSpec, GroupBy groupBy) {
+        this.histogramSpec = histogramSpec;
+        this.groupBy = groupBy;
+        this.total = new SalaryStatistics(histogramSpec);
+        this.groups = groupBy == null ? Map.of() : new HashMap<>();
+    }
+
+    public static Collector<Employee, EmployeeAggregator, EmployeeAggregator> collector(HistogramSpec histogramSpec,
+                                                                                        GroupBy groupBy) {
+        return Collector.of(
+                () -> new EmployeeAggregator(histogramSpec, groupBy),
+                EmployeeAggregator::accept,
+                EmployeeAggregator::merge,
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    @Override
+    public void accept(Employee employee) {
+        int salary = employee.getSalary();
+        total.accept(salary);
+
+        if (groupBy != null) {
+            groups.computeIfAbsent(groupBy.key(employee), key -> new SalaryStatistics(histogramSpec))
+                    .accept(salary);
+        }
+    }
+
+    public EmployeeAggregator merge(EmployeeAggregator other) {
+        if (groupBy != other.groupBy) {
+            throw new IllegalArgumentException("Cannot merge aggregations with different grouping");
+        }
+
+        total.merge(other.total);
+        for (Map.Entry<String, SalaryStatistics> entry : other.groups.entrySet()) {
+            groups.merge(entry.getKey(), entry.getValue(), SalaryStatistics::merge);
+        }
+        return this;
+    }
+
+    public SalaryStatistics getTotal() {
+        return total;
+    }
+
+    /**
+     * Statistics per group key; empty when no grouping was requested.
+     */
+    public Map<String, SalaryStatistics> getGroups() {
+        return Collections.unmodifiableMap(groups);
+    }
+
+}
@@ -0,0 +1,23 @@
+package org.sergej.app.aggregation;
+
+import org.sergej.app.model.Employee;
+
+public enum GroupBy {
+
+    FIRST_NAME {
+        @Override
+        String key(Employee employee) {
+            return employee.getFirstName();
+        }
+    },
+
+    LAST_NAME {
+        @Override
+        String key(Employee employee) {
+            return employee.getLastName();
+        }
+    };
+
+    abstract String key(Employee employee);
+
+}
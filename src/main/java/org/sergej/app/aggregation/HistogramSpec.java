@@ -0,0 +1,30 @@
+package org.sergej.app.aggregation;
+
+/**
+ * Fixed-width salary histogram layout: bucket {@code i} counts salaries in
+ * {@code [origin + i * bucketWidth, origin + (i + 1) * bucketWidth)}.
+ */
+public record HistogramSpec(int origin, int bucketWidth, int bucketCount) {
+
+    public HistogramSpec {
+        if (bucketWidth <= 0) {
+            throw new IllegalArgumentException("Bucket width must be positive");
+        }
+        if (bucketCount <= 0) {
+            throw new IllegalArgumentException("Bucket count must be positive");
+        }
+    }
+
+    /**
+     * Bucket of the salary, {@code -1} below the first bucket or
+     * {@code bucketCount} above the last one.
+     */
+    int bucketOf(int salary) {
+        long offset = (long) salary - origin;
+        if (offset < 0) {
+            return -1;
+        }
+        return (int) Math.min(offset / bucketWidth, bucketCount);
+    }
+
+}
@@ -0,0 +1,260 @@
+package org.sergej.app.aggregation;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * One-pass salary accumulator: count, sum, min, max, mean, approximate
+ * percentiles and an optional fixed-width histogram, all kept in primitive
+ * fields and arrays. Instances are not thread-safe; parallel or chunked
+ * computations use one instance per chunk and {@link #merge} them.
+ * <p>
+ * Percentiles come from log-linear buckets: values below 128 are exact,
+ * larger ones fall into 64 buckets per power of two, so a percentile is
+ * within about 1.6% of the true value. The bucket array takes about 13 KB,
+ * so it is allocated only once more than 256 non-negative
+ * salaries have been seen; smaller groups, typically most of them when
+ * grouping by name, keep the salaries themselves and map them to the same
+ * buckets when a percentile is asked for.
+ */
+public class SalaryStatistics implements IntConsumer {
+
+    private static final int EXACT_VALUES = 128;
+
+    private static final int SUB_BUCKETS = 64;
+
+    private static final int BUCKET_COUNT = EXACT_VALUES + (31 - 7) * SUB_BUCKETS;
+
+    private static final int SPARSE_LIMIT = 256;
+
+    private static final int[] NO_VALUES = new int[0];
+
+    private final HistogramSpec histogramSpec;
+
+    /**
+     * Percentile bucket counts, or {@code null} while the salaries are kept in {@link #values}.
+     */
+    private long[] buckets;
+
+    private int[] values = NO_VALUES;
+
+    private int valueCount;
+
+    private final long[] histogram;
+
+    private long count;
+
+    private long sum;
+
+    private int min = Integer.MAX_VALUE;
+
+    private int max = Integer.MIN_VALUE;
+
+    private long negativeCount;
+
+    private long underflow;
+
+    private long overflow;
+
+    public SalaryStatistics() {
+        this(null);
+    }
+
+    public SalaryStatistics(HistogramSpec histogramSpec) {
+        this.histogramSpec = histogramSpec;
+        this.histogram = histogramSpec == null ? null : new long[histogramSpec.bucketCount()];
+    }
+
+    @Override
+    public void accept(int salary) {
+        count++;
+        sum += salary;
+        min = Math.min(min, salary);
+        max = Math.max(max, salary);
+
+        if (salary < 0) {
+            negativeCount++;
+        } else {
+            record(salary);
+        }
+
+        if (histogram != null) {
+            int bucket = histogramSpec.bucketOf(salary);
+            if (bucket < 0) {
+                underflow++;
+            } else if (bucket == histogram.length) {
+                overflow++;
+            } else {
+                histogram[bucket]++;
+            }
+        }
+    }
+
+    public SalaryStatistics merge(SalaryStatistics other) {
+        if (histogramSpec == null ? other.histogramSpec != null : !histogramSpec.equals(other.histogramSpec)) {
+            throw new IllegalArgumentException("Cannot merge statistics with different histograms");
+        }
+
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        negativeCount += other.negativeCount;
+        if (other.buckets != null) {
+            if (buckets == null) {
+                allocateBuckets();
+            }
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] += other.buckets[i];
+            }
+        } else {
+            for (int i = 0; i < other.valueCount; i++) {
+                record(other.values[i]);
+            }
+        }
+
+        if (histogram != null) {
+            underflow += other.underflow;
+            overflow += other.overflow;
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] += other.histogram[i];
+            }
+        }
+        return this;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public long getSum() {
+        return sum;
+    }
+
+    /**
+     * Smallest salary, or {@code 0} if nothing was accumulated.
+     */
+    public int getMin() {
+        return count == 0 ? 0 : min;
+    }
+
+    public int getMax() {
+        return count == 0 ? 0 : max;
+    }
+
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * Approximate salary at the given percentile ({@code 0 < percentile <= 100}),
+     * by the nearest-rank method. Always within {@code [min, max]}.
+     */
+    public int getPercentile(double percentile) {
+        if (!(percentile > 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be in (0, 100]");
+        }
+        if (count == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(percentile / 100 * count);
+        if (rank <= negativeCount) {
+            return min;
+        }
+
+        if (buckets == null) {
+            int[] sorted = Arrays.copyOf(values, valueCount);
+            Arrays.sort(sorted);
+            int index = bucketIndex(sorted[(int) (rank - negativeCount - 1)]);
+            return Math.max(min, Math.min(max, bucketMidpoint(index)));
+        }
+
+        long seen = negativeCount;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                return Math.max(min, Math.min(max, bucketMidpoint(i)));
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Counts per fixed-width bucket, or an empty array without a histogram spec.
+     */
+    public long[] getHistogram() {
+        return histogram == null ? new long[0] : histogram.clone();
+    }
+
+    public long getHistogramUnderflow() {
+        return underflow;
+    }
+
+    public long getHistogramOverflow() {
+        return overflow;
+    }
+
+    public HistogramSpec getHistogramSpec() {
+        return histogramSpec;
+    }
+
+    private void record(int salary) {
+        if (buckets == null) {
+            if (valueCount < values.length) {
+                values[valueCount++] = salary;
+                return;
+            }
+            if (valueCount < SPARSE_LIMIT) {
+                values = Arrays.copyOf(values, Math.max(8, valueCount * 2));
+                values[valueCount++] = salary;
+                return;
+            }
+            allocateBuckets();
+        }
+        buckets[bucketIndex(salary)]++;
+    }
+
+    private void allocateBuckets() {
+        buckets = new long[BUCKET_COUNT];
+        for (int i = 0; i < valueCount; i++) {
+            buckets[bucketIndex(values[i])]++;
+        }
+        values = NO_VALUES;
+        valueCount = 0;
+    }
+
+    static int bucketIndex(int value) {
+        if (value < EXACT_VALUES) {
+            return value;
+        }
+        int exponent = 31 - Integer.numberOfLeadingZeros(value);
+        int shift = exponent - 6;
+        return EXACT_VALUES + (exponent - 7) * SUB_BUCKETS + (value >>> shift) - SUB_BUCKETS;
+    }
+
+    static int bucketMidpoint(int index) {
+        if (index < EXACT_VALUES) {
+            return index;
+        }
+        int exponent = (index - EXACT_VALUES) / SUB_BUCKETS + 7;
+        int mantissa = (index - EXACT_VALUES) % SUB_BUCKETS + SUB_BUCKETS;
+        int shift = exponent - 6;
+        long lower = (long) mantissa << shift;
+        long upper = ((long) (mantissa + 1) << shift) - 1;
+        return (int) ((lower + upper) >>> 1);
+    }
+
+    @Override
+    public String toString() {
+        return "SalaryStatistics{" +
+                "count=" + count +
+                ", sum=" + sum +
+                ", min=" + getMin() +
+                ", max=" + getMax() +
+                ", mean=" + getMean() +
+                (histogram == null ? "" : ", histogram=" + Arrays.toString(histogram)) +
+                '}';
+    }
+
+}
@@ -0,0 +1,30 @@
+package org.sergej.app.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Compression format for text employee files. Implementations are found
+ * through {@link java.util.ServiceLoader} in addition to the built-in
+ * {@link GzipCodec}; a file uses the codec whose extension it ends with, or
+ * whose magic bytes it starts with.
+ */
+public interface CompressionCodec {
+
+    /**
+     * File name suffix, including the dot, e.g. {@code ".gz"}.
+     */
+    String extension();
+
+    /**
+     * Whether the first bytes of a file identify this format. {@code header}
+     * holds {@code length} bytes, fewer than requested for short files.
+     */
+    boolean matches(byte[] header, int length);
+
+    OutputStream compress(OutputStream out) throws IOException;
+
+    InputStream decompress(InputStream in) throws IOException;
+
+}
@@ -0,0 +1,73 @@
+package org.sergej.app.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * Registry of the available {@link CompressionCodec}s: the built-in gzip codec
+ * followed by those registered with {@link ServiceLoader}.
+ */
+public final class CompressionCodecs {
+
+    private static final int MAX_MAGIC_LENGTH = 16;
+
+    private static final List<CompressionCodec> CODECS = load();
+
+    private CompressionCodecs() {
+
+    }
+
+    public static List<CompressionCodec> all() {
+        return CODECS;
+    }
+
+    /**
+     * Codec whose extension the file name ends with, or {@code null}.
+     */
+    public static CompressionCodec forFilename(String filename) {
+        for (CompressionCodec codec : CODECS) {
+            if (filename.endsWith(codec.extension())) {
+                return codec;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Codec chosen by the file name, or else by the file's first bytes;
+     * {@code null} for an uncompressed file.
+     */
+    public static CompressionCodec forFile(Path path) throws IOException {
+        CompressionCodec codec = forFilename(path.getFileName().toString());
+        if (codec != null) {
+            return codec;
+        }
+
+        byte[] header = new byte[MAX_MAGIC_LENGTH];
+        int length;
+        try (InputStream in = Files.newInputStream(path)) {
+            length = in.readNBytes(header, 0, header.length);
+        }
+        for (CompressionCodec candidate : CODECS) {
+            if (candidate.matches(header, length)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static List<CompressionCodec> load() {
+        List<CompressionCodec> codecs = new ArrayList<>();
+        codecs.add(new GzipCodec());
+        for (CompressionCodec codec : ServiceLoader.load(CompressionCodec.class)) {
+            codecs.add(codec);
+        }
+        return List.copyOf(codecs);
+    }
+
+}
@@ -0,0 +1,33 @@
+package org.sergej.app.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+public class GzipCodec implements CompressionCodec {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Override
+    public String extension() {
+        return ".gz";
+    }
+
+    @Override
+    public boolean matches(byte[] header, int length) {
+        return length >= 2 && (header[0] & 0xFF) == 0x1F && (header[1] & 0xFF) == 0x8B;
+    }
+
+    @Override
+    public OutputStream compress(OutputStream out) throws IOException {
+        return new GZIPOutputStream(out, BUFFER_SIZE);
+    }
+
+    @Override
+    public InputStream decompress(InputStream in) throws IOException {
+        return new GZIPInputStream(in, BUFFER_SIZE);
+    }
+
+}
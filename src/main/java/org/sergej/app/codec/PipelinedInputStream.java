@@ -0,0 +1,162 @@
+package org.sergej.app.codec;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reads the upstream stream (typically a decompressor) on a background thread
+ * and hands the bytes over in fixed-size blocks, so decompression overlaps
+ * with whatever consumes this stream. Blocks are recycled, which bounds memory
+ * and how far the background thread can read ahead.
+ */
+public class PipelinedInputStream extends InputStream {
+
+    private static final int BLOCK_SIZE = 256 * 1024;
+
+    private static final int BLOCK_COUNT = 4;
+
+    private final InputStream in;
+
+    private final BlockingQueue<Block> filled = new ArrayBlockingQueue<>(BLOCK_COUNT + 1);
+
+    private final BlockingQueue<Block> free = new ArrayBlockingQueue<>(BLOCK_COUNT);
+
+    private final Thread worker;
+
+    private volatile boolean closed;
+
+    private Block current;
+
+    private int position;
+
+    private boolean endOfStream;
+
+    public PipelinedInputStream(InputStream in, String threadName) {
+        this.in = in;
+        for (int i = 0; i < BLOCK_COUNT; i++) {
+            free.add(new Block(new byte[BLOCK_SIZE]));
+        }
+        this.worker = Thread.ofPlatform().name(threadName).daemon().start(this::fill);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureData()) {
+            return -1;
+        }
+        return current.data[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!ensureData()) {
+            return -1;
+        }
+        int chunk = Math.min(length, current.length - position);
+        System.arraycopy(current.data, position, bytes, offset, chunk);
+        position += chunk;
+        return chunk;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        worker.interrupt();
+        try {
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        in.close();
+    }
+
+    private boolean ensureData() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        if (current != null && position < current.length) {
+            return true;
+        }
+        if (endOfStream) {
+            return false;
+        }
+
+        if (current != null) {
+            free.offer(current);
+            current = null;
+        }
+        try {
+            Block next = filled.take();
+            if (next.length < 0) {
+                endOfStream = true;
+                if (next.failure != null) {
+                    throw new IOException(next.failure.getMessage(), next.failure);
+                }
+                return false;
+            }
+            current = next;
+            position = 0;
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading from the pipeline");
+        }
+    }
+
+    private void fill() {
+        Block end = new Block(null);
+        end.length = -1;
+        try {
+            while (!closed) {
+                Block block = free.poll(100, TimeUnit.MILLISECONDS);
+                if (block == null) {
+                    continue;
+                }
+                int read = in.readNBytes(block.data, 0, block.data.length);
+                if (read == 0) {
+                    break;
+                }
+                block.length = read;
+                filled.put(block);
+                if (read < block.data.length) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            return;
+        } catch (Throwable e) {
+            end.failure = e;
+        }
+
+        try {
+            filled.put(end);
+        } catch (InterruptedException ignored) {
+            // The reader has closed the stream and no longer waits for the end marker
+        }
+    }
+
+    private static class Block {
+
+        private final byte[] data;
+
+        private int length;
+
+        private Throwable failure;
+
+        Block(byte[] data) {
+            this.data = data;
+        }
+
+    }
+
+}
@@ -0,0 +1,165 @@
+package org.sergej.app.codec;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hands written bytes to a background thread in fixed-size blocks, so the
+ * downstream stream (typically a compressor) runs concurrently with the code
+ * producing the data. A few blocks are recycled between the two threads,
+ * which bounds both memory and how far the writer can run ahead.
+ * Closing the stream waits for the background thread and closes the
+ * downstream stream; a downstream failure is rethrown to the writer.
+ */
+public class PipelinedOutputStream extends OutputStream {
+
+    private static final int BLOCK_SIZE = 256 * 1024;
+
+    private static final int BLOCK_COUNT = 4;
+
+    private static final Block END = new Block(new byte[0]);
+
+    private final OutputStream out;
+
+    private final BlockingQueue<Block> filled = new ArrayBlockingQueue<>(BLOCK_COUNT + 1);
+
+    private final BlockingQueue<Block> free = new ArrayBlockingQueue<>(BLOCK_COUNT);
+
+    private final Thread worker;
+
+    private volatile Throwable failure;
+
+    private Block current;
+
+    private boolean closed;
+
+    public PipelinedOutputStream(OutputStream out, String threadName) {
+        this.out = out;
+        for (int i = 0; i < BLOCK_COUNT - 1; i++) {
+            free.add(new Block(new byte[BLOCK_SIZE]));
+        }
+        this.current = new Block(new byte[BLOCK_SIZE]);
+        this.worker = Thread.ofPlatform().name(threadName).daemon().start(this::drain);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (current.length == current.data.length) {
+            handOver();
+        }
+        current.data[current.length++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] bytes, int offset, int length) throws IOException {
+        ensureOpen();
+        while (length > 0) {
+            if (current.length == current.data.length) {
+                handOver();
+            }
+            int chunk = Math.min(length, current.data.length - current.length);
+            System.arraycopy(bytes, offset, current.data, current.length, chunk);
+            current.length += chunk;
+            offset += chunk;
+            length -= chunk;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            if (current.length > 0) {
+                offer(current);
+            }
+            offer(END);
+            worker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            worker.interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the pipeline to finish");
+        }
+        rethrowFailure();
+    }
+
+    private void handOver() throws IOException {
+        offer(current);
+        try {
+            Block next;
+            while ((next = free.poll(100, TimeUnit.MILLISECONDS)) == null) {
+                rethrowFailure();
+            }
+            next.length = 0;
+            current = next;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing to the pipeline");
+        }
+    }
+
+    private void offer(Block block) throws IOException {
+        try {
+            while (!filled.offer(block, 100, TimeUnit.MILLISECONDS)) {
+                rethrowFailure();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while writing to the pipeline");
+        }
+    }
+
+    private void drain() {
+        try (OutputStream target = out) {
+            while (true) {
+                Block block = filled.take();
+                if (block == END) {
+                    break;
+                }
+                target.write(block.data, 0, block.length);
+                free.offer(block);
+            }
+        } catch (Throwable e) {
+            failure = e;
+        }
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("Stream closed");
+        }
+        rethrowFailure();
+    }
+
+    private void rethrowFailure() throws IOException {
+        Throwable error = failure;
+        if (error == null) {
+            return;
+        }
+        if (error instanceof IOException ioException) {
+            throw new IOException(ioException.getMessage(), ioException);
+        }
+        throw new IOException("Pipeline failed", error);
+    }
+
+    private static class Block {
+
+        private final byte[] data;
+
+        private int length;
+
+        Block(byte[] data) {
+            this.data = data;
+        }
+
+    }
+
+}
@@ -0,0 +1,16 @@
+package org.sergej.app.exception;
+
+public class DuplicateEmployeeIdException extends RuntimeException {
+
+    private final int id;
+
+    public DuplicateEmployeeIdException(int id, String message) {
+        super(message);
+        this.id = id;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+}
@@ -0,0 +1,18 @@
+package org.sergej.app.exception;
+
+import org.sergej.app.model.ParseError;
+
+public class EmployeeParseException extends IllegalArgumentException {
+
+    private final ParseError.Reason reason;
+
+    public EmployeeParseException(ParseError.Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public ParseError.Reason getReason() {
+        return reason;
+    }
+
+}
@@ -0,0 +1,118 @@
+package org.sergej.app.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe latency histogram in the style of HdrHistogram. Values below 64
+ * are counted exactly, larger ones in 32 buckets per power of two, so any
+ * percentile is within about 3% of the recorded value. Recording is a few
+ * atomic increments with no allocation and no locks.
+ */
+public class LatencyHistogram {
+
+    private static final int EXACT_VALUES = 64;
+
+    private static final int SUB_BUCKETS = 32;
+
+    private static final int BUCKET_COUNT = EXACT_VALUES + (63 - 6) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records one value; negative values are counted as zero.
+     */
+    public void record(long value) {
+        long recorded = Math.max(0, value);
+        counts.incrementAndGet(bucketIndex(recorded));
+        count.increment();
+        sum.add(recorded);
+        if (recorded > max.get()) {
+            max.accumulateAndGet(recorded, Math::max);
+        }
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    public double getMean() {
+        long total = count.sum();
+        return total == 0 ? 0 : (double) sum.sum() / total;
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Approximate value at the given percentile ({@code 0 < percentile <= 100}).
+     * Values recorded concurrently with the call may or may not be included.
+     */
+    public long getPercentile(double percentile) {
+        if (!(percentile > 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("Percentile must be in (0, 100]");
+        }
+
+        long[] snapshot = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = (long) Math.ceil(percentile / 100 * total);
+        if (rank >= total) {
+            return max.get();
+        }
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(bucketMidpoint(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.set(0);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < EXACT_VALUES) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - 5;
+        return EXACT_VALUES + (exponent - 6) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    static long bucketMidpoint(int index) {
+        if (index < EXACT_VALUES) {
+            return index;
+        }
+        int exponent = (index - EXACT_VALUES) / SUB_BUCKETS + 6;
+        long mantissa = (index - EXACT_VALUES) % SUB_BUCKETS + SUB_BUCKETS;
+        int shift = exponent - 5;
+        long lower = mantissa << shift;
+        long width = 1L << shift;
+        return lower + (width >>> 1);
+    }
+
+}
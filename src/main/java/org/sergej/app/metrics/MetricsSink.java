@@ -0,0 +1,45 @@
+package org.sergej.app.metrics;
+
+import org.sergej.app.model.ParseError;
+
+/**
+ * Destination for service metrics. {@link ServiceMetrics} keeps them in
+ * memory and publishes them over JMX; other implementations can forward them
+ * to an external monitoring system. Implementations must be thread-safe and
+ * cheap, since they are called on every service call.
+ */
+public interface MetricsSink {
+
+    MetricsSink NOOP = new MetricsSink() {
+
+        @Override
+        public void recordLatency(String operation, long nanos) {
+
+        }
+
+        @Override
+        public void recordRowsParsed(long rows) {
+
+        }
+
+        @Override
+        public void recordBytesRead(long bytes) {
+
+        }
+
+        @Override
+        public void recordSkippedRow(ParseError error) {
+
+        }
+
+    };
+
+    void recordLatency(String operation, long nanos);
+
+    void recordRowsParsed(long rows);
+
+    void recordBytesRead(long bytes);
+
+    void recordSkippedRow(ParseError error);
+
+}
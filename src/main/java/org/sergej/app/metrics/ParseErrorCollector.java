@@ -0,0 +1,65 @@
+package org.sergej.app.metrics;
+
+import org.sergej.app.model.ParseError;
+import org.sergej.app.service.ParseErrorListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Keeps the most recent parse errors in a fixed-size ring buffer. Older
+ * errors are dropped once the buffer is full, so a file full of bad rows
+ * cannot exhaust memory; the total and dropped counts are still tracked.
+ */
+public class ParseErrorCollector implements ParseErrorListener {
+
+    public static final int DEFAULT_CAPACITY = 1000;
+
+    private final ParseError[] errors;
+
+    private long total;
+
+    public ParseErrorCollector() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ParseErrorCollector(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.errors = new ParseError[capacity];
+    }
+
+    @Override
+    public synchronized void onParseError(ParseError error) {
+        errors[(int) (total % errors.length)] = error;
+        total++;
+    }
+
+    /**
+     * Retained errors, oldest first.
+     */
+    public synchronized List<ParseError> getErrors() {
+        int retained = (int) Math.min(total, errors.length);
+        List<ParseError> result = new ArrayList<>(retained);
+        for (long i = total - retained; i < total; i++) {
+            result.add(errors[(int) (i % errors.length)]);
+        }
+        return result;
+    }
+
+    public synchronized long getTotalCount() {
+        return total;
+    }
+
+    public synchronized long getDroppedCount() {
+        return Math.max(0, total - errors.length);
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(errors, null);
+        total = 0;
+    }
+
+}
@@ -0,0 +1,193 @@
+package org.sergej.app.metrics;
+
+import org.sergej.app.model.ParseError;
+import org.sergej.app.service.ParseErrorListener;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * In-memory {@link MetricsSink}: a latency histogram per operation, row and
+ * byte counters, skipped-row counts per {@link ParseError.Reason} and a
+ * bounded collector of recent parse errors. Rates are averaged since creation
+ * or the last {@link #reset()}. Everything can be published over JMX with
+ * {@link #register(String)}.
+ */
+public class ServiceMetrics implements MetricsSink, ServiceMetricsMXBean {
+
+    private static final ParseError.Reason[] REASONS = ParseError.Reason.values();
+
+    private final Map<String, LatencyHistogram> latencies = new ConcurrentHashMap<>();
+
+    private final LongAdder rowsParsed = new LongAdder();
+
+    private final LongAdder bytesRead = new LongAdder();
+
+    private final AtomicLongArray skippedRows = new AtomicLongArray(REASONS.length);
+
+    private final ParseErrorCollector errorCollector;
+
+    private volatile long startedAt = System.nanoTime();
+
+    public ServiceMetrics() {
+        this(new ParseErrorCollector());
+    }
+
+    public ServiceMetrics(ParseErrorCollector errorCollector) {
+        this.errorCollector = errorCollector;
+    }
+
+    @Override
+    public void recordLatency(String operation, long nanos) {
+        latencies.computeIfAbsent(operation, key -> new LatencyHistogram()).record(nanos);
+    }
+
+    @Override
+    public void recordRowsParsed(long rows) {
+        rowsParsed.add(rows);
+    }
+
+    @Override
+    public void recordBytesRead(long bytes) {
+        bytesRead.add(bytes);
+    }
+
+    @Override
+    public void recordSkippedRow(ParseError error) {
+        skippedRows.incrementAndGet(error.reason().ordinal());
+        errorCollector.onParseError(error);
+    }
+
+    /**
+     * Listener to pass to a loader so that its skipped rows are counted here
+     * instead of being printed to {@code System.err}.
+     */
+    public ParseErrorListener parseErrorListener() {
+        return this::recordSkippedRow;
+    }
+
+    public LatencyHistogram getLatency(String operation) {
+        return latencies.get(operation);
+    }
+
+    public ParseErrorCollector getErrorCollector() {
+        return errorCollector;
+    }
+
+    public long getSkippedRows(ParseError.Reason reason) {
+        return skippedRows.get(reason.ordinal());
+    }
+
+    /**
+     * Registers this instance with the platform MBean server under
+     * {@code org.sergej.app:type=ServiceMetrics,name=<name>}.
+     */
+    public ObjectName register(String name) {
+        try {
+            ObjectName objectName = new ObjectName("org.sergej.app:type=ServiceMetrics,name=" + ObjectName.quote(name));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Failed to register metrics MBean " + name, e);
+        }
+    }
+
+    @Override
+    public Map<String, Long> getCallCounts() {
+        Map<String, Long> result = new TreeMap<>();
+        latencies.forEach((operation, histogram) -> result.put(operation, histogram.getCount()));
+        return result;
+    }
+
+    @Override
+    public Map<String, Double> getMeanLatencyMicros() {
+        return latencyMicros(LatencyHistogram::getMean);
+    }
+
+    @Override
+    public Map<String, Double> getP50LatencyMicros() {
+        return latencyMicros(histogram -> histogram.getPercentile(50));
+    }
+
+    @Override
+    public Map<String, Double> getP99LatencyMicros() {
+        return latencyMicros(histogram -> histogram.getPercentile(99));
+    }
+
+    @Override
+    public Map<String, Double> getMaxLatencyMicros() {
+        return latencyMicros(LatencyHistogram::getMax);
+    }
+
+    @Override
+    public long getRowsParsed() {
+        return rowsParsed.sum();
+    }
+
+    @Override
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    @Override
+    public double getRowsPerSecond() {
+        return perSecond(rowsParsed.sum());
+    }
+
+    @Override
+    public double getBytesPerSecond() {
+        return perSecond(bytesRead.sum());
+    }
+
+    @Override
+    public Map<String, Long> getSkippedRows() {
+        Map<String, Long> result = new TreeMap<>();
+        for (ParseError.Reason reason : REASONS) {
+            result.put(reason.name(), skippedRows.get(reason.ordinal()));
+        }
+        return result;
+    }
+
+    @Override
+    public List<String> getRecentParseErrors() {
+        return errorCollector.getErrors().stream()
+                .map(error -> error.filename() + ":" + error.lineNumber() + " " + error.reason()
+                        + " — " + error.message() + ": '" + error.line() + "'")
+                .toList();
+    }
+
+    @Override
+    public void reset() {
+        latencies.values().forEach(LatencyHistogram::reset);
+        rowsParsed.reset();
+        bytesRead.reset();
+        for (int i = 0; i < REASONS.length; i++) {
+            skippedRows.set(i, 0);
+        }
+        errorCollector.clear();
+        startedAt = System.nanoTime();
+    }
+
+    private Map<String, Double> latencyMicros(ToDoubleFunction<LatencyHistogram> statistic) {
+        Map<String, Double> result = new TreeMap<>();
+        latencies.forEach((operation, histogram) ->
+                result.put(operation, statistic.applyAsDouble(histogram) / 1_000));
+        return result;
+    }
+
+    private double perSecond(long value) {
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        return seconds <= 0 ? 0 : value / seconds;
+    }
+
+}
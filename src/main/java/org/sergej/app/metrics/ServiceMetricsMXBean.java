@@ -0,0 +1,36 @@
+package org.sergej.app.metrics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * JMX view of {@link ServiceMetrics}. Latencies are in microseconds and keyed
+ * by operation name.
+ */
+public interface ServiceMetricsMXBean {
+
+    Map<String, Long> getCallCounts();
+
+    Map<String, Double> getMeanLatencyMicros();
+
+    Map<String, Double> getP50LatencyMicros();
+
+    Map<String, Double> getP99LatencyMicros();
+
+    Map<String, Double> getMaxLatencyMicros();
+
+    long getRowsParsed();
+
+    long getBytesRead();
+
+    double getRowsPerSecond();
+
+    double getBytesPerSecond();
+
+    Map<String, Long> getSkippedRows();
+
+    List<String> getRecentParseErrors();
+
+    void reset();
+
+}
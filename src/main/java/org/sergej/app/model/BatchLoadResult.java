@@ -0,0 +1,25 @@
+package org.sergej.app.model;
+
+import java.util.List;
+
+/**
+ * Result of loading several files at once.
+ *
+ * @param employees rows of all successfully loaded files, file by file in the
+ *                  order the files were given; empty when the rows were
+ *                  passed to a sink instead
+ * @param files     one outcome per file, in the order the files were given
+ */
+public record BatchLoadResult(List<Employee> employees, List<FileLoadOutcome> files) {
+
+    public List<FileLoadOutcome> failures() {
+        return files.stream()
+                .filter(outcome -> !outcome.isSuccess())
+                .toList();
+    }
+
+    public boolean hasFailures() {
+        return files.stream().anyMatch(outcome -> !outcome.isSuccess());
+    }
+
+}
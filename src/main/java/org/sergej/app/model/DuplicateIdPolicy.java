@@ -0,0 +1,28 @@
+package org.sergej.app.model;
+
+/**
+ * What to do with rows whose id was already seen earlier in the roster.
+ */
+public enum DuplicateIdPolicy {
+
+    /**
+     * Keep the first row with each id and drop the later ones.
+     */
+    KEEP_FIRST,
+
+    /**
+     * Keep the last row with each id, at the position of the first one.
+     */
+    KEEP_LAST,
+
+    /**
+     * Fail on the first duplicate id.
+     */
+    REJECT,
+
+    /**
+     * Same as {@link #KEEP_FIRST}, but every dropped row is reported.
+     */
+    REPORT
+
+}
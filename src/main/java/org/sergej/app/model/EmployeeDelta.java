@@ -0,0 +1,22 @@
+package org.sergej.app.model;
+
+import java.util.List;
+
+/**
+ * Change published by a file watcher. {@code added} holds employees with ids
+ * not seen before, {@code updated} holds new rows for known ids. When
+ * {@code reloaded} is set the file was read from scratch and {@code added}
+ * is the complete roster, replacing everything published earlier.
+ */
+public record EmployeeDelta(List<Employee> added, List<Employee> updated, boolean reloaded) {
+
+    public EmployeeDelta {
+        added = List.copyOf(added);
+        updated = List.copyOf(updated);
+    }
+
+    public boolean isEmpty() {
+        return !reloaded && added.isEmpty() && updated.isEmpty();
+    }
+
+}
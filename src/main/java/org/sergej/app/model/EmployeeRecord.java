@@ -0,0 +1,66 @@
+package org.sergej.app.model;
+
+/**
+ * Immutable employee row. Unlike {@link Employee} it can be cached and
+ * shared between threads without defensive copies.
+ */
+public record EmployeeRecord(int id, String firstName, String lastName, int salary) {
+
+    public static EmployeeRecord of(Employee employee) {
+        return new EmployeeRecord(employee.getId(), employee.getFirstName(),
+                employee.getLastName(), employee.getSalary());
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Employee toEmployee() {
+        return new Employee(id, firstName, lastName, salary);
+    }
+
+    public EmployeeRecord withSalary(int salary) {
+        return new EmployeeRecord(id, firstName, lastName, salary);
+    }
+
+    public static class Builder {
+
+        private int id;
+
+        private String firstName;
+
+        private String lastName;
+
+        private int salary;
+
+        private Builder() {
+
+        }
+
+        public Builder id(int id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder firstName(String firstName) {
+            this.firstName = firstName;
+            return this;
+        }
+
+        public Builder lastName(String lastName) {
+            this.lastName = lastName;
+            return this;
+        }
+
+        public Builder salary(int salary) {
+            this.salary = salary;
+            return this;
+        }
+
+        public EmployeeRecord build() {
+            return new EmployeeRecord(id, firstName, lastName, salary);
+        }
+
+    }
+
+}
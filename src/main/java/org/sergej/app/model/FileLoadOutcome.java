@@ -0,0 +1,17 @@
+package org.sergej.app.model;
+
+/**
+ * How loading one file of a multi-file load went.
+ *
+ * @param rowCount number of employees loaded; if the load failed, the number
+ *                 of its rows already passed to the sink of a streaming load,
+ *                 otherwise 0
+ * @param error    why the file could not be loaded, or {@code null}
+ */
+public record FileLoadOutcome(String filename, int rowCount, long durationNanos, RuntimeException error) {
+
+    public boolean isSuccess() {
+        return error == null;
+    }
+
+}
@@ -0,0 +1,29 @@
+package org.sergej.app.model;
+
+/**
+ * A row that could not be parsed and was skipped while loading a file.
+ *
+ * @param lineNumber 1-based line number in the file; for {@link Reason#DUPLICATE_ID}
+ *                   the 1-based number of the record among those loaded; 0 when the
+ *                   whole file could not be read, e.g. by a watcher poll
+ * @param line       the trimmed content of the line
+ */
+public record ParseError(String filename, int lineNumber, String line, Reason reason, String message) {
+
+    public enum Reason {
+
+        FIELD_COUNT,
+
+        EMPTY_NAME,
+
+        NEGATIVE_SALARY,
+
+        INVALID_NUMBER,
+
+        DUPLICATE_ID,
+
+        OTHER
+
+    }
+
+}
@@ -0,0 +1,161 @@
+package org.sergej.app.repository;
+
+import org.sergej.app.exception.DuplicateEmployeeIdException;
+import org.sergej.app.model.DuplicateIdPolicy;
+import org.sergej.app.model.Employee;
+import org.sergej.app.util.IntIntHashTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Removes duplicate ids from a roster in one pass. Ids are mapped to the
+ * position of their first row in a primitive table: a direct-address int[]
+ * when the ids are dense enough, an {@link IntIntHashTable} otherwise. Nothing
+ * is boxed, so the cost stays linear for rosters of tens of millions of rows.
+ */
+public final class EmployeeDeduplicator {
+
+    /**
+     * Direct addressing is used while the id range is at most this many
+     * times the roster size.
+     */
+    private static final int DENSE_RANGE_FACTOR = 4;
+
+    private EmployeeDeduplicator() {
+
+    }
+
+    /**
+     * Receives rows dropped under {@link DuplicateIdPolicy#REPORT}.
+     */
+    @FunctionalInterface
+    public interface DuplicateListener {
+
+        /**
+         * @param ordinal position of the duplicate in the input list
+         * @param kept    the earlier row with the same id, which is kept
+         */
+        void onDuplicate(Employee duplicate, int ordinal, Employee kept);
+
+    }
+
+    /**
+     * Applies the policy and returns a roster with unique ids, in the order
+     * of each id's first appearance. The input is returned as is when it has
+     * no duplicates.
+     *
+     * @throws DuplicateEmployeeIdException under {@link DuplicateIdPolicy#REJECT}
+     */
+    public static List<Employee> deduplicate(List<Employee> employees, DuplicateIdPolicy policy,
+                                             DuplicateListener listener) {
+        int size = employees.size();
+        if (size < 2) {
+            return employees;
+        }
+
+        Positions positions = Positions.forIds(employees);
+        Employee[] kept = null;
+        int keptCount = 0;
+
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            Employee employee = employees.get(ordinal);
+            int first = positions.putIfAbsent(employee.getId(), keptCount);
+
+            if (first == IntIntHashTable.NO_VALUE) {
+                if (kept != null) {
+                    kept[keptCount] = employee;
+                }
+                keptCount++;
+                continue;
+            }
+
+            if (kept == null) {
+                // First duplicate: everything before it was unique and is kept
+                kept = new Employee[size];
+                for (int i = 0; i < ordinal; i++) {
+                    kept[i] = employees.get(i);
+                }
+            }
+
+            switch (policy) {
+                case KEEP_FIRST -> {
+                }
+                case KEEP_LAST -> kept[first] = employee;
+                case REJECT -> throw new DuplicateEmployeeIdException(employee.getId(),
+                        "Duplicate employee id " + employee.getId() + " at record " + (ordinal + 1));
+                case REPORT -> listener.onDuplicate(employee, ordinal, kept[first]);
+            }
+        }
+
+        if (kept == null) {
+            return employees;
+        }
+        return new ArrayList<>(Arrays.asList(kept).subList(0, keptCount));
+    }
+
+    /**
+     * Id to kept-row position, using {@link IntIntHashTable#NO_VALUE} for absent ids.
+     */
+    private abstract static class Positions {
+
+        abstract int putIfAbsent(int id, int position);
+
+        static Positions forIds(List<Employee> employees) {
+            int min = Integer.MAX_VALUE;
+            int max = Integer.MIN_VALUE;
+            for (Employee employee : employees) {
+                min = Math.min(min, employee.getId());
+                max = Math.max(max, employee.getId());
+            }
+
+            long range = (long) max - min + 1;
+            if (range <= (long) employees.size() * DENSE_RANGE_FACTOR) {
+                return new DensePositions(min, (int) range);
+            }
+            return new HashedPositions(employees.size());
+        }
+
+    }
+
+    private static final class DensePositions extends Positions {
+
+        private final int offset;
+
+        private final int[] positions;
+
+        DensePositions(int offset, int range) {
+            this.offset = offset;
+            this.positions = new int[range];
+            Arrays.fill(positions, IntIntHashTable.NO_VALUE);
+        }
+
+        @Override
+        int putIfAbsent(int id, int position) {
+            int slot = id - offset;
+            int existing = positions[slot];
+            if (existing == IntIntHashTable.NO_VALUE) {
+                positions[slot] = position;
+            }
+            return existing;
+        }
+
+    }
+
+    private static final class HashedPositions extends Positions {
+
+        private final IntIntHashTable positions;
+
+        HashedPositions(int expectedSize) {
+            this.positions = new IntIntHashTable(expectedSize);
+        }
+
+        @Override
+        int putIfAbsent(int id, int position) {
+            return positions.putIfAbsent(id, position);
+        }
+
+    }
+
+}
@@ -0,0 +1,121 @@
+package org.sergej.app.repository;
+
+import org.sergej.app.model.Employee;
+import org.sergej.app.util.IntIntHashTable;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Immutable snapshot of a roster with an id index built once on creation.
+ * If several employees share an id, lookups return the first one in list
+ * order, the same as a linear scan would.
+ */
+public class EmployeeRepository {
+
+    private final List<Employee> employees;
+
+    private final IntIntHashTable idIndex;
+
+    private volatile SalaryIndex salaryIndex;
+
+    private volatile NameIndex firstNameIndex;
+
+    private volatile NameIndex lastNameIndex;
+
+    public EmployeeRepository(List<Employee> employees) {
+        this.employees = List.copyOf(employees);
+        this.idIndex = new IntIntHashTable(this.employees.size());
+
+        for (int ordinal = 0; ordinal < this.employees.size(); ordinal++) {
+            idIndex.putIfAbsent(this.employees.get(ordinal).getId(), ordinal);
+        }
+    }
+
+    public Optional<Employee> findById(int id) {
+        int ordinal = idIndex.get(id);
+        if (ordinal == IntIntHashTable.NO_VALUE) {
+            return Optional.empty();
+        }
+        return Optional.of(employees.get(ordinal));
+    }
+
+    public boolean containsId(int id) {
+        return idIndex.containsKey(id);
+    }
+
+    /**
+     * Salary index over this snapshot, built on first use.
+     */
+    public SalaryIndex getSalaryIndex() {
+        SalaryIndex index = salaryIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = salaryIndex;
+                if (index == null) {
+                    index = new SalaryIndex(employees);
+                    salaryIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * First-name index over this snapshot, built on first use.
+     */
+    public NameIndex getFirstNameIndex() {
+        NameIndex index = firstNameIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = firstNameIndex;
+                if (index == null) {
+                    index = NameIndex.of(employees, Employee::getFirstName);
+                    firstNameIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Last-name index over this snapshot, built on first use.
+     */
+    public NameIndex getLastNameIndex() {
+        NameIndex index = lastNameIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = lastNameIndex;
+                if (index == null) {
+                    index = NameIndex.of(employees, Employee::getLastName);
+                    lastNameIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Employees at the given ordinals, in the order given.
+     */
+    public List<Employee> getAll(int[] ordinals) {
+        Employee[] result = new Employee[ordinals.length];
+        for (int i = 0; i < ordinals.length; i++) {
+            result[i] = employees.get(ordinals[i]);
+        }
+        return List.of(result);
+    }
+
+    public Employee get(int ordinal) {
+        return employees.get(ordinal);
+    }
+
+    public List<Employee> getEmployees() {
+        return employees;
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+}
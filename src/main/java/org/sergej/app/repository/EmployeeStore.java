@@ -0,0 +1,267 @@
+package org.sergej.app.repository;
+
+import org.sergej.app.model.Employee;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Thread-safe roster keyed by employee id that supports adds, salary updates
+ * and removals.
+ * <p>
+ * Ids are spread over a fixed number of segments, each an open-addressing
+ * table of {@link Employee} references. Writers lock only their segment, so
+ * writes to different segments run in parallel. Readers take no locks: they
+ * read a published table and its slots with acquire semantics. Stored
+ * employees are never modified after publication. An update publishes a new
+ * instance, so a reader sees either the old row or the new one, never a mix.
+ * Callers get copies, and changes to them do not reach the store.
+ */
+public class EmployeeStore {
+
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Employee[].class);
+
+    private static final Employee REMOVED = new Employee();
+
+    private static final int MIN_SEGMENT_CAPACITY = 16;
+
+    private final Segment[] segments;
+
+    private final int segmentShift;
+
+    public EmployeeStore() {
+        this(0);
+    }
+
+    public EmployeeStore(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative");
+        }
+
+        // Several segments per core keep writers on different cores from contending for one lock
+        int segmentCount = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 4) * 2 - 1);
+        this.segments = new Segment[segmentCount];
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(segmentCount);
+
+        int perSegment = expectedSize / segmentCount + 1;
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * Adds a copy of the employee unless its id is already present.
+     *
+     * @return {@code true} if the employee was added
+     */
+    public boolean add(Employee employee) {
+        Employee copy = copyOf(Objects.requireNonNull(employee));
+        int hash = hash(copy.getId());
+        return segmentFor(hash).add(copy, hash);
+    }
+
+    /**
+     * @return {@code true} if an employee with this id exists and was updated
+     */
+    public boolean updateSalary(int id, int salary) {
+        int hash = hash(id);
+        return segmentFor(hash).updateSalary(id, salary, hash);
+    }
+
+    /**
+     * @return {@code true} if an employee with this id was removed
+     */
+    public boolean remove(int id) {
+        int hash = hash(id);
+        return segmentFor(hash).remove(id, hash);
+    }
+
+    public Optional<Employee> findById(int id) {
+        int hash = hash(id);
+        Employee employee = segmentFor(hash).get(id, hash);
+        return employee == null ? Optional.empty() : Optional.of(copyOf(employee));
+    }
+
+    public boolean containsId(int id) {
+        int hash = hash(id);
+        return segmentFor(hash).get(id, hash) != null;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size;
+        }
+        return size;
+    }
+
+    /**
+     * Copies of all employees, ordered by id. Each segment is read at one
+     * point in time, but writes that run during the call may be seen in some
+     * segments and not in others.
+     */
+    public List<Employee> snapshot() {
+        List<Employee> employees = new ArrayList<>(size());
+        for (Segment segment : segments) {
+            Employee[] table = segment.table;
+            for (int slot = 0; slot < table.length; slot++) {
+                Employee employee = (Employee) SLOTS.getAcquire(table, slot);
+                if (employee != null && employee != REMOVED) {
+                    employees.add(copyOf(employee));
+                }
+            }
+        }
+        employees.sort(Comparator.comparingInt(Employee::getId));
+        return employees;
+    }
+
+    /**
+     * Read-only repository over a {@link #snapshot()} of the store.
+     */
+    public EmployeeRepository toRepository() {
+        return new EmployeeRepository(snapshot());
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[segmentShift == 32 ? 0 : hash >>> segmentShift];
+    }
+
+    private static int hash(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static Employee copyOf(Employee employee) {
+        return new Employee(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getSalary());
+    }
+
+    private static final class Segment {
+
+        private volatile Employee[] table;
+
+        private volatile int size;
+
+        /**
+         * Live entries plus tombstones, which both end probe sequences.
+         */
+        private int used;
+
+        Segment(int expectedSize) {
+            this.table = new Employee[capacityFor(expectedSize)];
+        }
+
+        Employee get(int id, int hash) {
+            Employee[] current = table;
+            int mask = current.length - 1;
+            int slot = hash & mask;
+            while (true) {
+                Employee employee = (Employee) SLOTS.getAcquire(current, slot);
+                if (employee == null) {
+                    return null;
+                }
+                if (employee != REMOVED && employee.getId() == id) {
+                    return employee;
+                }
+                slot = (slot + 1) & mask;
+            }
+        }
+
+        synchronized boolean add(Employee employee, int hash) {
+            if (find(table, employee.getId(), hash) >= 0) {
+                return false;
+            }
+            if ((used + 1) * 2 > table.length) {
+                rehash();
+            }
+
+            Employee[] current = table;
+            int mask = current.length - 1;
+            int slot = hash & mask;
+            int free = -1;
+            while (current[slot] != null) {
+                if (free < 0 && current[slot] == REMOVED) {
+                    free = slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            if (free < 0) {
+                free = slot;
+                used++;
+            }
+            SLOTS.setRelease(current, free, employee);
+            size++;
+            return true;
+        }
+
+        synchronized boolean updateSalary(int id, int salary, int hash) {
+            Employee[] current = table;
+            int slot = find(current, id, hash);
+            if (slot < 0) {
+                return false;
+            }
+            Employee previous = current[slot];
+            SLOTS.setRelease(current, slot,
+                    new Employee(id, previous.getFirstName(), previous.getLastName(), salary));
+            return true;
+        }
+
+        synchronized boolean remove(int id, int hash) {
+            Employee[] current = table;
+            int slot = find(current, id, hash);
+            if (slot < 0) {
+                return false;
+            }
+            SLOTS.setRelease(current, slot, REMOVED);
+            size--;
+            return true;
+        }
+
+        private static int find(Employee[] current, int id, int hash) {
+            int mask = current.length - 1;
+            int slot = hash & mask;
+            while (current[slot] != null) {
+                if (current[slot] != REMOVED && current[slot].getId() == id) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        /**
+         * Copies live entries into a new table and publishes it; readers
+         * still probing the old table see its state as of the rehash.
+         */
+        private void rehash() {
+            Employee[] old = table;
+            Employee[] grown = new Employee[capacityFor(size + 1)];
+            int mask = grown.length - 1;
+            for (Employee employee : old) {
+                if (employee != null && employee != REMOVED) {
+                    int slot = hash(employee.getId()) & mask;
+                    while (grown[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    grown[slot] = employee;
+                }
+            }
+            used = size;
+            table = grown;
+        }
+
+        private static int capacityFor(int expectedSize) {
+            int capacity = MIN_SEGMENT_CAPACITY;
+            while (capacity < expectedSize * 2L && capacity < 1 << 30) {
+                capacity <<= 1;
+            }
+            return capacity;
+        }
+
+    }
+
+}
@@ -0,0 +1,255 @@
+package org.sergej.app.repository;
+
+import org.sergej.app.exception.EmployeeNotFoundException;
+import org.sergej.app.model.Employee;
+import org.sergej.app.util.IntIntHashTable;
+import org.sergej.app.util.SalaryBitmap;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Column-oriented, read-only roster. Ids, salaries and name codes live in
+ * off-heap int columns; names are stored once each in a string dictionary.
+ * {@link Employee} objects are only created for rows a query returns.
+ * Queries mirror {@link org.sergej.app.service.EmployeeService}.
+ */
+public class EmployeeTable {
+
+    private final int size;
+
+    private final IntBuffer ids;
+
+    private final IntBuffer salaries;
+
+    private final IntBuffer firstNames;
+
+    private final IntBuffer lastNames;
+
+    private final String[] dictionary;
+
+    private final IntIntHashTable idIndex;
+
+    private EmployeeTable(Builder builder) {
+        this.size = builder.size;
+        this.ids = builder.ids.flip().asReadOnlyBuffer();
+        this.salaries = builder.salaries.flip().asReadOnlyBuffer();
+        this.firstNames = builder.firstNames.flip().asReadOnlyBuffer();
+        this.lastNames = builder.lastNames.flip().asReadOnlyBuffer();
+        this.dictionary = builder.dictionary.toArray(new String[0]);
+
+        this.idIndex = new IntIntHashTable(size);
+        for (int row = 0; row < size; row++) {
+            idIndex.putIfAbsent(ids.get(row), row);
+        }
+    }
+
+    public static EmployeeTable of(List<Employee> employees) {
+        Builder builder = new Builder(employees.size());
+        for (Employee employee : employees) {
+            builder.add(employee);
+        }
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder(1024);
+    }
+
+    public Employee getEmployeeById(int id) {
+        int row = idIndex.get(id);
+        if (row == IntIntHashTable.NO_VALUE) {
+            throw new EmployeeNotFoundException("Employee with id " + id + " not found!");
+        }
+        return getEmployee(row);
+    }
+
+    public List<Employee> getEmployeesBySalaryGreaterThan(int targetSalary) {
+        long[] bitmap = salaryGreaterThanBitmap(targetSalary);
+        List<Employee> result = new ArrayList<>(SalaryBitmap.cardinality(bitmap));
+        for (int word = 0; word < bitmap.length; word++) {
+            long bits = bitmap[word];
+            while (bits != 0) {
+                result.add(getEmployee((word << 6) + Long.numberOfTrailingZeros(bits)));
+                bits &= bits - 1;
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    public int countBySalaryGreaterThan(int targetSalary) {
+        return SalaryBitmap.cardinality(salaryGreaterThanBitmap(targetSalary));
+    }
+
+    /**
+     * Match bitmap of the salary column: bit {@code row} is set when the
+     * row's salary is greater than {@code targetSalary}. Large tables are
+     * scanned in parallel on the common pool.
+     */
+    public long[] salaryGreaterThanBitmap(int targetSalary) {
+        return SalaryBitmap.greaterThan(salaries, targetSalary, ForkJoinPool.commonPool(),
+                SalaryBitmap.DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Same view as {@code EmployeeService.getEmployeeMap}: an
+     * {@link IntEmployeeMap} over new {@link Employee} objects for the rows,
+     * with {@code "id" + id} keys that are parsed rather than stored.
+     */
+    public Map<String, Employee> getEmployeeMap() {
+        return new IntEmployeeMap(new AbstractList<>() {
+            @Override
+            public Employee get(int row) {
+                return getEmployee(row);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        }).asStringKeyedMap();
+    }
+
+    /**
+     * Creates a new {@link Employee} for the row; changes to it are not
+     * written back to the table.
+     */
+    public Employee getEmployee(int row) {
+        return new Employee(getId(row), getFirstName(row), getLastName(row), getSalary(row));
+    }
+
+    public int getId(int row) {
+        return ids.get(row);
+    }
+
+    public int getSalary(int row) {
+        return salaries.get(row);
+    }
+
+    public String getFirstName(int row) {
+        return dictionary[firstNames.get(row)];
+    }
+
+    public String getLastName(int row) {
+        return dictionary[lastNames.get(row)];
+    }
+
+    /**
+     * Copies the salary column into a heap array.
+     */
+    public int[] salaryColumn() {
+        int[] column = new int[size];
+        salaries.get(0, column);
+        return column;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int dictionarySize() {
+        return dictionary.length;
+    }
+
+    public static class Builder {
+
+        private int size;
+
+        private IntBuffer ids;
+
+        private IntBuffer salaries;
+
+        private IntBuffer firstNames;
+
+        private IntBuffer lastNames;
+
+        private final List<String> dictionary = new ArrayList<>();
+
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        private boolean built;
+
+        private Builder(int capacity) {
+            int initial = Math.max(capacity, 16);
+            ids = allocate(initial);
+            salaries = allocate(initial);
+            firstNames = allocate(initial);
+            lastNames = allocate(initial);
+        }
+
+        public Builder add(Employee employee) {
+            return add(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getSalary());
+        }
+
+        public Builder add(int id, String firstName, String lastName, int salary) {
+            checkNotBuilt();
+            if (!ids.hasRemaining()) {
+                grow();
+            }
+            ids.put(id);
+            salaries.put(salary);
+            firstNames.put(code(firstName));
+            lastNames.put(code(lastName));
+            size++;
+            return this;
+        }
+
+        public EmployeeTable build() {
+            checkNotBuilt();
+            built = true;
+            return new EmployeeTable(this);
+        }
+
+        private void checkNotBuilt() {
+            if (built) {
+                throw new IllegalStateException("Employee table has already been built");
+            }
+        }
+
+        private int code(String name) {
+            Integer code = codes.get(name);
+            if (code == null) {
+                code = dictionary.size();
+                dictionary.add(name);
+                codes.put(name, code);
+            }
+            return code;
+        }
+
+        private void grow() {
+            int capacity = (int) Math.min((long) ids.capacity() * 2, Integer.MAX_VALUE / Integer.BYTES);
+            if (capacity == ids.capacity()) {
+                throw new IllegalStateException("Employee table cannot hold more than " + capacity + " rows");
+            }
+            ids = copy(ids, capacity);
+            salaries = copy(salaries, capacity);
+            firstNames = copy(firstNames, capacity);
+            lastNames = copy(lastNames, capacity);
+        }
+
+        private static IntBuffer copy(IntBuffer column, int capacity) {
+            IntBuffer grown = allocate(capacity);
+            grown.put(column.flip());
+            return grown;
+        }
+
+        private static IntBuffer allocate(int capacity) {
+            if ((long) capacity * Integer.BYTES > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Employee table cannot hold " + capacity + " rows");
+            }
+            return ByteBuffer.allocateDirect(capacity * Integer.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .asIntBuffer();
+        }
+
+    }
+
+}
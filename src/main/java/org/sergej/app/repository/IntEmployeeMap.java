@@ -0,0 +1,185 @@
+package org.sergej.app.repository;
+
+import org.sergej.app.model.Employee;
+import org.sergej.app.util.IntIntHashTable;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable map from employee id to employee, keyed by primitive ints.
+ * Like {@code HashMap.put}, a later employee with the same id replaces the
+ * earlier one. Iteration follows the order in which ids first appear.
+ */
+public class IntEmployeeMap {
+
+    static final String KEY_PREFIX = "id";
+
+    /**
+     * Returned by {@link #parseKey} for objects that are not a map key.
+     */
+    static final long NOT_A_KEY = Long.MIN_VALUE;
+
+    private final IntIntHashTable index;
+
+    private final int[] ids;
+
+    private final Employee[] employees;
+
+    public IntEmployeeMap(List<Employee> employees) {
+        this.index = new IntIntHashTable(employees.size());
+        int[] ids = new int[employees.size()];
+        Employee[] values = new Employee[employees.size()];
+        int size = 0;
+
+        for (Employee employee : employees) {
+            int previous = index.putIfAbsent(employee.getId(), size);
+            if (previous == IntIntHashTable.NO_VALUE) {
+                ids[size] = employee.getId();
+                values[size++] = employee;
+            } else {
+                values[previous] = employee;
+            }
+        }
+
+        this.ids = size == ids.length ? ids : Arrays.copyOf(ids, size);
+        this.employees = size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Returns the employee with the given id, or {@code null} if there is none.
+     */
+    public Employee get(int id) {
+        int position = index.get(id);
+        return position == IntIntHashTable.NO_VALUE ? null : employees[position];
+    }
+
+    public boolean containsKey(int id) {
+        return index.containsKey(id);
+    }
+
+    public int size() {
+        return employees.length;
+    }
+
+    public boolean isEmpty() {
+        return employees.length == 0;
+    }
+
+    /**
+     * Read-only {@code Map<String, Employee>} view with {@code "id" + id} keys,
+     * as returned by {@code EmployeeService.getEmployeeMap}. Lookups parse the
+     * key instead of storing a String per row; keys are only created while
+     * iterating.
+     */
+    public Map<String, Employee> asStringKeyedMap() {
+        return new StringKeyedView();
+    }
+
+    /**
+     * Parses {@code "id" + id} back into the id. Returns {@code false} for
+     * any string {@code Integer.toString} could not have produced.
+     */
+    private static boolean isKey(String key) {
+        int length = key.length();
+        if (length <= KEY_PREFIX.length() || !key.startsWith(KEY_PREFIX)) {
+            return false;
+        }
+
+        int start = KEY_PREFIX.length();
+        if (key.charAt(start) == '-') {
+            start++;
+            if (start == length || key.charAt(start) == '0') {
+                return false;
+            }
+        }
+        if (key.charAt(start) == '0' && length - start > 1) {
+            return false;
+        }
+        for (int i = start; i < length; i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return length - start <= 10;
+    }
+
+    /**
+     * The id encoded in a {@code "id" + id} key, or {@link #NOT_A_KEY}.
+     */
+    static long parseKey(Object key) {
+        if (!(key instanceof String string) || !isKey(string)) {
+            return NOT_A_KEY;
+        }
+        long id = Long.parseLong(string, KEY_PREFIX.length(), string.length(), 10);
+        return id < Integer.MIN_VALUE || id > Integer.MAX_VALUE ? NOT_A_KEY : id;
+    }
+
+    private Employee lookup(Object key) {
+        long id = parseKey(key);
+        return id == NOT_A_KEY ? null : get((int) id);
+    }
+
+    private class StringKeyedView extends AbstractMap<String, Employee> {
+
+        @Override
+        public Employee get(Object key) {
+            return lookup(key);
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return lookup(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return employees.length;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return employees.length == 0;
+        }
+
+        @Override
+        public Set<Entry<String, Employee>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Employee>> iterator() {
+                    return new Iterator<>() {
+                        private int position;
+
+                        @Override
+                        public boolean hasNext() {
+                            return position < employees.length;
+                        }
+
+                        @Override
+                        public Entry<String, Employee> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            int current = position++;
+                            return new SimpleImmutableEntry<>(KEY_PREFIX + ids[current], employees[current]);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return employees.length;
+                }
+            };
+        }
+
+    }
+
+}
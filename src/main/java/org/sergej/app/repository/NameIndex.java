@@ -0,0 +1,257 @@
+package org.sergej.app.repository;
+
+import org.sergej.app.model.Employee;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Name lookup over one name field of a roster. Every distinct name is stored
+ * once, NFC-normalized, in a dictionary sorted by its case-folded form, and
+ * points to a posting list of the row ordinals that carry it. Exact, prefix
+ * and case-insensitive queries are a binary search over the dictionary plus
+ * a scan of the matching terms; results are ascending row ordinals.
+ * Rows whose name is {@code null} are not indexed.
+ */
+public class NameIndex {
+
+    private final String[] names;
+
+    private final String[] foldedNames;
+
+    private final int[] offsets;
+
+    private final int[] postings;
+
+    private NameIndex(String[] names, String[] foldedNames, int[] offsets, int[] postings) {
+        this.names = names;
+        this.foldedNames = foldedNames;
+        this.offsets = offsets;
+        this.postings = postings;
+    }
+
+    public static NameIndex of(List<Employee> employees, Function<Employee, String> field) {
+        Builder builder = builder(field);
+        employees.forEach(builder);
+        return builder.build();
+    }
+
+    /**
+     * Builder fed one employee at a time, e.g. from
+     * {@code FileService.forEachEmployeeInFile}; each row gets the next ordinal.
+     */
+    public static Builder builder(Function<Employee, String> field) {
+        return new Builder(field);
+    }
+
+    public int[] exact(String name) {
+        String normalized = normalize(name);
+        return collect(fold(normalized), false, term -> names[term].equals(normalized));
+    }
+
+    public int[] exactIgnoreCase(String name) {
+        return collect(fold(normalize(name)), false, term -> true);
+    }
+
+    public int[] prefix(String prefix) {
+        String normalized = normalize(prefix);
+        return collect(fold(normalized), true, term -> names[term].startsWith(normalized));
+    }
+
+    public int[] prefixIgnoreCase(String prefix) {
+        return collect(fold(normalize(prefix)), true, term -> true);
+    }
+
+    /**
+     * Number of distinct names in the dictionary.
+     */
+    public int termCount() {
+        return names.length;
+    }
+
+    public int size() {
+        return postings.length;
+    }
+
+    private int[] collect(String key, boolean prefix, TermFilter filter) {
+        int first = lowerBound(key);
+        int last = first;
+        while (last < foldedNames.length
+                && (prefix ? foldedNames[last].startsWith(key) : foldedNames[last].equals(key))) {
+            last++;
+        }
+
+        int[] terms = new int[last - first];
+        int termCount = 0;
+        int total = 0;
+        for (int term = first; term < last; term++) {
+            if (filter.test(term)) {
+                terms[termCount++] = term;
+                total += offsets[term + 1] - offsets[term];
+            }
+        }
+
+        int[] result = new int[total];
+        int position = 0;
+        for (int i = 0; i < termCount; i++) {
+            int term = terms[i];
+            int length = offsets[term + 1] - offsets[term];
+            System.arraycopy(postings, offsets[term], result, position, length);
+            position += length;
+        }
+        if (termCount > 1) {
+            Arrays.sort(result);
+        }
+        return result;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = foldedNames.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (foldedNames[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    static String normalize(String name) {
+        return Normalizer.normalize(name, Normalizer.Form.NFC);
+    }
+
+    /**
+     * Simple per-code-point case folding. Unlike {@code toLowerCase} it does
+     * not depend on context, so the folded prefix of a name is always a
+     * prefix of the folded name.
+     */
+    static String fold(String name) {
+        StringBuilder folded = new StringBuilder(name.length());
+        name.codePoints().forEach(codePoint ->
+                folded.appendCodePoint(Character.toLowerCase(Character.toUpperCase(codePoint))));
+        return folded.toString();
+    }
+
+    @FunctionalInterface
+    private interface TermFilter {
+
+        boolean test(int term);
+
+    }
+
+    public static class Builder implements Consumer<Employee> {
+
+        private final Function<Employee, String> field;
+
+        private final Map<String, Term> termsByRawName = new HashMap<>();
+
+        private final Map<String, Term> termsByName = new HashMap<>();
+
+        private int ordinal;
+
+        private int postingCount;
+
+        private boolean built;
+
+        private Builder(Function<Employee, String> field) {
+            this.field = field;
+        }
+
+        @Override
+        public void accept(Employee employee) {
+            add(field.apply(employee), ordinal++);
+        }
+
+        /**
+         * Indexes a name for an explicit row ordinal.
+         */
+        public Builder add(String name, int ordinal) {
+            if (built) {
+                throw new IllegalStateException("Name index has already been built");
+            }
+            if (name == null) {
+                return this;
+            }
+
+            // Repeated spellings skip normalization; different spellings of one name share a term
+            Term term = termsByRawName.get(name);
+            if (term == null) {
+                String normalized = normalize(name);
+                term = termsByName.computeIfAbsent(normalized, Term::new);
+                termsByRawName.put(name, term);
+            }
+            term.add(ordinal);
+            postingCount++;
+            return this;
+        }
+
+        public NameIndex build() {
+            if (built) {
+                throw new IllegalStateException("Name index has already been built");
+            }
+            built = true;
+
+            Term[] terms = termsByName.values().toArray(new Term[0]);
+            Arrays.sort(terms, Comparator.comparing((Term term) -> term.folded).thenComparing(term -> term.name));
+
+            String[] names = new String[terms.length];
+            String[] foldedNames = new String[terms.length];
+            int[] offsets = new int[terms.length + 1];
+            int[] postings = new int[postingCount];
+            int position = 0;
+            for (int i = 0; i < terms.length; i++) {
+                Term term = terms[i];
+                names[i] = term.name;
+                foldedNames[i] = term.folded;
+                offsets[i] = position;
+                System.arraycopy(term.ordinals, 0, postings, position, term.size);
+                if (!term.sorted) {
+                    Arrays.sort(postings, position, position + term.size);
+                }
+                position += term.size;
+            }
+            offsets[terms.length] = position;
+            return new NameIndex(names, foldedNames, offsets, postings);
+        }
+
+    }
+
+    private static class Term {
+
+        private final String name;
+
+        private final String folded;
+
+        private int[] ordinals = new int[4];
+
+        private int size;
+
+        private boolean sorted = true;
+
+        Term(String name) {
+            this.name = name;
+            this.folded = fold(name);
+        }
+
+        void add(int ordinal) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+            }
+            if (size > 0 && ordinals[size - 1] > ordinal) {
+                sorted = false;
+            }
+            ordinals[size++] = ordinal;
+        }
+
+    }
+
+}
@@ -0,0 +1,618 @@
+package org.sergej.app.repository;
+
+import org.sergej.app.exception.FileLoadException;
+import org.sergej.app.model.Employee;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.AbstractList;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32C;
+
+/**
+ * Read-only roster stored in one memory-mappable file together with its
+ * derived structures, so that a new process can query it right after
+ * {@link #open} without parsing or re-indexing anything.
+ * <p>
+ * After a fixed header the file holds little-endian int sections: the id,
+ * salary and name-code columns; an open-addressing id table with the first
+ * and the last row of every id; the rows of the id map in iteration order;
+ * the salary ordering of {@link SalaryIndex}; and a UTF-8 name dictionary.
+ * Opening reads the header and maps the sections. Rows are materialized on
+ * access, and every call returns new {@link Employee} instances.
+ * <p>
+ * The header records the format version, the size and modification time of
+ * the source file, and a CRC32C of everything after the header. {@link #open}
+ * rejects other versions and inconsistent headers but does not read the body,
+ * and {@link #isFrom} tells whether the snapshot still describes its source.
+ * Row indexes, name codes and id table probes are range-checked on access, so
+ * a corrupt body fails with a {@link FileLoadException} instead of returning
+ * garbage or probing forever; {@link #verify} checks the whole body.
+ */
+public final class RosterSnapshot {
+
+    public static final String EXTENSION = ".snap";
+
+    public static final int VERSION = 2;
+
+    private static final int MAGIC = 0x45534E50;
+
+    private static final int HEADER_SIZE = 64;
+
+    private static final int EMPTY = -1;
+
+    private static final int WRITE_BUFFER_SIZE = 1024 * 1024;
+
+
+    private final Path path;
+
+    private final Source source;
+
+    private final long checksum;
+
+    private final int size;
+
+    private final IntBuffer ids;
+
+    private final IntBuffer salaries;
+
+    private final IntBuffer firstNames;
+
+    private final IntBuffer lastNames;
+
+    private final IntBuffer tableKeys;
+
+    private final IntBuffer tableFirstRows;
+
+    private final IntBuffer tableLastRows;
+
+    private final IntBuffer mapRows;
+
+    private final IntBuffer sortedSalaries;
+
+    private final IntBuffer salaryRows;
+
+    private final IntBuffer nameOffsets;
+
+    private final ByteBuffer nameBytes;
+
+    private final String[] names;
+
+    private final int tableMask;
+
+    private final List<ByteBuffer> sections = new ArrayList<>();
+
+    private volatile SalaryIndex salaryIndex;
+
+    private RosterSnapshot(Path path, Source source, long checksum, int size, int tableCapacity, int distinctIds,
+                           int dictionarySize, FileChannel channel, long nameBytesLength) throws IOException {
+        this.path = path;
+        this.source = source;
+        this.checksum = checksum;
+        this.size = size;
+        this.tableMask = tableCapacity - 1;
+        this.names = new String[dictionarySize];
+
+        long offset = HEADER_SIZE;
+        ids = ints(channel, offset, size);
+        offset += 4L * size;
+        salaries = ints(channel, offset, size);
+        offset += 4L * size;
+        firstNames = ints(channel, offset, size);
+        offset += 4L * size;
+        lastNames = ints(channel, offset, size);
+        offset += 4L * size;
+        tableKeys = ints(channel, offset, tableCapacity);
+        offset += 4L * tableCapacity;
+        tableFirstRows = ints(channel, offset, tableCapacity);
+        offset += 4L * tableCapacity;
+        tableLastRows = ints(channel, offset, tableCapacity);
+        offset += 4L * tableCapacity;
+        mapRows = ints(channel, offset, distinctIds);
+        offset += 4L * distinctIds;
+        sortedSalaries = ints(channel, offset, size);
+        offset += 4L * size;
+        salaryRows = ints(channel, offset, size);
+        offset += 4L * size;
+        nameOffsets = ints(channel, offset, dictionarySize + 1);
+        offset += 4L * (dictionarySize + 1);
+        nameBytes = channel.map(FileChannel.MapMode.READ_ONLY, offset, nameBytesLength);
+        sections.add(nameBytes);
+    }
+
+    /**
+     * Size and modification time of the file a snapshot was taken from.
+     */
+    public record Source(long size, long lastModified) {
+
+        public static Source of(Path file) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new Source(attributes.size(), attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS));
+        }
+
+    }
+
+    /**
+     * Writes a snapshot of the roster taken from {@code source}.
+     */
+    public static void write(Path path, List<Employee> employees, Source source) throws IOException {
+        new Writer(employees).write(path, source);
+    }
+
+    /**
+     * Maps a snapshot file, or returns an empty result if it is missing,
+     * truncated, corrupt or written by another version.
+     */
+    public static Optional<RosterSnapshot> open(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_SIZE) {
+                return Optional.empty();
+            }
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+                // Keep reading until the header is complete
+            }
+
+            int size = header.getInt(8);
+            int tableCapacity = header.getInt(12);
+            int distinctIds = header.getInt(16);
+            int dictionarySize = header.getInt(20);
+            long nameBytesLength = header.getLong(24);
+            if (header.getInt(0) != MAGIC || header.getInt(4) != VERSION || size < 0 || distinctIds < 0
+                    || distinctIds > size || dictionarySize < 0 || nameBytesLength < 0
+                    || Integer.bitCount(tableCapacity) != 1 || tableCapacity < 2L * size) {
+                return Optional.empty();
+            }
+            long expectedSize = HEADER_SIZE + 4L * (6L * size + 3L * tableCapacity + distinctIds + dictionarySize + 1)
+                    + nameBytesLength;
+            if (fileSize != expectedSize || nameBytesLength > Integer.MAX_VALUE) {
+                return Optional.empty();
+            }
+
+            Source source = new Source(header.getLong(32), header.getLong(40));
+            return Optional.of(new RosterSnapshot(path, source, header.getLong(48), size, tableCapacity,
+                    distinctIds, dictionarySize, channel, nameBytesLength));
+        }
+    }
+
+    /**
+     * Checks the mapped body against the CRC32C stored by the writer. This
+     * reads the whole snapshot, which {@link #open} avoids so that reopening
+     * stays cheap.
+     */
+    public boolean verify() {
+        CRC32C crc = new CRC32C();
+        for (ByteBuffer section : sections) {
+            crc.update(section.duplicate());
+        }
+        return crc.getValue() == checksum;
+    }
+
+    /**
+     * Whether the snapshot was taken from a file with this size and
+     * modification time.
+     */
+    public boolean isFrom(Source file) {
+        return source.equals(file);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Employee get(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException("Row " + row + " out of bounds for size " + size);
+        }
+        return new Employee(ids.get(row), name(firstNames.get(row)), name(lastNames.get(row)), salaries.get(row));
+    }
+
+    /**
+     * All rows in roster order, materialized on access.
+     */
+    public List<Employee> getEmployees() {
+        return new RowList();
+    }
+
+    /**
+     * The first employee with this id, as {@link EmployeeRepository#findById} returns it.
+     */
+    public Optional<Employee> findById(int id) {
+        int slot = slotOf(id);
+        return slot < 0 ? Optional.empty() : Optional.of(get(storedRow(tableFirstRows.get(slot))));
+    }
+
+    public boolean containsId(int id) {
+        return slotOf(id) >= 0;
+    }
+
+    /**
+     * Read-only {@code Map<String, Employee>} view with {@code "id" + id} keys
+     * and the semantics of {@link IntEmployeeMap#asStringKeyedMap()}: the last
+     * employee with an id wins, in the order the ids first appear.
+     */
+    public Map<String, Employee> getEmployeeMap() {
+        return new StringKeyedView();
+    }
+
+    /**
+     * Salary index over this snapshot. The first call copies the stored
+     * ordering out of the mapping; nothing is sorted.
+     */
+    public SalaryIndex getSalaryIndex() {
+        SalaryIndex index = salaryIndex;
+        if (index == null) {
+            synchronized (this) {
+                index = salaryIndex;
+                if (index == null) {
+                    int[] sorted = new int[size];
+                    int[] rows = new int[size];
+                    sortedSalaries.get(0, sorted);
+                    salaryRows.get(0, rows);
+                    for (int row : rows) {
+                        storedRow(row);
+                    }
+                    index = new SalaryIndex(getEmployees(), sorted, rows);
+                    salaryIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    private int slotOf(int id) {
+        int slot = hash(id) & tableMask;
+        // The writer leaves at least half of the table empty, so a full lap means the table is corrupt
+        for (int probes = 0; probes <= tableMask; probes++) {
+            if (tableFirstRows.get(slot) == EMPTY) {
+                return -1;
+            }
+            if (tableKeys.get(slot) == id) {
+                return slot;
+            }
+            slot = (slot + 1) & tableMask;
+        }
+        throw corrupt("the id table has no empty slot");
+    }
+
+    /**
+     * A row index read from the snapshot itself rather than from the caller.
+     */
+    private int storedRow(int row) {
+        if (row < 0 || row >= size) {
+            throw corrupt("row " + row + " out of bounds for size " + size);
+        }
+        return row;
+    }
+
+    private FileLoadException corrupt(String detail) {
+        return new FileLoadException("Corrupt roster snapshot " + path + ": " + detail);
+    }
+
+    /**
+     * Decodes a dictionary entry once; racing threads may both decode it,
+     * which is harmless because strings are immutable.
+     */
+    private String name(int code) {
+        if (code == EMPTY) {
+            return null;
+        }
+        if (code < 0 || code >= names.length) {
+            throw corrupt("name code " + code + " out of bounds for " + names.length + " names");
+        }
+        String name = names[code];
+        if (name == null) {
+            int start = nameOffsets.get(code);
+            int end = nameOffsets.get(code + 1);
+            if (start < 0 || end < start || end > nameBytes.limit()) {
+                throw corrupt("name " + code + " spans bytes " + start + " to " + end);
+            }
+            byte[] bytes = new byte[end - start];
+            nameBytes.get(start, bytes);
+            name = new String(bytes, StandardCharsets.UTF_8);
+            names[code] = name;
+        }
+        return name;
+    }
+
+    /**
+     * Maps a section and remembers it for {@link #verify}.
+     */
+    private IntBuffer ints(FileChannel channel, long offset, int count) throws IOException {
+        if (count == 0) {
+            return IntBuffer.allocate(0);
+        }
+        ByteBuffer section = channel.map(FileChannel.MapMode.READ_ONLY, offset, 4L * count);
+        sections.add(section);
+        return section.order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    private static int hash(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int tableCapacityFor(int size) {
+        long required = Math.max(4L, 2L * size);
+        if (required > 1 << 30) {
+            throw new IllegalArgumentException("Roster is too large for a snapshot");
+        }
+        return Integer.highestOneBit((int) required - 1) << 1;
+    }
+
+    private class RowList extends AbstractList<Employee> implements RandomAccess {
+
+        @Override
+        public Employee get(int index) {
+            return RosterSnapshot.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+    }
+
+    private class StringKeyedView extends AbstractMap<String, Employee> {
+
+        @Override
+        public Employee get(Object key) {
+            long id = IntEmployeeMap.parseKey(key);
+            if (id == IntEmployeeMap.NOT_A_KEY) {
+                return null;
+            }
+            int slot = slotOf((int) id);
+            return slot < 0 ? null : RosterSnapshot.this.get(storedRow(tableLastRows.get(slot)));
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            long id = IntEmployeeMap.parseKey(key);
+            return id != IntEmployeeMap.NOT_A_KEY && slotOf((int) id) >= 0;
+        }
+
+        @Override
+        public int size() {
+            return mapRows.limit();
+        }
+
+        @Override
+        public Set<Entry<String, Employee>> entrySet() {
+            return new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<String, Employee>> iterator() {
+                    return new Iterator<>() {
+                        private int position;
+
+                        @Override
+                        public boolean hasNext() {
+                            return position < mapRows.limit();
+                        }
+
+                        @Override
+                        public Entry<String, Employee> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            Employee employee = RosterSnapshot.this.get(storedRow(mapRows.get(position++)));
+                            return new SimpleImmutableEntry<>(IntEmployeeMap.KEY_PREFIX + employee.getId(), employee);
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return mapRows.limit();
+                }
+            };
+        }
+
+    }
+
+    /**
+     * Builds every section in memory from the roster, then streams them out.
+     */
+    private static final class Writer {
+
+        private final List<Employee> employees;
+
+        private final int size;
+
+        private final int[] firstNames;
+
+        private final int[] lastNames;
+
+        private final List<byte[]> dictionary = new ArrayList<>();
+
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        private final int[] tableKeys;
+
+        private final int[] tableFirstRows;
+
+        private final int[] tableLastRows;
+
+        private final int[] mapRows;
+
+        private int distinctIds;
+
+        private final int[] sortedSalaries;
+
+        private final int[] salaryRows;
+
+        private final CRC32C checksum = new CRC32C();
+
+        Writer(List<Employee> employees) {
+            this.employees = employees;
+            this.size = employees.size();
+            this.firstNames = new int[size];
+            this.lastNames = new int[size];
+            for (int row = 0; row < size; row++) {
+                firstNames[row] = code(employees.get(row).getFirstName());
+                lastNames[row] = code(employees.get(row).getLastName());
+            }
+
+            int capacity = tableCapacityFor(size);
+            int mask = capacity - 1;
+            this.tableKeys = new int[capacity];
+            this.tableFirstRows = new int[capacity];
+            this.tableLastRows = new int[capacity];
+            Arrays.fill(tableFirstRows, EMPTY);
+            int[] firstSlots = new int[size];
+            for (int row = 0; row < size; row++) {
+                int id = employees.get(row).getId();
+                int slot = hash(id) & mask;
+                while (tableFirstRows[slot] != EMPTY && tableKeys[slot] != id) {
+                    slot = (slot + 1) & mask;
+                }
+                if (tableFirstRows[slot] == EMPTY) {
+                    tableKeys[slot] = id;
+                    tableFirstRows[slot] = row;
+                    firstSlots[distinctIds++] = slot;
+                }
+                tableLastRows[slot] = row;
+            }
+            this.mapRows = new int[distinctIds];
+            for (int i = 0; i < distinctIds; i++) {
+                mapRows[i] = tableLastRows[firstSlots[i]];
+            }
+
+            // Same ordering as SalaryIndex: by salary, then by row
+            long[] packed = new long[size];
+            for (int row = 0; row < size; row++) {
+                packed[row] = ((long) employees.get(row).getSalary() << 32) | row;
+            }
+            Arrays.sort(packed);
+            this.sortedSalaries = new int[size];
+            this.salaryRows = new int[size];
+            for (int i = 0; i < size; i++) {
+                sortedSalaries[i] = (int) (packed[i] >> 32);
+                salaryRows[i] = (int) packed[i];
+            }
+        }
+
+        private int code(String name) {
+            if (name == null) {
+                return EMPTY;
+            }
+            Integer code = codes.get(name);
+            if (code == null) {
+                code = dictionary.size();
+                codes.put(name, code);
+                dictionary.add(name.getBytes(StandardCharsets.UTF_8));
+            }
+            return code;
+        }
+
+        void write(Path path, Source source) throws IOException {
+            long nameBytesLength = 0;
+            for (byte[] name : dictionary) {
+                nameBytesLength += name.length;
+            }
+            if (nameBytesLength > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Roster names are too large for a snapshot");
+            }
+
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+                channel.position(HEADER_SIZE);
+
+                for (int row = 0; row < size; row++) {
+                    buffer = putInt(channel, buffer, employees.get(row).getId());
+                }
+                for (int row = 0; row < size; row++) {
+                    buffer = putInt(channel, buffer, employees.get(row).getSalary());
+                }
+                buffer = putInts(channel, buffer, firstNames, size);
+                buffer = putInts(channel, buffer, lastNames, size);
+                buffer = putInts(channel, buffer, tableKeys, tableKeys.length);
+                buffer = putInts(channel, buffer, tableFirstRows, tableFirstRows.length);
+                buffer = putInts(channel, buffer, tableLastRows, tableLastRows.length);
+                buffer = putInts(channel, buffer, mapRows, distinctIds);
+                buffer = putInts(channel, buffer, sortedSalaries, size);
+                buffer = putInts(channel, buffer, salaryRows, size);
+
+                int offset = 0;
+                for (byte[] name : dictionary) {
+                    buffer = putInt(channel, buffer, offset);
+                    offset += name.length;
+                }
+                buffer = putInt(channel, buffer, offset);
+
+                for (byte[] name : dictionary) {
+                    if (buffer.remaining() < name.length) {
+                        flush(channel, buffer);
+                    }
+                    if (name.length > buffer.capacity()) {
+                        checksum.update(name);
+                        channel.write(ByteBuffer.wrap(name));
+                    } else {
+                        buffer.put(name);
+                    }
+                }
+                flush(channel, buffer);
+
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+                        .putInt(MAGIC).putInt(VERSION).putInt(size).putInt(tableKeys.length)
+                        .putInt(distinctIds).putInt(dictionary.size()).putLong(nameBytesLength)
+                        .putLong(source.size()).putLong(source.lastModified()).putLong(checksum.getValue());
+                header.clear();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+            }
+        }
+
+        private ByteBuffer putInts(FileChannel channel, ByteBuffer buffer, int[] values, int count)
+                throws IOException {
+            for (int i = 0; i < count; i++) {
+                buffer = putInt(channel, buffer, values[i]);
+            }
+            return buffer;
+        }
+
+        private ByteBuffer putInt(FileChannel channel, ByteBuffer buffer, int value) throws IOException {
+            if (buffer.remaining() < 4) {
+                flush(channel, buffer);
+            }
+            return buffer.putInt(value);
+        }
+
+        private void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+            buffer.flip();
+            checksum.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+    }
+
+}
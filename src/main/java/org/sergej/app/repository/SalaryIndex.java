@@ -0,0 +1,177 @@
+package org.sergej.app.repository;
+
+import org.sergej.app.model.Employee;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Salary-sorted view of a roster snapshot: a sorted int[] of salaries and a
+ * parallel array of row ordinals. Every range query is a binary search plus
+ * a contiguous slice, so rows outside the range are never read.
+ * Employees with equal salaries keep their list order.
+ */
+public class SalaryIndex {
+
+    private final List<Employee> employees;
+
+    private final int[] salaries;
+
+    private final int[] ordinals;
+
+    public SalaryIndex(List<Employee> employees) {
+        this.employees = List.copyOf(employees);
+
+        int size = this.employees.size();
+        long[] packed = new long[size];
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            packed[ordinal] = ((long) this.employees.get(ordinal).getSalary() << 32) | ordinal;
+        }
+        Arrays.sort(packed);
+
+        this.salaries = new int[size];
+        this.ordinals = new int[size];
+        for (int i = 0; i < size; i++) {
+            salaries[i] = (int) (packed[i] >> 32);
+            ordinals[i] = (int) packed[i];
+        }
+    }
+
+    /**
+     * Index over an ordering that is already sorted, as stored by
+     * {@link RosterSnapshot}. The list is used as is, without a copy.
+     */
+    SalaryIndex(List<Employee> employees, int[] salaries, int[] ordinals) {
+        this.employees = employees;
+        this.salaries = salaries;
+        this.ordinals = ordinals;
+    }
+
+    public List<Employee> greaterThan(int salary) {
+        return slice(upperBound(salary), salaries.length);
+    }
+
+    public List<Employee> greaterThanOrEqual(int salary) {
+        return slice(lowerBound(salary), salaries.length);
+    }
+
+    /**
+     * Employees with {@code from <= salary <= to}, in ascending salary order.
+     */
+    public List<Employee> between(int from, int to) {
+        if (from > to) {
+            return List.of();
+        }
+        return slice(lowerBound(from), upperBound(to));
+    }
+
+    /**
+     * The {@code n} best paid employees, highest salary first.
+     */
+    public List<Employee> top(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("Top size cannot be negative");
+        }
+        int end = salaries.length;
+        int start = Math.max(0, end - n);
+        return new AbstractSlice(start, end) {
+            @Override
+            public Employee get(int index) {
+                return employees.get(ordinals[end - 1 - checkIndex(index)]);
+            }
+        };
+    }
+
+    public int countGreaterThan(int salary) {
+        return salaries.length - upperBound(salary);
+    }
+
+    public int countGreaterThanOrEqual(int salary) {
+        return salaries.length - lowerBound(salary);
+    }
+
+    public int countBetween(int from, int to) {
+        if (from > to) {
+            return 0;
+        }
+        return upperBound(to) - lowerBound(from);
+    }
+
+    /**
+     * Row ordinals of the employees with salary greater than the given one,
+     * in ascending salary order.
+     */
+    public int[] ordinalsGreaterThan(int salary) {
+        return Arrays.copyOfRange(ordinals, upperBound(salary), ordinals.length);
+    }
+
+    public int size() {
+        return salaries.length;
+    }
+
+    private List<Employee> slice(int start, int end) {
+        return new AbstractSlice(start, end) {
+            @Override
+            public Employee get(int index) {
+                return employees.get(ordinals[start + checkIndex(index)]);
+            }
+        };
+    }
+
+    /**
+     * First position whose salary is {@code >= salary}.
+     */
+    private int lowerBound(int salary) {
+        int low = 0;
+        int high = salaries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (salaries[mid] < salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * First position whose salary is {@code > salary}.
+     */
+    private int upperBound(int salary) {
+        int low = 0;
+        int high = salaries.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (salaries[mid] <= salary) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private abstract static class AbstractSlice extends AbstractList<Employee> implements RandomAccess {
+
+        private final int size;
+
+        AbstractSlice(int start, int end) {
+            this.size = end - start;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        int checkIndex(int index) {
+            return Objects.checkIndex(index, size);
+        }
+
+    }
+
+}
@@ -0,0 +1,29 @@
+package org.sergej.app.service;
+
+import org.sergej.app.model.Employee;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * Non-blocking counterpart of {@link FileService} with the same file formats
+ * and rules. Methods return at once; failures are reported through the
+ * returned future or {@link Flow.Subscriber#onError}, with the same exceptions
+ * that {@link FileService} throws.
+ */
+public interface AsyncFileService {
+
+    CompletableFuture<Void> saveEmployeesToFile(List<Employee> employees, String filename);
+
+    CompletableFuture<List<Employee>> loadEmployeesFromFile(String filename);
+
+    /**
+     * Publishes the rows of the file as they are read. Each subscriber reads
+     * the file on its own, and the file is read only as fast as the
+     * subscriber requests rows, so it can filter or index rows while the rest
+     * of the file is still on disk.
+     */
+    Flow.Publisher<Employee> publishEmployeesFromFile(String filename);
+
+}
@@ -0,0 +1,44 @@
+package org.sergej.app.service;
+
+import org.sergej.app.model.Employee;
+import org.sergej.app.model.EmployeeDelta;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Follows a text roster that is appended to. Each poll parses only the rows
+ * added since the previous one and publishes them as an {@link EmployeeDelta};
+ * if the file was truncated or replaced, it is reloaded from scratch.
+ */
+public interface EmployeeFileWatcher extends AutoCloseable {
+
+    /**
+     * Subscribers are called on the polling thread before the next poll can
+     * start, so they see the deltas one at a time and in file order.
+     */
+    void subscribe(Consumer<EmployeeDelta> subscriber);
+
+    /**
+     * Reads what was appended since the last poll, publishes it to the
+     * subscribers and returns it. The first poll loads the whole file.
+     */
+    EmployeeDelta poll();
+
+    /**
+     * Polls in a background thread with the given period until closed. A
+     * failed poll is reported to the parse error listener as an
+     * {@code OTHER} error on line 0, and the next one retries.
+     */
+    void start(Duration period);
+
+    /**
+     * Latest row for every id seen so far, in order of first appearance.
+     */
+    List<Employee> getEmployees();
+
+    @Override
+    void close();
+
+}
@@ -1,6 +1,11 @@
 package org.sergej.app.service;
 
+import org.sergej.app.aggregation.EmployeeAggregator;
+import org.sergej.app.aggregation.GroupBy;
+import org.sergej.app.aggregation.HistogramSpec;
 import org.sergej.app.model.Employee;
+import org.sergej.app.repository.EmployeeRepository;
+import org.sergej.app.repository.IntEmployeeMap;
 
 import java.util.List;
 import java.util.Map;
@@ -9,8 +14,25 @@ public interface EmployeeService {
 
     Employee getEmployeeById(int id, List<Employee> employees);
 
+    Employee getEmployeeById(int id, EmployeeRepository repository);
+
     List<Employee> getEmployeesBySalaryGreaterThan(int targetSalary, List<Employee> employees);
 
+    List<Employee> getEmployeesBySalaryGreaterThan(int targetSalary, EmployeeRepository repository);
+
+    /**
+     * Employees whose last name starts with the prefix, ignoring case, in list order.
+     */
+    List<Employee> getEmployeesByLastNamePrefix(String prefix, EmployeeRepository repository);
+
     Map<String, Employee> getEmployeeMap(List<Employee> employees);
 
+    IntEmployeeMap getEmployeeIdMap(List<Employee> employees);
+
+    /**
+     * Salary statistics in one pass over the list; {@code histogram} and
+     * {@code groupBy} may be {@code null}.
+     */
+    EmployeeAggregator aggregate(List<Employee> employees, HistogramSpec histogram, GroupBy groupBy);
+
 }
@@ -1,13 +1,121 @@
 package org.sergej.app.service;
 
+import org.sergej.app.model.BatchLoadResult;
+import org.sergej.app.model.DuplicateIdPolicy;
 import org.sergej.app.model.Employee;
+import org.sergej.app.model.EmployeeRecord;
+import org.sergej.app.repository.RosterSnapshot;
 
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+/**
+ * Files ending with {@code .emp} use the compact binary format, any other
+ * name is treated as UTF-8 comma-separated text with a {@code .txt} extension.
+ * Text files may be compressed: names ending with a codec extension such as
+ * {@code .gz} are written compressed, and compressed files are recognized on
+ * load by extension or by their magic bytes, see
+ * {@link org.sergej.app.codec.CompressionCodec}.
+ * Saves are atomic: the file is written next to the target and then renamed
+ * over it.
+ */
 public interface FileService {
 
     void saveEmployeesToFile(List<Employee> employees, String filename);
 
+    /**
+     * Same as {@link #saveEmployeesToFile(List, String)}; with {@code sync} the
+     * replaced directory entry is forced to the storage device as well, so the
+     * new file survives a crash right after the method returns.
+     */
+    void saveEmployeesToFile(List<Employee> employees, String filename, boolean sync);
+
     List<Employee> loadEmployeesFromFile(String filename);
 
+    /**
+     * Same result as {@link #loadEmployeesFromFile(String)} for UTF-8 files,
+     * but the file is memory-mapped and parsed in parallel chunks.
+     */
+    List<Employee> loadEmployeesFromFileParallel(String filename);
+
+    /**
+     * Same rows as {@link #loadEmployeesFromFile(String)} as immutable
+     * {@link EmployeeRecord}s in an unmodifiable list, which can be cached
+     * and shared between threads without copies.
+     */
+    List<EmployeeRecord> loadEmployeeRecordsFromFile(String filename);
+
+    /**
+     * Same as {@link #loadEmployeesFromFile(String)}, but rows whose id was
+     * already seen are handled according to {@code policy}, so the returned
+     * roster has unique ids. Under {@link DuplicateIdPolicy#REJECT} the load
+     * fails with {@link org.sergej.app.exception.FileLoadException}.
+     */
+    List<Employee> loadEmployeesFromFile(String filename, DuplicateIdPolicy policy);
+
+    /**
+     * Parallel counterpart of {@link #loadEmployeesFromFile(String, DuplicateIdPolicy)}.
+     */
+    List<Employee> loadEmployeesFromFileParallel(String filename, DuplicateIdPolicy policy);
+
+    /**
+     * Reads the single row with this id. Saved text files get a sidecar
+     * {@code <file>.idx} index of row offsets, which is rebuilt when it no
+     * longer matches the file; binary and compressed files are scanned.
+     * If the id occurs more than once, the first row is returned.
+     */
+    Optional<Employee> findById(String filename, int id);
+
+    /**
+     * Opens the memory-mapped {@code <file>.snap} snapshot of a roster, which
+     * also holds its id index, id map and salary ordering. A snapshot that is
+     * missing, of another format version, or taken from an older state of the
+     * file is rebuilt from a full parse first.
+     */
+    RosterSnapshot openSnapshot(String filename);
+
+    /**
+     * Loads several files concurrently on virtual threads, a bounded number
+     * at a time, and merges their rows in the order the files were given.
+     * A file that cannot be loaded is reported in its
+     * {@link org.sergej.app.model.FileLoadOutcome} and does not stop the others.
+     */
+    BatchLoadResult loadEmployeesFromFiles(Collection<String> filenames);
+
+    /**
+     * Same as {@link #loadEmployeesFromFiles(Collection)}, but at most
+     * {@code maxConcurrency} files are read at once and the rows of each file
+     * are passed to {@code sink} in small batches while it is being read, so
+     * the result holds outcomes only. The sink is called by one thread at a
+     * time, but batches of different files interleave. A file that fails part
+     * way, or whose rows the sink rejects with an exception, is reported as
+     * failed; its {@link org.sergej.app.model.FileLoadOutcome#rowCount()}
+     * tells how many of its rows the sink had already accepted.
+     */
+    BatchLoadResult loadEmployeesFromFiles(Collection<String> filenames, int maxConcurrency, Consumer<Employee> sink);
+
+    /**
+     * Lazily parses the file row by row. The stream holds the file open
+     * until it is closed, so use it in a try-with-resources block.
+     */
+    Stream<Employee> streamEmployeesFromFile(String filename);
+
+    void forEachEmployeeInFile(String filename, Consumer<Employee> action);
+
+    /**
+     * Lazily parses the file in batches of at most {@code batchSize} employees.
+     * The file is closed after the last batch has been returned.
+     */
+    Iterator<List<Employee>> loadEmployeesInBatches(String filename, int batchSize);
+
+    /**
+     * Creates a watcher that follows rows appended to a text file. Nothing is
+     * read until the first {@link EmployeeFileWatcher#poll()}.
+     */
+    EmployeeFileWatcher watchEmployeesFile(String filename);
+
 }
@@ -0,0 +1,20 @@
+package org.sergej.app.service;
+
+import org.sergej.app.model.ParseError;
+
+/**
+ * Receives the rows a loader skips. Loaders of one file call it from a
+ * single thread, but one listener may be shared by concurrent loads.
+ */
+@FunctionalInterface
+public interface ParseErrorListener {
+
+    /**
+     * Prints each skipped row to {@code System.err}.
+     */
+    ParseErrorListener STDERR = error -> System.err.printf("Error parsing line %d: '%s' — %s. Skipping.%n",
+            error.lineNumber(), error.line(), error.message());
+
+    void onParseError(ParseError error);
+
+}
@@ -0,0 +1,186 @@
+package org.sergej.app.service.impl;
+
+import org.sergej.app.exception.FileLoadException;
+import org.sergej.app.model.Employee;
+import org.sergej.app.service.ParseErrorListener;
+import org.sergej.app.util.NamePool;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Reads a UTF-8 employee file through an {@link AsynchronousFileChannel}, one
+ * buffer at a time, and parses the complete lines of every buffer into a
+ * batch. The partial line at the end of a buffer is moved to its front and
+ * completed by the next read; the buffer grows only for a line longer than
+ * itself. Rows are parsed on the channel's completion threads, so no thread
+ * waits for the disk.
+ */
+final class AsyncEmployeeFileReader implements EmployeePublisher.BatchSource {
+
+    static final int READ_BUFFER_SIZE = 64 * 1024;
+
+    private final AsynchronousFileChannel channel;
+
+    private final String filename;
+
+    private final EmployeeByteParser parser;
+
+    private final ParseErrorListener errorListener;
+
+    private final RosterChecksum checksum = new RosterChecksum();
+
+    private ByteBuffer buffer;
+
+    private long position;
+
+    private int lineNumber;
+
+    private boolean skipLineFeed;
+
+    private boolean finished;
+
+    /**
+     * @param executor pool for the channel's completion handlers, or {@code null} for the default one
+     */
+    AsyncEmployeeFileReader(Path path, ExecutorService executor, NamePool namePool,
+                            ParseErrorListener errorListener) throws IOException {
+        this.channel = AsynchronousFileChannel.open(path, Set.of(StandardOpenOption.READ), executor);
+        this.filename = path.toString();
+        this.parser = new EmployeeByteParser(namePool);
+        this.errorListener = errorListener;
+        this.buffer = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> read() {
+        CompletableFuture<List<Employee>> result = new CompletableFuture<>();
+        if (finished) {
+            result.complete(null);
+            return result;
+        }
+        if (!buffer.hasRemaining()) {
+            grow();
+        }
+
+        channel.read(buffer, position, null, new CompletionHandler<Integer, Void>() {
+            @Override
+            public void completed(Integer read, Void attachment) {
+                try {
+                    result.complete(parse(read));
+                } catch (RuntimeException e) {
+                    result.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void failed(Throwable e, Void attachment) {
+                result.completeExceptionally(new FileLoadException("Failed to read file: " + filename, e));
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // Nothing was written, so there is nothing to lose
+        }
+    }
+
+    /**
+     * Parses the complete lines in {@code buffer[0, position)} and keeps the
+     * rest for the next read; at the end of the file the rest is the last line.
+     */
+    private List<Employee> parse(int read) {
+        List<Employee> batch = new ArrayList<>();
+        boolean endOfFile = read < 0;
+        if (!endOfFile) {
+            position += read;
+        }
+
+        int limit = buffer.position();
+        int lineStart = 0;
+        if (skipLineFeed && limit > 0) {
+            // The previous buffer ended with '\r'; its '\n' belongs to the same line break
+            if (buffer.get(0) == '\n') {
+                lineStart = 1;
+            }
+            skipLineFeed = false;
+        }
+
+        for (int i = lineStart; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b != '\n' && b != '\r') {
+                continue;
+            }
+            parseLine(lineStart, i, batch);
+            if (b == '\r') {
+                if (i + 1 == limit) {
+                    skipLineFeed = true;
+                } else if (buffer.get(i + 1) == '\n') {
+                    i++;
+                }
+            }
+            lineStart = i + 1;
+        }
+
+        if (endOfFile) {
+            if (lineStart < limit) {
+                parseLine(lineStart, limit, batch);
+            }
+            finished = true;
+            return batch;
+        }
+
+        buffer.limit(limit).position(lineStart);
+        buffer.compact();
+        return batch;
+    }
+
+    private void parseLine(int lineStart, int lineEnd, List<Employee> batch) {
+        lineNumber++;
+        int start = EmployeeByteParser.trimStart(buffer, lineStart, lineEnd);
+        int end = EmployeeByteParser.trimEnd(buffer, start, lineEnd);
+
+        if (start == end) {
+            return;
+        }
+
+        if (buffer.get(start) == '#') {
+            String line = parser.decode(buffer, start, end);
+            if (RosterChecksum.isFooter(line)) {
+                checksum.verify(line, filename);
+                return;
+            }
+        }
+
+        try {
+            Employee employee = parser.parseEmployee(buffer, start, end);
+            checksum.update(employee);
+            batch.add(employee);
+        } catch (Exception ex) {
+            errorListener.onParseError(EmployeeParser.parseError(filename, lineNumber,
+                    parser.decode(buffer, start, end), ex));
+        }
+    }
+
+    private void grow() {
+        ByteBuffer grown = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+        buffer.flip();
+        grown.put(buffer);
+        buffer = grown;
+    }
+
+}
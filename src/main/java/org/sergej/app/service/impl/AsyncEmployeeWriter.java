@@ -0,0 +1,147 @@
+package org.sergej.app.service.impl;
+
+import org.sergej.app.model.Employee;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.channels.WritableByteChannel;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Writes a roster in the text format through an {@link AsynchronousFileChannel}.
+ * {@link EmployeeTextWriter} encodes rows into one block at a time, and the
+ * next block is encoded only after the previous write has completed, so the
+ * roster is never held in memory as text. Encoding runs on the channel's
+ * completion threads.
+ */
+final class AsyncEmployeeWriter {
+
+    private static final int BLOCK_SIZE = 256 * 1024;
+
+    private final AsynchronousFileChannel channel;
+
+    private final List<Employee> employees;
+
+    private final EmployeeIdIndex.Builder idIndex;
+
+    private final BlockChannel block = new BlockChannel();
+
+    private final EmployeeTextWriter writer = new EmployeeTextWriter(block);
+
+    private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+    private int next;
+
+    private boolean footerWritten;
+
+    private long position;
+
+    private AsyncEmployeeWriter(AsynchronousFileChannel channel, List<Employee> employees,
+                                EmployeeIdIndex.Builder idIndex) {
+        this.channel = channel;
+        this.employees = employees;
+        this.idIndex = idIndex;
+    }
+
+    /**
+     * Completes once every row and the footer have been written; the channel
+     * is left open, so that the caller can force and close it. The offset of
+     * every row is added to {@code idIndex}.
+     */
+    static CompletableFuture<Void> write(AsynchronousFileChannel channel, List<Employee> employees,
+                                         EmployeeIdIndex.Builder idIndex) {
+        AsyncEmployeeWriter writer = new AsyncEmployeeWriter(channel, employees, idIndex);
+        writer.writeNextBlock();
+        return writer.result;
+    }
+
+    private void writeNextBlock() {
+        ByteBuffer data;
+        try {
+            data = encodeNextBlock();
+        } catch (IOException | RuntimeException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+
+        if (!data.hasRemaining()) {
+            result.complete(null);
+            return;
+        }
+
+        channel.write(data, position, null, new CompletionHandler<Integer, Void>() {
+            @Override
+            public void completed(Integer written, Void attachment) {
+                position += written;
+                if (data.hasRemaining()) {
+                    channel.write(data, position, null, this);
+                } else {
+                    writeNextBlock();
+                }
+            }
+
+            @Override
+            public void failed(Throwable e, Void attachment) {
+                result.completeExceptionally(e);
+            }
+        });
+    }
+
+    /**
+     * Encodes rows until the writer flushes a block, or until the roster and
+     * its footer are done.
+     */
+    private ByteBuffer encodeNextBlock() throws IOException {
+        block.buffer.clear();
+        while (block.buffer.position() == 0) {
+            if (next < employees.size()) {
+                Employee employee = employees.get(next++);
+                idIndex.add(employee.getId(), writer.position());
+                writer.write(employee);
+            } else if (!footerWritten) {
+                writer.writeFooter();
+                writer.flush();
+                footerWritten = true;
+            } else {
+                break;
+            }
+        }
+        return block.buffer.flip();
+    }
+
+    /**
+     * Collects what {@link EmployeeTextWriter} flushes instead of writing it.
+     */
+    private static final class BlockChannel implements WritableByteChannel {
+
+        private ByteBuffer buffer = ByteBuffer.allocateDirect(BLOCK_SIZE);
+
+        @Override
+        public int write(ByteBuffer source) {
+            int length = source.remaining();
+            if (buffer.remaining() < length) {
+                ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, buffer.position() + length));
+                buffer.flip();
+                grown.put(buffer);
+                buffer = grown;
+            }
+            buffer.put(source);
+            return length;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+
+        }
+
+    }
+
+}
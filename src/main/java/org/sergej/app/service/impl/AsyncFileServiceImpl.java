@@ -0,0 +1,257 @@
+package org.sergej.app.service.impl;
+
+import org.sergej.app.codec.CompressionCodecs;
+import org.sergej.app.exception.FileLoadException;
+import org.sergej.app.model.Employee;
+import org.sergej.app.service.AsyncFileService;
+import org.sergej.app.service.ParseErrorListener;
+import org.sergej.app.util.NamePool;
+
+import java.io.IOException;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+/**
+ * {@link AsyncFileService} on top of {@link AsynchronousFileChannel}.
+ * <p>
+ * Uncompressed text files are read and written with asynchronous channel
+ * operations, and rows are parsed and encoded on the channel's completion
+ * threads. The few steps that have no asynchronous API (opening a file,
+ * sniffing its header, the final rename and force) run on virtual threads.
+ * A saved text roster gets the same id index sidecar as one saved by
+ * {@link FileServiceImpl}, written after the rename.
+ * Binary and compressed files fall back to {@link FileServiceImpl} on virtual
+ * threads, so they do not hold platform threads either.
+ */
+public class AsyncFileServiceImpl implements AsyncFileService {
+
+    private static final int FALLBACK_BATCH_SIZE = 1024;
+
+    private static final Executor VIRTUAL_THREADS = task -> Thread.ofVirtual().name("async-file-service").start(task);
+
+    private final ExecutorService channelExecutor;
+
+    private final NamePool namePool;
+
+    private final ParseErrorListener errorListener;
+
+    private final FileServiceImpl blockingService;
+
+    public AsyncFileServiceImpl() {
+        this(null, null, ParseErrorListener.STDERR);
+    }
+
+    /**
+     * @param channelExecutor pool for the completion handlers of file channels,
+     *                        or {@code null} for the JDK's default one
+     */
+    public AsyncFileServiceImpl(ExecutorService channelExecutor, NamePool namePool, ParseErrorListener errorListener) {
+        this.channelExecutor = channelExecutor;
+        this.namePool = namePool;
+        this.errorListener = Objects.requireNonNull(errorListener);
+        this.blockingService = new FileServiceImpl(ForkJoinPool.commonPool(), namePool, errorListener);
+    }
+
+    @Override
+    public CompletableFuture<Void> saveEmployeesToFile(List<Employee> employees, String filename) {
+        if (!FileServiceImpl.isFilenameValid(filename)) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("The specified file name is invalid!"));
+        }
+        String resolvedFilename = FileServiceImpl.resolveFilename(filename);
+        if (FileServiceImpl.isBinary(resolvedFilename) || CompressionCodecs.forFilename(resolvedFilename) != null) {
+            return CompletableFuture.runAsync(() -> blockingService.saveEmployeesToFile(employees, resolvedFilename),
+                    VIRTUAL_THREADS);
+        }
+
+        Path target = Path.of(resolvedFilename);
+        Path temp = FileServiceImpl.tempFileFor(target);
+        EmployeeIdIndex.Builder idIndex = new EmployeeIdIndex.Builder(employees.size());
+
+        CompletableFuture<AsynchronousFileChannel> opened = CompletableFuture.supplyAsync(
+                () -> openForWriting(temp), VIRTUAL_THREADS);
+        return opened
+                .thenCompose(channel -> AsyncEmployeeWriter.write(channel, employees, idIndex))
+                .thenRunAsync(() -> {
+                    finishSave(opened.join(), temp, target);
+                    blockingService.writeIdIndex(target, idIndex);
+                }, VIRTUAL_THREADS)
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        if (!opened.isCompletedExceptionally()) {
+                            closeQuietly(opened.join());
+                        }
+                        FileServiceImpl.deleteTempFile(temp);
+                    }
+                });
+    }
+
+    @Override
+    public CompletableFuture<List<Employee>> loadEmployeesFromFile(String filename) {
+        CollectingSubscriber subscriber = new CollectingSubscriber();
+        publishEmployeesFromFile(filename).subscribe(subscriber);
+        return subscriber.result;
+    }
+
+    @Override
+    public Flow.Publisher<Employee> publishEmployeesFromFile(String filename) {
+        return new EmployeePublisher(() -> new DeferredSource(filename));
+    }
+
+    /**
+     * Decides how to read the file; called on a virtual thread.
+     */
+    private EmployeePublisher.BatchSource openSource(String filename) {
+        String resolvedFilename = FileServiceImpl.resolveFilename(filename);
+        Path path = Path.of(resolvedFilename);
+        if (!Files.exists(path)) {
+            throw new FileLoadException("File not found: " + resolvedFilename);
+        }
+
+        try {
+            if (FileServiceImpl.isBinary(resolvedFilename) || CompressionCodecs.forFile(path) != null) {
+                return new BlockingSource(blockingService.streamEmployeesFromFile(filename));
+            }
+            return new AsyncEmployeeFileReader(path, channelExecutor, namePool, errorListener);
+        } catch (IOException e) {
+            throw new FileLoadException("Failed to read file: " + resolvedFilename, e);
+        }
+    }
+
+    private AsynchronousFileChannel openForWriting(Path path) {
+        Set<StandardOpenOption> options = Set.of(StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            return AsynchronousFileChannel.open(path, options, channelExecutor);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void finishSave(AsynchronousFileChannel channel, Path temp, Path target) {
+        try {
+            try (channel) {
+                channel.force(true);
+            }
+            FileServiceImpl.replace(temp, target);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static void closeQuietly(AsynchronousFileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // The save has already failed; closing must not hide that error
+        }
+    }
+
+    /**
+     * Opens the real source on a virtual thread when the first batch is
+     * requested, so subscribing never blocks.
+     */
+    private final class DeferredSource implements EmployeePublisher.BatchSource {
+
+        private final String filename;
+
+        private EmployeePublisher.BatchSource source;
+
+        DeferredSource(String filename) {
+            this.filename = filename;
+        }
+
+        @Override
+        public CompletableFuture<List<Employee>> read() {
+            if (source != null) {
+                return source.read();
+            }
+            return CompletableFuture.supplyAsync(() -> source = openSource(filename), VIRTUAL_THREADS)
+                    .thenCompose(EmployeePublisher.BatchSource::read);
+        }
+
+        @Override
+        public void close() {
+            if (source != null) {
+                source.close();
+            }
+        }
+
+    }
+
+    /**
+     * Pulls batches from a blocking stream on virtual threads.
+     */
+    private static final class BlockingSource implements EmployeePublisher.BatchSource {
+
+        private final Stream<Employee> stream;
+
+        private final Iterator<Employee> iterator;
+
+        BlockingSource(Stream<Employee> stream) {
+            this.stream = stream;
+            this.iterator = stream.iterator();
+        }
+
+        @Override
+        public CompletableFuture<List<Employee>> read() {
+            return CompletableFuture.supplyAsync(() -> {
+                if (!iterator.hasNext()) {
+                    return null;
+                }
+                List<Employee> batch = new ArrayList<>(FALLBACK_BATCH_SIZE);
+                while (batch.size() < FALLBACK_BATCH_SIZE && iterator.hasNext()) {
+                    batch.add(iterator.next());
+                }
+                return batch;
+            }, VIRTUAL_THREADS);
+        }
+
+        @Override
+        public void close() {
+            stream.close();
+        }
+
+    }
+
+    private static final class CollectingSubscriber implements Flow.Subscriber<Employee> {
+
+        private final CompletableFuture<List<Employee>> result = new CompletableFuture<>();
+
+        private final List<Employee> employees = new ArrayList<>();
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(Employee employee) {
+            employees.add(employee);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            result.completeExceptionally(error);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(employees);
+        }
+
+    }
+
+}
@@ -0,0 +1,243 @@
+package org.sergej.app.service.impl;
+
+import org.sergej.app.exception.EmployeeParseException;
+import org.sergej.app.exception.FileLoadException;
+import org.sergej.app.model.Employee;
+import org.sergej.app.service.ParseErrorListener;
+import org.sergej.app.util.NamePool;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Compact binary roster format ({@value #EXTENSION}).
+ * <pre>
+ * header:   magic "EMPB" | version int | row count int | CRC32C of the body long
+ * body:     ids int[rows] | salaries int[rows] |
+ *           names: (first name length int, UTF-8 bytes, last name length int, UTF-8 bytes)[rows]
+ * </pre>
+ * All numbers are big-endian. Loading maps the file and bulk-reads the int
+ * columns, so no text is parsed. Rows still go through the field rules of
+ * the text parser: names are trimmed, and rows with an empty name or a
+ * negative salary are skipped and reported to the error listener, numbered by
+ * their position in the file.
+ * Names cannot be {@code null}, since the format has no way to store one.
+ */
+class BinaryEmployeeCodec {
+
+    static final String EXTENSION = ".emp";
+
+    static final int VERSION = 1;
+
+    private static final int MAGIC = 0x454D5042;
+
+    private static final int HEADER_SIZE = 4 + 4 + 4 + 8;
+
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private final NamePool namePool;
+
+    private final ParseErrorListener errorListener;
+
+    BinaryEmployeeCodec() {
+        this(null, ParseErrorListener.STDERR);
+    }
+
+    /**
+     * @param namePool      pool that loaded names are deduplicated through, or {@code null}
+     * @param errorListener receives the rows skipped on load
+     */
+    BinaryEmployeeCodec(NamePool namePool, ParseErrorListener errorListener) {
+        this.namePool = namePool;
+        this.errorListener = errorListener;
+    }
+
+    void write(Path path, List<Employee> employees, boolean sync) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            CRC32C checksum = new CRC32C();
+            channel.position(HEADER_SIZE);
+
+            for (Employee employee : employees) {
+                if (employee.getFirstName() == null || employee.getLastName() == null) {
+                    throw new IllegalArgumentException("Binary employee files cannot store null names: " + employee);
+                }
+                ensureRemaining(channel, buffer, checksum, Integer.BYTES);
+                buffer.putInt(employee.getId());
+            }
+            for (Employee employee : employees) {
+                ensureRemaining(channel, buffer, checksum, Integer.BYTES);
+                buffer.putInt(employee.getSalary());
+            }
+            for (Employee employee : employees) {
+                putString(channel, buffer, checksum, employee.getFirstName());
+                putString(channel, buffer, checksum, employee.getLastName());
+            }
+            flush(channel, buffer, checksum);
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                    .putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(employees.size())
+                    .putLong(checksum.getValue())
+                    .flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+            if (sync) {
+                channel.force(true);
+            }
+        }
+    }
+
+    List<Employee> read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new FileLoadException("Binary employee file is too large to map: " + path);
+            }
+            if (size < HEADER_SIZE) {
+                throw corrupted(path, "file is shorter than the header");
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC) {
+                throw corrupted(path, "unknown file signature");
+            }
+            int version = buffer.getInt(4);
+            if (version != VERSION) {
+                throw corrupted(path, "unsupported version " + version);
+            }
+            int rows = buffer.getInt(8);
+            long expectedChecksum = buffer.getLong(12);
+
+            CRC32C checksum = new CRC32C();
+            checksum.update(buffer.slice(HEADER_SIZE, (int) size - HEADER_SIZE));
+            if (rows < 0 || (long) rows * 2 * Integer.BYTES > size - HEADER_SIZE
+                    || checksum.getValue() != expectedChecksum) {
+                throw corrupted(path, "checksum mismatch");
+            }
+
+            return decode(path, buffer, rows);
+        }
+    }
+
+    private List<Employee> decode(Path path, ByteBuffer buffer, int rows) {
+        int[] ids = new int[rows];
+        int[] salaries = new int[rows];
+        IntBuffer columns = buffer.slice(HEADER_SIZE, rows * 2 * Integer.BYTES)
+                .order(ByteOrder.BIG_ENDIAN)
+                .asIntBuffer();
+        columns.get(ids);
+        columns.get(salaries);
+
+        int position = HEADER_SIZE + rows * 2 * Integer.BYTES;
+        byte[] scratch = new byte[256];
+        List<Employee> employees = new ArrayList<>(rows);
+
+        try {
+            for (int row = 0; row < rows; row++) {
+                int firstNameLength = buffer.getInt(position);
+                position += Integer.BYTES;
+                scratch = ensureCapacity(scratch, firstNameLength);
+                buffer.get(position, scratch, 0, firstNameLength);
+                String firstName = trimmedName(scratch, firstNameLength);
+                position += firstNameLength;
+
+                int lastNameLength = buffer.getInt(position);
+                position += Integer.BYTES;
+                scratch = ensureCapacity(scratch, lastNameLength);
+                buffer.get(position, scratch, 0, lastNameLength);
+                String lastName = trimmedName(scratch, lastNameLength);
+                position += lastNameLength;
+
+                try {
+                    EmployeeParser.validate(firstName, lastName, salaries[row]);
+                } catch (EmployeeParseException e) {
+                    String line = ids[row] + "," + firstName + "," + lastName + "," + salaries[row];
+                    errorListener.onParseError(EmployeeParser.parseError(path.toString(), row + 1, line, e));
+                    continue;
+                }
+
+                if (namePool != null) {
+                    firstName = namePool.intern(firstName);
+                    lastName = namePool.intern(lastName);
+                }
+                employees.add(new Employee(ids[row], firstName, lastName, salaries[row]));
+            }
+        } catch (IndexOutOfBoundsException | NegativeArraySizeException e) {
+            throw corrupted(path, "name section is truncated");
+        }
+        return employees;
+    }
+
+    /**
+     * Decodes a name trimmed the way the text parser trims fields. Bytes up to
+     * the space are always single ASCII characters in UTF-8, so the bytes can
+     * be trimmed before decoding.
+     */
+    private static String trimmedName(byte[] bytes, int length) {
+        int start = 0;
+        int end = length;
+        while (start < end && (bytes[start] & 0xFF) <= ' ') {
+            start++;
+        }
+        while (end > start && (bytes[end - 1] & 0xFF) <= ' ') {
+            end--;
+        }
+        return new String(bytes, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private void putString(FileChannel channel, ByteBuffer buffer, CRC32C checksum,
+                           String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        ensureRemaining(channel, buffer, checksum, Integer.BYTES);
+        buffer.putInt(bytes.length);
+
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flush(channel, buffer, checksum);
+            }
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    private void ensureRemaining(FileChannel channel, ByteBuffer buffer, CRC32C checksum,
+                                 int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush(channel, buffer, checksum);
+        }
+    }
+
+    private void flush(FileChannel channel, ByteBuffer buffer, CRC32C checksum) throws IOException {
+        buffer.flip();
+        checksum.update(buffer.duplicate());
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static byte[] ensureCapacity(byte[] scratch, int length) {
+        return scratch.length >= length ? scratch : new byte[Math.max(length, scratch.length * 2)];
+    }
+
+    private static FileLoadException corrupted(Path path, String reason) {
+        return new FileLoadException("Corrupted employee file " + path + ": " + reason);
+    }
+
+}
@@ -0,0 +1,398 @@
+package org.sergej.app.service.impl;
+
+import org.sergej.app.model.BatchLoadResult;
+import org.sergej.app.model.DuplicateIdPolicy;
+import org.sergej.app.model.Employee;
+import org.sergej.app.model.EmployeeRecord;
+import org.sergej.app.repository.RosterSnapshot;
+import org.sergej.app.service.EmployeeFileWatcher;
+import org.sergej.app.service.FileService;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * {@link FileService} decorator that keeps parsed rosters in memory.
+ * <p>
+ * Results of {@link #loadEmployeesFromFile} and
+ * {@link #loadEmployeesFromFileParallel} are cached by canonical path and
+ * reused while the file keeps the same size and last-modified time. Loads
+ * with a {@link DuplicateIdPolicy} are cached separately per policy. Entries
+ * are evicted in least-recently-used order once their estimated heap weight
+ * exceeds the budget, and optionally after a time-to-live. Concurrent loads
+ * of the same file wait for a single parse. Saves made through this service
+ * invalidate the saved file; the streaming methods always go to the delegate.
+ * <p>
+ * Rosters are cached as immutable {@link EmployeeRecord} lists.
+ * {@link #loadEmployeeRecordsFromFile} returns the cached list itself; the
+ * other loads return new {@link Employee} objects on every call, so a caller
+ * that modifies them cannot affect the cache or other callers.
+ */
+public class CachingFileService implements FileService {
+
+    /**
+     * Estimated heap cost of one {@link EmployeeRecord} plus its list slot.
+     */
+    private static final long EMPLOYEE_WEIGHT = 40;
+
+    /**
+     * Estimated fixed cost of a {@link String} and its backing array.
+     */
+    private static final long STRING_WEIGHT = 40;
+
+    private final FileService delegate;
+
+    private final long maxWeight;
+
+    private final long ttlNanos;
+
+    private final LongSupplier clock;
+
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    public CachingFileService(FileService delegate, long maxWeightBytes) {
+        this(delegate, maxWeightBytes, null);
+    }
+
+    /**
+     * @param maxWeightBytes budget for the estimated heap size of cached rosters
+     * @param ttl            how long an entry stays valid, or {@code null} for no limit
+     */
+    public CachingFileService(FileService delegate, long maxWeightBytes, Duration ttl) {
+        this(delegate, maxWeightBytes, ttl, System::nanoTime);
+    }
+
+    CachingFileService(FileService delegate, long maxWeightBytes, Duration ttl, LongSupplier clock) {
+        if (maxWeightBytes <= 0) {
+            throw new IllegalArgumentException("Cache weight budget must be positive");
+        }
+        if (ttl != null && (ttl.isNegative() || ttl.isZero())) {
+            throw new IllegalArgumentException("Cache TTL must be positive");
+        }
+        this.delegate = delegate;
+        this.maxWeight = maxWeightBytes;
+        this.ttlNanos = ttl == null ? 0 : ttl.toNanos();
+        this.clock = clock;
+    }
+
+    @Override
+    public void saveEmployeesToFile(List<Employee> employees, String filename) {
+        saveEmployeesToFile(employees, filename, false);
+    }
+
+    @Override
+    public void saveEmployeesToFile(List<Employee> employees, String filename, boolean sync) {
+        try {
+            delegate.saveEmployeesToFile(employees, filename, sync);
+        } finally {
+            invalidate(filename);
+        }
+    }
+
+    @Override
+    public List<Employee> loadEmployeesFromFile(String filename) {
+        return toEmployees(cached(filename, null, file -> toRecords(delegate.loadEmployeesFromFile(file))));
+    }
+
+    @Override
+    public List<Employee> loadEmployeesFromFileParallel(String filename) {
+        return toEmployees(cached(filename, null, file -> toRecords(delegate.loadEmployeesFromFileParallel(file))));
+    }
+
+    @Override
+    public List<EmployeeRecord> loadEmployeeRecordsFromFile(String filename) {
+        return cached(filename, null, delegate::loadEmployeeRecordsFromFile);
+    }
+
+    @Override
+    public List<Employee> loadEmployeesFromFile(String filename, DuplicateIdPolicy policy) {
+        return toEmployees(cached(filename, policy, file -> toRecords(delegate.loadEmployeesFromFile(file, policy))));
+    }
+
+    @Override
+    public List<Employee> loadEmployeesFromFileParallel(String filename, DuplicateIdPolicy policy) {
+        return toEmployees(cached(filename, policy,
+                file -> toRecords(delegate.loadEmployeesFromFileParallel(file, policy))));
+    }
+
+    @Override
+    public Optional<Employee> findById(String filename, int id) {
+        return delegate.findById(filename, id);
+    }
+
+    @Override
+    public RosterSnapshot openSnapshot(String filename) {
+        return delegate.openSnapshot(filename);
+    }
+
+    @Override
+    public BatchLoadResult loadEmployeesFromFiles(Collection<String> filenames) {
+        return MultiFileLoader.load(filenames, MultiFileLoader.DEFAULT_MAX_CONCURRENCY, null,
+                (filename, rows) -> loadEmployeesFromFile(filename).forEach(rows));
+    }
+
+    @Override
+    public BatchLoadResult loadEmployeesFromFiles(Collection<String> filenames, int maxConcurrency,
+                                                  Consumer<Employee> sink) {
+        return MultiFileLoader.load(filenames, maxConcurrency, Objects.requireNonNull(sink),
+                (filename, rows) -> loadEmployeesFromFile(filename).forEach(rows));
+    }
+
+    @Override
+    public Stream<Employee> streamEmployeesFromFile(String filename) {
+        return delegate.streamEmployeesFromFile(filename);
+    }
+
+    @Override
+    public void forEachEmployeeInFile(String filename, Consumer<Employee> action) {
+        delegate.forEachEmployeeInFile(filename, action);
+    }
+
+    @Override
+    public Iterator<List<Employee>> loadEmployeesInBatches(String filename, int batchSize) {
+        return delegate.loadEmployeesInBatches(filename, batchSize);
+    }
+
+    @Override
+    public EmployeeFileWatcher watchEmployeesFile(String filename) {
+        return delegate.watchEmployeesFile(filename);
+    }
+
+    /**
+     * Drops the cached rosters of the file, if any.
+     */
+    public void invalidate(String filename) {
+        Path path;
+        try {
+            path = Path.of(FileServiceImpl.resolveFilename(filename)).toRealPath();
+        } catch (IOException | RuntimeException e) {
+            return;
+        }
+        synchronized (entries) {
+            Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<Key, Entry> mapping = iterator.next();
+                if (mapping.getKey().path.equals(path)) {
+                    iterator.remove();
+                    weight -= mapping.getValue().weight;
+                }
+            }
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            weight = 0;
+        }
+    }
+
+    public Stats stats() {
+        synchronized (entries) {
+            return new Stats(hits, misses, evictions, weight, entries.size());
+        }
+    }
+
+    private List<EmployeeRecord> cached(String filename, DuplicateIdPolicy policy,
+                                        Function<String, List<EmployeeRecord>> loader) {
+        Key key;
+        Fingerprint fingerprint;
+        try {
+            Path path = Path.of(FileServiceImpl.resolveFilename(filename)).toRealPath();
+            key = new Key(path, policy);
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            fingerprint = new Fingerprint(attributes.size(),
+                    attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS));
+        } catch (IOException e) {
+            // Missing or unreadable files are reported by the delegate as usual
+            return loader.apply(filename);
+        }
+
+        Entry entry;
+        boolean owner = false;
+        synchronized (entries) {
+            long now = clock.getAsLong();
+            entry = entries.get(key);
+            if (entry != null && isExpired(entry, now)) {
+                removeEntry(key, entry);
+                evictions++;
+                entry = null;
+            } else if (entry != null && !entry.fingerprint.equals(fingerprint)) {
+                removeEntry(key, entry);
+                entry = null;
+            }
+
+            if (entry == null) {
+                entry = new Entry(fingerprint, now);
+                entries.put(key, entry);
+                owner = true;
+                misses++;
+            } else {
+                hits++;
+            }
+        }
+
+        if (owner) {
+            return load(filename, key, entry, loader);
+        }
+        return await(entry.result);
+    }
+
+    private List<EmployeeRecord> load(String filename, Key key, Entry entry,
+                                      Function<String, List<EmployeeRecord>> loader) {
+        List<EmployeeRecord> records;
+        try {
+            records = List.copyOf(loader.apply(filename));
+        } catch (RuntimeException | Error e) {
+            synchronized (entries) {
+                entries.remove(key, entry);
+            }
+            entry.result.completeExceptionally(e);
+            throw e;
+        }
+
+        entry.result.complete(records);
+        synchronized (entries) {
+            if (entries.get(key) == entry) {
+                entry.weight = weigh(records);
+                weight += entry.weight;
+                evict();
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Removes expired entries, then least recently used ones until the cache
+     * fits its budget. Loads still in progress are never evicted.
+     */
+    private void evict() {
+        long now = clock.getAsLong();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.result.isDone() && (weight > maxWeight || isExpired(entry, now))) {
+                iterator.remove();
+                weight -= entry.weight;
+                evictions++;
+            }
+        }
+    }
+
+    private void removeEntry(Key key, Entry entry) {
+        entries.remove(key);
+        weight -= entry.weight;
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return ttlNanos > 0 && now - entry.loadedAt >= ttlNanos;
+    }
+
+    private static long weigh(List<EmployeeRecord> records) {
+        long total = 0;
+        for (EmployeeRecord record : records) {
+            total += EMPLOYEE_WEIGHT + weigh(record.firstName()) + weigh(record.lastName());
+        }
+        return total;
+    }
+
+    private static List<EmployeeRecord> toRecords(List<Employee> employees) {
+        List<EmployeeRecord> records = new ArrayList<>(employees.size());
+        for (Employee employee : employees) {
+            records.add(EmployeeRecord.of(employee));
+        }
+        return records;
+    }
+
+    /**
+     * New {@link Employee} objects for the caller, which it is free to modify.
+     */
+    private static List<Employee> toEmployees(List<EmployeeRecord> records) {
+        List<Employee> employees = new ArrayList<>(records.size());
+        for (EmployeeRecord record : records) {
+            employees.add(record.toEmployee());
+        }
+        return employees;
+    }
+
+    /**
+     * Upper bound for a name's size, assuming it is not shared with other rows
+     * and needs two bytes per char.
+     */
+    private static long weigh(String name) {
+        return name == null ? 0 : STRING_WEIGHT + 2L * name.length();
+    }
+
+    private static List<EmployeeRecord> await(CompletableFuture<List<EmployeeRecord>> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public record Stats(long hits, long misses, long evictions, long weight, int size) {
+
+    }
+
+    /**
+     * @param policy {@code null} for loads without duplicate handling
+     */
+    private record Key(Path path, DuplicateIdPolicy policy) {
+
+    }
+
+    private record Fingerprint(long size, long lastModified) {
+
+    }
+
+    private static class Entry {
+
+        private final Fingerprint fingerprint;
+
+        private final long loadedAt;
+
+        private final CompletableFuture<List<EmployeeRecord>> result = new CompletableFuture<>();
+
+        private long weight;
+
+        Entry(Fingerprint fingerprint, long loadedAt) {
+            this.fingerprint = fingerprint;
+            this.loadedAt = loadedAt;
+        }
+
+    }
+
+}
@@ -0,0 +1,69 @@
+package org.sergej.app.service.impl;
+
+import org.sergej.app.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazily reads the file in batches of at most {@code batchSize} employees.
+ * The file is closed as soon as the last batch is read, on a read error,
+ * or when {@link #close()} is called for an iterator abandoned early.
+ */
+class EmployeeBatchIterator implements Iterator<List<Employee>>, AutoCloseable {
+
+    private final EmployeeFileReader reader;
+
+    private final int batchSize;
+
+    private List<Employee> nextBatch;
+
+    EmployeeBatchIterator(EmployeeFileReader reader, int batchSize) {
+        this.reader = reader;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextBatch == null) {
+            nextBatch = readBatch();
+        }
+        return !nextBatch.isEmpty();
+    }
+
+    @Override
+    public List<Employee> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<Employee> batch = nextBatch;
+        nextBatch = null;
+        return batch;
+    }
+
+    @Override
+    public void close() {
+        reader.closeOrFail();
+    }
+
+    private List<Employee> readBatch() {
+        List<Employee> batch = new ArrayList<>(batchSize);
+        try {
+            Employee employee;
+            while (batch.size() < batchSize && (employee = reader.nextOrFail()) != null) {
+                batch.add(employee);
+            }
+        } catch (RuntimeException e) {
+            reader.closeOrFail();
+            throw e;
+        }
+
+        if (batch.size() < batchSize) {
+            reader.closeOrFail();
+        }
+        return batch;
+    }
+
+}
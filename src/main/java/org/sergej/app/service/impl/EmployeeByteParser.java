@@ -0,0 +1,175 @@
+package org.sergej.app.service.impl;
+
+import org.sergej.app.exception.EmployeeParseException;
+import org.sergej.app.model.Employee;
+import org.sergej.app.model.ParseError;
+import org.sergej.app.util.NamePool;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Byte-level counterpart of {@link EmployeeParser} for UTF-8 rows read
+ * straight from a (mapped) {@link ByteBuffer}. All structural characters and
+ * ASCII whitespace are single bytes in UTF-8, so fields can be found and
+ * trimmed without decoding; only the names are decoded into strings.
+ */
+final class EmployeeByteParser {
+
+    private static final int FIELD_COUNT = 4;
+
+    private final NamePool namePool;
+
+    private byte[] scratch = new byte[256];
+
+    EmployeeByteParser() {
+        this(null);
+    }
+
+    /**
+     * @param namePool pool that parsed names are deduplicated through, or {@code null}
+     */
+    EmployeeByteParser(NamePool namePool) {
+        this.namePool = namePool;
+    }
+
+    /**
+     * Parses the row in {@code buffer[start, end)}. The range is expected to be
+     * trimmed already.
+     */
+    Employee parseEmployee(ByteBuffer buffer, int start, int end) {
+        int firstComma = -1;
+        int secondComma = -1;
+        int thirdComma = -1;
+        int fields = 1;
+
+        for (int i = start; i < end; i++) {
+            if (buffer.get(i) == ',') {
+                if (fields == 1) {
+                    firstComma = i;
+                } else if (fields == 2) {
+                    secondComma = i;
+                } else if (fields == 3) {
+                    thirdComma = i;
+                }
+                fields++;
+            }
+        }
+
+        if (fields != FIELD_COUNT) {
+            throw new EmployeeParseException(ParseError.Reason.FIELD_COUNT, "Expected 4 fields, but got " + fields);
+        }
+
+        int id = parseInt(buffer, start, firstComma);
+        String firstName = trimmedString(buffer, firstComma + 1, secondComma);
+        String lastName = trimmedString(buffer, secondComma + 1, thirdComma);
+        int salary = parseInt(buffer, thirdComma + 1, end);
+
+        if (firstName.isEmpty() || lastName.isEmpty()) {
+            throw new EmployeeParseException(ParseError.Reason.EMPTY_NAME, "First name or last name is empty");
+        }
+
+        if (salary < 0) {
+            throw new EmployeeParseException(ParseError.Reason.NEGATIVE_SALARY, "Salary cannot be negative");
+        }
+
+        return new Employee(id, firstName, lastName, salary);
+    }
+
+    String decode(ByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(start, scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private int parseInt(ByteBuffer buffer, int start, int end) {
+        int from = trimStart(buffer, start, end);
+        int to = trimEnd(buffer, from, end);
+
+        if (from == to) {
+            throw invalidNumber(buffer, from, to);
+        }
+
+        boolean negative = false;
+        int limit = -Integer.MAX_VALUE;
+        int i = from;
+        byte first = buffer.get(i);
+        if (first == '-' || first == '+') {
+            if (first == '-') {
+                negative = true;
+                limit = Integer.MIN_VALUE;
+            }
+            if (++i == to) {
+                throw invalidNumber(buffer, from, to);
+            }
+        }
+
+        int multiplyLimit = limit / 10;
+        int result = 0;
+        for (; i < to; i++) {
+            byte b = buffer.get(i);
+            if (b < 0) {
+                return parseDecoded(buffer, from, to);
+            }
+            int digit = b - '0';
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                throw invalidNumber(buffer, from, to);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw invalidNumber(buffer, from, to);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    /**
+     * Slow path for fields with non-ASCII characters, which
+     * {@link Integer#parseInt(String)} may still accept as digits.
+     */
+    private int parseDecoded(ByteBuffer buffer, int from, int to) {
+        try {
+            return Integer.parseInt(decode(buffer, from, to));
+        } catch (NumberFormatException e) {
+            throw new EmployeeParseException(ParseError.Reason.INVALID_NUMBER, "Invalid number format: " + e.getMessage());
+        }
+    }
+
+    private String trimmedString(ByteBuffer buffer, int start, int end) {
+        int from = trimStart(buffer, start, end);
+        int to = trimEnd(buffer, from, end);
+        if (from == to) {
+            return "";
+        }
+        String name = decode(buffer, from, to);
+        return namePool == null ? name : namePool.intern(name);
+    }
+
+    static int trimStart(ByteBuffer buffer, int start, int end) {
+        while (start < end && isWhitespace(buffer.get(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    static int trimEnd(ByteBuffer buffer, int start, int end) {
+        while (end > start && isWhitespace(buffer.get(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b >= 0 && b <= ' ';
+    }
+
+    private EmployeeParseException invalidNumber(ByteBuffer buffer, int from, int to) {
+        return new EmployeeParseException(ParseError.Reason.INVALID_NUMBER, "Invalid number format: For input string: \""
+                + decode(buffer, from, to) + "\"");
+    }
+
+}
@@ -0,0 +1,228 @@
+package org.sergej.app.service.impl;
+
+import org.sergej.app.exception.FileLoadException;
+import org.sergej.app.model.Employee;
+import org.sergej.app.service.ParseErrorListener;
+import org.sergej.app.util.NamePool;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Reads employees from a text file one row at a time. Blank lines are
+ * ignored, malformed ones are reported with their line number and skipped.
+ * Footer lines are checked against the records read before them.
+ */
+class EmployeeFileReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String filename;
+
+    private final Reader reader;
+
+    private final NamePool namePool;
+
+    private final ParseErrorListener errorListener;
+
+    private char[] buffer = new char[BUFFER_SIZE];
+
+    private int position;
+
+    private int limit;
+
+    private int lineStart;
+
+    private int lineEnd;
+
+    private boolean endOfInput;
+
+    private boolean skipLineFeed;
+
+    private int lineNumber;
+
+    private final RosterChecksum checksum = new RosterChecksum();
+
+    private boolean closed;
+
+    EmployeeFileReader(File file) throws IOException {
+        this(file, null, ParseErrorListener.STDERR);
+    }
+
+    /**
+     * @param namePool      pool that parsed names are deduplicated through, or {@code null}
+     * @param errorListener receives the rows that are skipped
+     */
+    EmployeeFileReader(File file, NamePool namePool, ParseErrorListener errorListener) throws IOException {
+        this(file.getPath(), new FileReader(file, StandardCharsets.UTF_8), namePool, errorListener);
+    }
+
+    /**
+     * Reads already decoded text, e.g. from a decompressing stream; the reader
+     * is closed together with this one.
+     */
+    EmployeeFileReader(String filename, Reader reader, NamePool namePool, ParseErrorListener errorListener) {
+        this.filename = filename;
+        this.reader = reader;
+        this.namePool = namePool;
+        this.errorListener = errorListener;
+    }
+
+    /**
+     * Returns the next valid employee, or {@code null} once the file is exhausted.
+     */
+    Employee next() throws IOException {
+        if (closed) {
+            return null;
+        }
+
+        while (readLine()) {
+            lineNumber++;
+            int start = EmployeeParser.trimStart(buffer, lineStart, lineEnd);
+            int end = EmployeeParser.trimEnd(buffer, start, lineEnd);
+
+            if (start == end) {
+                continue;
+            }
+
+            if (isFooter(start, end)) {
+                checksum.verify(new String(buffer, start, end - start), filename);
+                continue;
+            }
+
+            try {
+                Employee employee = EmployeeParser.parseEmployee(buffer, start, end, namePool);
+                checksum.update(employee);
+                return employee;
+            } catch (Exception ex) {
+                errorListener.onParseError(EmployeeParser.parseError(filename, lineNumber,
+                        new String(buffer, start, end - start), ex));
+            }
+        }
+        return null;
+    }
+
+    private boolean isFooter(int start, int end) {
+        String prefix = RosterChecksum.FOOTER_PREFIX;
+        if (end - start < prefix.length()) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length(); i++) {
+            if (buffer[start + i] != prefix.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Same as {@link #next()}, but wraps read failures into {@link FileLoadException}.
+     */
+    Employee nextOrFail() {
+        try {
+            return next();
+        } catch (IOException e) {
+            throw new FileLoadException("Failed to read file: " + filename, e);
+        }
+    }
+
+    int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Finds the next line in the buffer and stores its bounds in
+     * {@code lineStart}/{@code lineEnd}. Lines end with \n, \r or \r\n,
+     * as with {@link java.io.BufferedReader#readLine()}.
+     */
+    private boolean readLine() throws IOException {
+        int scan = position;
+        while (true) {
+            for (; scan < limit; scan++) {
+                char c = buffer[scan];
+                if (c == '\n' || c == '\r') {
+                    lineStart = position;
+                    lineEnd = scan;
+                    position = scan + 1;
+                    if (c == '\r') {
+                        if (position < limit) {
+                            if (buffer[position] == '\n') {
+                                position++;
+                            }
+                        } else {
+                            skipLineFeed = true;
+                        }
+                    }
+                    return true;
+                }
+            }
+
+            if (endOfInput) {
+                if (position == limit) {
+                    return false;
+                }
+                lineStart = position;
+                lineEnd = limit;
+                position = limit;
+                return true;
+            }
+
+            scan = fill(scan);
+        }
+    }
+
+    /**
+     * Moves the unread tail to the front of the buffer, growing it if a single
+     * line does not fit, and reads more input. Returns the new scan position.
+     */
+    private int fill(int scan) throws IOException {
+        int scanned = scan - position;
+        int remaining = limit - position;
+
+        if (remaining == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        } else if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, remaining);
+        }
+        position = 0;
+        limit = remaining;
+
+        int read = reader.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+        }
+
+        if (skipLineFeed && position < limit) {
+            skipLineFeed = false;
+            if (buffer[position] == '\n') {
+                position++;
+                return position;
+            }
+        }
+        return scanned;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!closed) {
+            closed = true;
+            reader.close();
+        }
+    }
+
+    void closeOrFail() {
+        try {
+            close();
+        } catch (IOException e) {
+            throw new FileLoadException("Failed to close file: " + filename, e);
+        }
+    }
+
+}
@@ -0,0 +1,366 @@
+package org.sergej.app.service.impl;
+
+import org.sergej.app.exception.FileLoadException;
+import org.sergej.app.model.Employee;
+import org.sergej.app.model.EmployeeDelta;
+import org.sergej.app.model.ParseError;
+import org.sergej.app.service.EmployeeFileWatcher;
+import org.sergej.app.service.ParseErrorListener;
+import org.sergej.app.util.IntIntHashTable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Remembers the byte offset and line number reached in the file. A poll
+ * parses only complete lines after that offset, so a row that is still being
+ * written is picked up by a later poll. The file counts as replaced when its
+ * file key (inode) or its first bytes change, and as truncated when it is
+ * shorter than the offset; both cases trigger a full reload. The file key
+ * cannot be read from an open channel, so it is read before and after
+ * opening; if the two differ, the file was replaced in between and the open
+ * is retried.
+ * <p>
+ * A poll parses into a {@link PendingRead} and commits it only once the whole
+ * read, including any footer check, has succeeded, so a failed poll leaves
+ * the watcher exactly as it was. Polls run under the watcher's lock and call
+ * the subscribers before releasing it, so deltas arrive one at a time and in
+ * file order.
+ */
+class EmployeeFileWatcherImpl implements EmployeeFileWatcher {
+
+    private static final int BLOCK_SIZE = 1024 * 1024;
+
+    private static final int PREFIX_SIZE = 64;
+
+    private static final int MAX_OPEN_ATTEMPTS = 3;
+
+    private final Path path;
+
+    private final ParseErrorListener errorListener;
+
+    private final List<Consumer<EmployeeDelta>> subscribers = new CopyOnWriteArrayList<>();
+
+    private final EmployeeByteParser parser = new EmployeeByteParser();
+
+    private final List<Employee> employees = new ArrayList<>();
+
+    private IntIntHashTable positions = new IntIntHashTable(1024);
+
+    private RosterChecksum checksum = new RosterChecksum();
+
+    private boolean loaded;
+
+    private Object fileKey;
+
+    private byte[] prefix;
+
+    private long offset;
+
+    private int lineNumber;
+
+    private boolean pendingCarriageReturn;
+
+    private ScheduledExecutorService scheduler;
+
+    EmployeeFileWatcherImpl(Path path) {
+        this(path, ParseErrorListener.STDERR);
+    }
+
+    EmployeeFileWatcherImpl(Path path, ParseErrorListener errorListener) {
+        this.path = path;
+        this.errorListener = errorListener;
+    }
+
+    @Override
+    public void subscribe(Consumer<EmployeeDelta> subscriber) {
+        subscribers.add(Objects.requireNonNull(subscriber));
+    }
+
+    @Override
+    public synchronized EmployeeDelta poll() {
+        EmployeeDelta delta = readChanges();
+        if (!delta.isEmpty()) {
+            for (Consumer<EmployeeDelta> subscriber : subscribers) {
+                subscriber.accept(delta);
+            }
+        }
+        return delta;
+    }
+
+    @Override
+    public synchronized void start(Duration period) {
+        if (scheduler != null) {
+            throw new IllegalStateException("Watcher is already started");
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "employee-file-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                poll();
+            } catch (RuntimeException e) {
+                // Line 0: the failure concerns the whole file, not a row
+                errorListener.onParseError(new ParseError(path.toString(), 0, "", ParseError.Reason.OTHER,
+                        "Error polling file: " + e.getMessage()));
+            }
+        }, 0, period.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized List<Employee> getEmployees() {
+        return List.copyOf(employees);
+    }
+
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    private EmployeeDelta readChanges() {
+        try {
+            for (int attempt = 1; ; attempt++) {
+                Object keyBefore = fileKey();
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    Object keyAfter = fileKey();
+                    if (Objects.equals(keyBefore, keyAfter)) {
+                        return readChanges(channel, keyAfter);
+                    }
+                    if (attempt == MAX_OPEN_ATTEMPTS) {
+                        // Still being replaced: a key that matches nothing reloads this read and the next one
+                        return readChanges(channel, new Object());
+                    }
+                }
+            }
+        } catch (NoSuchFileException e) {
+            throw new FileLoadException("File not found: " + path);
+        } catch (IOException e) {
+            throw new FileLoadException("Failed to read file: " + path, e);
+        }
+    }
+
+    private EmployeeDelta readChanges(FileChannel channel, Object currentKey) throws IOException {
+        long size = channel.size();
+
+        boolean reload = !loaded || size < offset
+                || !Objects.equals(fileKey, currentKey)
+                || !prefixMatches(channel);
+
+        PendingRead read = reload ? new PendingRead() : new PendingRead(this);
+        read.readAppended(channel, size);
+        byte[] newPrefix = !reload && prefix.length == PREFIX_SIZE ? prefix : readPrefix(channel, read.offset);
+        return commit(read, reload, currentKey, newPrefix);
+    }
+
+    private Object fileKey() throws IOException {
+        return Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+    }
+
+    /**
+     * Applies a successful read to the watcher state and reports the rows it skipped.
+     */
+    private EmployeeDelta commit(PendingRead read, boolean reload, Object currentKey, byte[] newPrefix) {
+        if (reload) {
+            employees.clear();
+            positions = new IntIntHashTable(Math.max(1024, read.rows.size()));
+        }
+
+        List<Employee> added = new ArrayList<>();
+        List<Employee> updated = new ArrayList<>();
+        for (Employee employee : read.rows) {
+            apply(employee, added, updated);
+        }
+
+        checksum = read.checksum;
+        offset = read.offset;
+        lineNumber = read.lineNumber;
+        pendingCarriageReturn = read.pendingCarriageReturn;
+        fileKey = currentKey;
+        prefix = newPrefix;
+        loaded = true;
+
+        read.errors.forEach(errorListener::onParseError);
+        if (reload) {
+            return new EmployeeDelta(employees, List.of(), true);
+        }
+        return new EmployeeDelta(added, updated, false);
+    }
+
+    private void apply(Employee employee, List<Employee> added, List<Employee> updated) {
+        int position = positions.putIfAbsent(employee.getId(), employees.size());
+        if (position == IntIntHashTable.NO_VALUE) {
+            employees.add(employee);
+            added.add(employee);
+        } else {
+            employees.set(position, employee);
+            updated.add(employee);
+        }
+    }
+
+    private boolean prefixMatches(FileChannel channel) throws IOException {
+        if (prefix == null || channel.size() < prefix.length) {
+            return false;
+        }
+        ByteBuffer current = ByteBuffer.allocate(prefix.length);
+        while (current.hasRemaining() && channel.read(current, current.position()) > 0) {
+            // keep reading until the prefix is complete
+        }
+        return Arrays.equals(prefix, current.array());
+    }
+
+    private static byte[] readPrefix(FileChannel channel, long offset) throws IOException {
+        int length = (int) Math.min(PREFIX_SIZE, offset);
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining() && channel.read(buffer, buffer.position()) > 0) {
+            // keep reading until the prefix is complete
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * Rows, skipped-row errors and parser position of one poll, kept apart
+     * from the watcher until the read has succeeded.
+     */
+    private final class PendingRead {
+
+        private final List<Employee> rows = new ArrayList<>();
+
+        private final List<ParseError> errors = new ArrayList<>();
+
+        private final RosterChecksum checksum;
+
+        private long offset;
+
+        private int lineNumber;
+
+        private boolean pendingCarriageReturn;
+
+        /**
+         * Read from the start of the file.
+         */
+        PendingRead() {
+            this.checksum = new RosterChecksum();
+        }
+
+        /**
+         * Read that continues where the watcher stopped.
+         */
+        PendingRead(EmployeeFileWatcherImpl watcher) {
+            this.checksum = watcher.checksum.copy();
+            this.offset = watcher.offset;
+            this.lineNumber = watcher.lineNumber;
+            this.pendingCarriageReturn = watcher.pendingCarriageReturn;
+        }
+
+        void readAppended(FileChannel channel, long size) throws IOException {
+            ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(BLOCK_SIZE, Math.max(size - offset, 16)));
+            long position = offset;
+
+            while (position < size) {
+                int read = channel.read(buffer, position);
+                if (read <= 0) {
+                    break;
+                }
+                position += read;
+
+                buffer.flip();
+                int consumed = processLines(buffer);
+                offset += consumed;
+                buffer.position(consumed);
+                buffer.compact();
+
+                if (!buffer.hasRemaining()) {
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer.flip());
+                }
+            }
+        }
+
+        /**
+         * Handles every complete line in the buffer and returns the number of
+         * bytes consumed; an unterminated tail is left for the next read.
+         */
+        private int processLines(ByteBuffer buffer) {
+            int limit = buffer.limit();
+            int lineStart = 0;
+
+            if (pendingCarriageReturn && limit > 0) {
+                pendingCarriageReturn = false;
+                if (buffer.get(0) == '\n') {
+                    lineStart = 1;
+                }
+            }
+
+            for (int i = lineStart; i < limit; i++) {
+                byte b = buffer.get(i);
+                if (b != '\n' && b != '\r') {
+                    continue;
+                }
+
+                handleLine(buffer, lineStart, i);
+                int next = i + 1;
+                if (b == '\r') {
+                    if (next < limit) {
+                        if (buffer.get(next) == '\n') {
+                            next++;
+                        }
+                    } else {
+                        pendingCarriageReturn = true;
+                    }
+                }
+                lineStart = next;
+                i = next - 1;
+            }
+            return lineStart;
+        }
+
+        private void handleLine(ByteBuffer buffer, int lineStart, int lineEnd) {
+            lineNumber++;
+            int start = EmployeeByteParser.trimStart(buffer, lineStart, lineEnd);
+            int end = EmployeeByteParser.trimEnd(buffer, start, lineEnd);
+
+            if (start == end) {
+                return;
+            }
+
+            if (buffer.get(start) == '#') {
+                String line = parser.decode(buffer, start, end);
+                if (RosterChecksum.isFooter(line)) {
+                    checksum.verify(line, path.toString());
+                    return;
+                }
+            }
+
+            try {
+                Employee employee = parser.parseEmployee(buffer, start, end);
+                checksum.update(employee);
+                rows.add(employee);
+            } catch (Exception ex) {
+                errors.add(EmployeeParser.parseError(path.toString(), lineNumber,
+                        parser.decode(buffer, start, end), ex));
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,260 @@
+package org.sergej.app.service.impl;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sidecar index of a text roster that maps employee ids to the byte offsets
+ * of their rows, so a single row can be read without parsing the file.
+ * <p>
+ * The index lives next to the roster as {@code <roster>.idx}: a header
+ * (magic, version, entry count, and the size and modification time of the
+ * roster it describes) followed by fixed-width {@code (int id, long offset)}
+ * entries sorted by id. It is memory-mapped and binary-searched as is. For a
+ * duplicate id the first row wins, as in
+ * {@link org.sergej.app.repository.EmployeeRepository}. An index whose
+ * recorded size or modification time differs from the roster's is stale.
+ */
+final class EmployeeIdIndex {
+
+    static final String EXTENSION = ".idx";
+
+    static final int VERSION = 1;
+
+    private static final int MAGIC = 0x45494458;
+
+    private static final int HEADER_SIZE = 4 + 4 + 4 + 8 + 8;
+
+    private static final int ENTRY_SIZE = 4 + 8;
+
+    private static final int SCAN_BUFFER_SIZE = 1024 * 1024;
+
+    private final ByteBuffer entries;
+
+    private final int count;
+
+    private final Fingerprint source;
+
+    private EmployeeIdIndex(ByteBuffer entries, int count, Fingerprint source) {
+        this.entries = entries;
+        this.count = count;
+        this.source = source;
+    }
+
+    static Path sidecarFor(Path roster) {
+        return roster.resolveSibling(roster.getFileName() + EXTENSION);
+    }
+
+    /**
+     * Maps an index file, or returns {@code null} if it is missing, malformed
+     * or of another version.
+     */
+    static EmployeeIdIndex open(Path indexPath) throws IOException {
+        if (!Files.exists(indexPath)) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                return null;
+            }
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int count = mapped.getInt(8);
+            if (mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION || count < 0
+                    || size != HEADER_SIZE + (long) count * ENTRY_SIZE) {
+                return null;
+            }
+            return new EmployeeIdIndex(mapped, count, new Fingerprint(mapped.getLong(12), mapped.getLong(20)));
+        }
+    }
+
+    /**
+     * Collects the offsets of the valid rows of a text roster.
+     */
+    static Builder scan(Path roster) throws IOException {
+        Builder builder = new Builder(16);
+        EmployeeByteParser parser = new EmployeeByteParser();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(SCAN_BUFFER_SIZE);
+
+        try (FileChannel channel = FileChannel.open(roster, StandardOpenOption.READ)) {
+            long bufferOffset = 0;
+            boolean endOfFile = false;
+            while (!endOfFile) {
+                if (!buffer.hasRemaining()) {
+                    buffer = grow(buffer);
+                }
+                endOfFile = channel.read(buffer) < 0;
+                int limit = buffer.position();
+                int lineStart = 0;
+                for (int i = 0; i < limit; i++) {
+                    byte b = buffer.get(i);
+                    if (b == '\n' || b == '\r') {
+                        indexLine(parser, buffer, lineStart, i, bufferOffset, builder);
+                        lineStart = i + 1;
+                    }
+                }
+                if (endOfFile) {
+                    indexLine(parser, buffer, lineStart, limit, bufferOffset, builder);
+                } else {
+                    buffer.limit(limit).position(lineStart);
+                    buffer.compact();
+                    bufferOffset += lineStart;
+                }
+            }
+        }
+        return builder;
+    }
+
+    private static void indexLine(EmployeeByteParser parser, ByteBuffer buffer, int lineStart, int lineEnd,
+                                  long bufferOffset, Builder builder) {
+        int start = EmployeeByteParser.trimStart(buffer, lineStart, lineEnd);
+        int end = EmployeeByteParser.trimEnd(buffer, start, lineEnd);
+        if (start == end || buffer.get(start) == '#') {
+            return;
+        }
+        try {
+            builder.add(parser.parseEmployee(buffer, start, end).getId(), bufferOffset + lineStart);
+        } catch (RuntimeException ignored) {
+            // Rows the loaders skip are not indexed either
+        }
+    }
+
+    void write(Path indexPath) throws IOException {
+        ByteBuffer content = entries.duplicate().clear();
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (content.hasRemaining()) {
+                channel.write(content);
+            }
+        }
+    }
+
+    boolean describes(Fingerprint roster) {
+        return source.equals(roster);
+    }
+
+    /**
+     * @return the byte offset of the row with this id, or -1
+     */
+    long offsetOf(int id) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int position = HEADER_SIZE + middle * ENTRY_SIZE;
+            int candidate = entries.getInt(position);
+            if (candidate < id) {
+                low = middle + 1;
+            } else if (candidate > id) {
+                high = middle - 1;
+            } else {
+                return entries.getLong(position + 4);
+            }
+        }
+        return -1;
+    }
+
+    int size() {
+        return count;
+    }
+
+    private static ByteBuffer grow(ByteBuffer buffer) {
+        ByteBuffer grown = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+        buffer.flip();
+        grown.put(buffer);
+        return grown;
+    }
+
+    /**
+     * Size and modification time of a roster.
+     */
+    record Fingerprint(long size, long lastModified) {
+
+        static Fingerprint of(Path roster) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(roster, BasicFileAttributes.class);
+            return new Fingerprint(attributes.size(), attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS));
+        }
+
+    }
+
+    /**
+     * Collects {@code (id, offset)} pairs in file order.
+     */
+    static final class Builder {
+
+        private int[] ids;
+
+        private long[] offsets;
+
+        private int size;
+
+        Builder(int expectedSize) {
+            this.ids = new int[Math.max(expectedSize, 16)];
+            this.offsets = new long[ids.length];
+        }
+
+        void add(int id, long offset) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                offsets = Arrays.copyOf(offsets, size * 2);
+            }
+            ids[size] = id;
+            offsets[size++] = offset;
+        }
+
+        /**
+         * Sorts the entries by id, keeping the first row of every id. The
+         * index lives on the heap until it is written.
+         */
+        EmployeeIdIndex build(Fingerprint source) {
+            int[] order = sortedUniqueOrder();
+            ByteBuffer buffer = ByteBuffer.allocate(Math.toIntExact(HEADER_SIZE + (long) order.length * ENTRY_SIZE));
+            buffer.putInt(MAGIC).putInt(VERSION).putInt(order.length)
+                    .putLong(source.size()).putLong(source.lastModified());
+            for (int row : order) {
+                buffer.putInt(ids[row]).putLong(offsets[row]);
+            }
+            return new EmployeeIdIndex(buffer, order.length, source);
+        }
+
+        /**
+         * Row numbers ordered by id; rosters saved in id order skip the sort.
+         */
+        private int[] sortedUniqueOrder() {
+            boolean ascending = true;
+            for (int i = 1; i < size && ascending; i++) {
+                ascending = ids[i - 1] < ids[i];
+            }
+            if (ascending) {
+                int[] order = new int[size];
+                Arrays.setAll(order, i -> i);
+                return order;
+            }
+
+            // The id in the high half and the row in the low half sort by id, then by row
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = (long) ids[i] << 32 | i;
+            }
+            Arrays.parallelSort(keys);
+
+            int[] order = new int[size];
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                if (i == 0 || (int) (keys[i] >> 32) != (int) (keys[i - 1] >> 32)) {
+                    order[unique++] = (int) keys[i];
+                }
+            }
+            return Arrays.copyOf(order, unique);
+        }
+
+    }
+
+}
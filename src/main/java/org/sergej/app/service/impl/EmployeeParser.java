@@ -0,0 +1,170 @@
+package org.sergej.app.service.impl;
+
+import org.sergej.app.exception.EmployeeParseException;
+import org.sergej.app.model.Employee;
+import org.sergej.app.model.ParseError;
+import org.sergej.app.service.ParseErrorListener;
+import org.sergej.app.util.NamePool;
+
+/**
+ * Parses one employee row straight from a char buffer. The row is scanned
+ * once and the numbers are parsed in place, so a valid row allocates only the
+ * two name strings and the {@link Employee} itself.
+ * Validation and error messages match the former {@code String.split} based parser.
+ */
+final class EmployeeParser {
+
+    private static final int FIELD_COUNT = 4;
+
+    private EmployeeParser() {
+
+    }
+
+    /**
+     * Parses the row in {@code chars[start, end)}. The range is expected to be
+     * trimmed already.
+     */
+    static Employee parseEmployee(char[] chars, int start, int end) {
+        return parseEmployee(chars, start, end, null);
+    }
+
+    /**
+     * Same as {@link #parseEmployee(char[], int, int)}, but takes the names
+     * from {@code namePool} when it is not {@code null}.
+     */
+    static Employee parseEmployee(char[] chars, int start, int end, NamePool namePool) {
+        int firstComma = -1;
+        int secondComma = -1;
+        int thirdComma = -1;
+        int fields = 1;
+
+        for (int i = start; i < end; i++) {
+            if (chars[i] == ',') {
+                if (fields == 1) {
+                    firstComma = i;
+                } else if (fields == 2) {
+                    secondComma = i;
+                } else if (fields == 3) {
+                    thirdComma = i;
+                }
+                fields++;
+            }
+        }
+
+        if (fields != FIELD_COUNT) {
+            throw new EmployeeParseException(ParseError.Reason.FIELD_COUNT, "Expected 4 fields, but got " + fields);
+        }
+
+        int id = parseInt(chars, start, firstComma);
+        String firstName = trimmedString(chars, firstComma + 1, secondComma, namePool);
+        String lastName = trimmedString(chars, secondComma + 1, thirdComma, namePool);
+        int salary = parseInt(chars, thirdComma + 1, end);
+
+        if (firstName.isEmpty() || lastName.isEmpty()) {
+            throw new EmployeeParseException(ParseError.Reason.EMPTY_NAME, "First name or last name is empty");
+        }
+
+        if (salary < 0) {
+            throw new EmployeeParseException(ParseError.Reason.NEGATIVE_SALARY, "Salary cannot be negative");
+        }
+
+        return new Employee(id, firstName, lastName, salary);
+    }
+
+    /**
+     * Applies the field rules of {@link #parseEmployee} to a row that was
+     * decoded without text parsing, such as one read from a binary file.
+     * Names are checked as the text parser would see them, i.e. trimmed.
+     */
+    static void validate(String firstName, String lastName, int salary) {
+        if (firstName.trim().isEmpty() || lastName.trim().isEmpty()) {
+            throw new EmployeeParseException(ParseError.Reason.EMPTY_NAME, "First name or last name is empty");
+        }
+
+        if (salary < 0) {
+            throw new EmployeeParseException(ParseError.Reason.NEGATIVE_SALARY, "Salary cannot be negative");
+        }
+    }
+
+    /**
+     * Describes a skipped row for a {@link ParseErrorListener}.
+     */
+    static ParseError parseError(String filename, int lineNumber, String line, Exception ex) {
+        ParseError.Reason reason = ex instanceof EmployeeParseException parseException
+                ? parseException.getReason()
+                : ParseError.Reason.OTHER;
+        return new ParseError(filename, lineNumber, line, reason, ex.getMessage());
+    }
+
+    /**
+     * Decimal int parser with the same accepted syntax as {@link Integer#parseInt(String)}
+     * applied to the trimmed field.
+     */
+    static int parseInt(char[] chars, int start, int end) {
+        int from = trimStart(chars, start, end);
+        int to = trimEnd(chars, from, end);
+
+        if (from == to) {
+            throw invalidNumber(chars, from, to);
+        }
+
+        boolean negative = false;
+        int limit = -Integer.MAX_VALUE;
+        int i = from;
+        char first = chars[i];
+        if (first == '-' || first == '+') {
+            if (first == '-') {
+                negative = true;
+                limit = Integer.MIN_VALUE;
+            }
+            if (++i == to) {
+                throw invalidNumber(chars, from, to);
+            }
+        }
+
+        int multiplyLimit = limit / 10;
+        int result = 0;
+        for (; i < to; i++) {
+            char c = chars[i];
+            int digit = c < 128 ? c - '0' : Character.digit(c, 10);
+            if (digit < 0 || digit > 9 || result < multiplyLimit) {
+                throw invalidNumber(chars, from, to);
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw invalidNumber(chars, from, to);
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+
+    private static String trimmedString(char[] chars, int start, int end, NamePool namePool) {
+        int from = trimStart(chars, start, end);
+        int to = trimEnd(chars, from, end);
+        if (from == to) {
+            return "";
+        }
+        return namePool == null ? new String(chars, from, to - from) : namePool.intern(chars, from, to);
+    }
+
+    static int trimStart(char[] chars, int start, int end) {
+        while (start < end && chars[start] <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    static int trimEnd(char[] chars, int start, int end) {
+        while (end > start && chars[end - 1] <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private static EmployeeParseException invalidNumber(char[] chars, int from, int to) {
+        return new EmployeeParseException(ParseError.Reason.INVALID_NUMBER, "Invalid number format: For input string: \""
+                + new String(chars, from, to - from) + "\"");
+    }
+
+}
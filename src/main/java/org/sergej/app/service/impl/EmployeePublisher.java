@@ -0,0 +1,211 @@
+package org.sergej.app.service.impl;
+
+import org.sergej.app.model.Employee;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Cold {@link Flow.Publisher} of employees: every subscriber gets its own
+ * {@link BatchSource}. The next batch is read only while the subscriber has
+ * outstanding demand, so a slow subscriber holds back the reads instead of
+ * letting rows pile up in memory; at most one batch is buffered ahead.
+ * <p>
+ * Signals are serialized with a work-in-progress counter: whichever thread
+ * calls {@code request}, {@code cancel} or completes a read drains the
+ * subscription, and the others just mark that there is more work.
+ */
+final class EmployeePublisher implements Flow.Publisher<Employee> {
+
+    private final Supplier<BatchSource> sourceFactory;
+
+    EmployeePublisher(Supplier<BatchSource> sourceFactory) {
+        this.sourceFactory = sourceFactory;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Employee> subscriber) {
+        Objects.requireNonNull(subscriber);
+        subscriber.onSubscribe(new EmployeeSubscription(subscriber, sourceFactory.get()));
+    }
+
+    /**
+     * Produces the rows of one file in batches. {@link #read()} is never
+     * called again before the previous read has completed, and
+     * {@link #close()} is called once, after the last read has completed.
+     */
+    interface BatchSource {
+
+        /**
+         * Completes with the next rows, which may be empty, or with
+         * {@code null} once the file is exhausted.
+         */
+        CompletableFuture<List<Employee>> read();
+
+        void close();
+
+    }
+
+    private static final class EmployeeSubscription implements Flow.Subscription {
+
+        private final Flow.Subscriber<? super Employee> subscriber;
+
+        private final BatchSource source;
+
+        private final AtomicLong requested = new AtomicLong();
+
+        private final AtomicInteger wip = new AtomicInteger();
+
+        private final ArrayDeque<Employee> pending = new ArrayDeque<>();
+
+        private volatile boolean cancelled;
+
+        private volatile Throwable requestError;
+
+        private volatile boolean readDone;
+
+        private volatile List<Employee> readBatch;
+
+        private volatile Throwable readError;
+
+        private boolean reading;
+
+        private boolean exhausted;
+
+        private boolean terminated;
+
+        private boolean sourceClosed;
+
+        EmployeeSubscription(Flow.Subscriber<? super Employee> subscriber, BatchSource source) {
+            this.subscriber = subscriber;
+            this.source = source;
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                requestError = new IllegalArgumentException("Requested " + n + " rows, but demand must be positive");
+            } else {
+                requested.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            drain();
+        }
+
+        private void onRead(List<Employee> batch, Throwable error) {
+            readBatch = batch;
+            readError = error;
+            readDone = true;
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            do {
+                if (!terminated) {
+                    step();
+                }
+                if (terminated && !sourceClosed && (!reading || readDone)) {
+                    sourceClosed = true;
+                    source.close();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void step() {
+            if (readDone && reading) {
+                reading = false;
+                readDone = false;
+                if (readError != null) {
+                    fail(readError);
+                    return;
+                }
+                if (readBatch == null) {
+                    exhausted = true;
+                } else {
+                    pending.addAll(readBatch);
+                }
+                readBatch = null;
+            }
+
+            if (cancelled) {
+                terminate();
+                return;
+            }
+            if (requestError != null) {
+                fail(requestError);
+                return;
+            }
+
+            long demand = requested.get();
+            long emitted = 0;
+            while (emitted < demand && !pending.isEmpty()) {
+                subscriber.onNext(pending.poll());
+                emitted++;
+                if (cancelled) {
+                    terminate();
+                    return;
+                }
+            }
+            if (emitted > 0 && demand != Long.MAX_VALUE) {
+                requested.addAndGet(-emitted);
+            }
+
+            if (pending.isEmpty()) {
+                if (exhausted) {
+                    terminate();
+                    subscriber.onComplete();
+                } else if (!reading && requested.get() > 0) {
+                    reading = true;
+                    read();
+                }
+            }
+        }
+
+        private void read() {
+            CompletableFuture<List<Employee>> batch;
+            try {
+                batch = source.read();
+            } catch (RuntimeException e) {
+                batch = CompletableFuture.failedFuture(e);
+            }
+            batch.whenComplete(this::onRead);
+        }
+
+        private void fail(Throwable error) {
+            terminate();
+            subscriber.onError(unwrap(error));
+        }
+
+        private void terminate() {
+            terminated = true;
+            pending.clear();
+        }
+
+        private static Throwable unwrap(Throwable error) {
+            while (error instanceof CompletionException && error.getCause() != null) {
+                error = error.getCause();
+            }
+            return error;
+        }
+
+    }
+
+}
@@ -1,16 +1,50 @@
 package org.sergej.app.service.impl;
 
+import org.sergej.app.aggregation.EmployeeAggregator;
+import org.sergej.app.aggregation.GroupBy;
+import org.sergej.app.aggregation.HistogramSpec;
 import org.sergej.app.exception.EmployeeNotFoundException;
 import org.sergej.app.model.Employee;
+import org.sergej.app.repository.EmployeeRepository;
+import org.sergej.app.repository.IntEmployeeMap;
 import org.sergej.app.service.EmployeeService;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
 
 public class EmployeeServiceImpl implements EmployeeService {
 
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 100_000;
+
+    private static final int MIN_CHUNK_SIZE = 8_192;
+
+    private final ForkJoinPool pool;
+
+    private final int parallelThreshold;
+
+    public EmployeeServiceImpl() {
+        this(ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Lists with at least {@code parallelThreshold} employees are filtered and aggregated in
+     * parallel on the given pool; smaller ones use a sequential scan.
+     */
+    public EmployeeServiceImpl(ForkJoinPool pool, int parallelThreshold) {
+        if (parallelThreshold <= 0) {
+            throw new IllegalArgumentException("Parallel threshold must be positive");
+        }
+        this.pool = pool;
+        this.parallelThreshold = parallelThreshold;
+    }
+
     @Override
     public Employee getEmployeeById(int id, List<Employee> employees) {
         for (Employee employee : employees) {
@@ -21,22 +55,152 @@ public class EmployeeServiceImpl implements EmployeeService {
         throw new EmployeeNotFoundException("Employee with id " + id + " not found!");
     }
 
+    @Override
+    public Employee getEmployeeById(int id, EmployeeRepository repository) {
+        return repository.findById(id)
+                .orElseThrow(() -> new EmployeeNotFoundException("Employee with id " + id + " not found!"));
+    }
+
     @Override
     public List<Employee> getEmployeesBySalaryGreaterThan(int targetSalary,
                                                           List<Employee> employees) {
+        if (employees.size() >= parallelThreshold && employees instanceof RandomAccess) {
+            return filterInParallel(targetSalary, employees);
+        }
         return  employees.stream()
                 .filter(e -> e.getSalary() > targetSalary)
                 .toList();
     }
 
+    @Override
+    public List<Employee> getEmployeesBySalaryGreaterThan(int targetSalary,
+                                                          EmployeeRepository repository) {
+        // The index slice is in salary order; sorting the matched ordinals restores list order
+        int[] ordinals = repository.getSalaryIndex().ordinalsGreaterThan(targetSalary);
+        Arrays.sort(ordinals);
+        return repository.getAll(ordinals);
+    }
+
+    @Override
+    public List<Employee> getEmployeesByLastNamePrefix(String prefix, EmployeeRepository repository) {
+        return repository.getAll(repository.getLastNameIndex().prefixIgnoreCase(prefix));
+    }
+
+    private List<Employee> filterInParallel(int targetSalary, List<Employee> employees) {
+        int size = employees.size();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (pool.getParallelism() * 4));
+
+        List<SalaryFilterTask> tasks = new ArrayList<>();
+        for (int from = 0; from < size; from += chunkSize) {
+            tasks.add(new SalaryFilterTask(employees, targetSalary, from, Math.min(size, from + chunkSize)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+
+        int total = 0;
+        for (SalaryFilterTask task : tasks) {
+            total += task.join().size();
+        }
+        List<Employee> result = new ArrayList<>(total);
+        for (SalaryFilterTask task : tasks) {
+            result.addAll(task.join());
+        }
+        return Collections.unmodifiableList(result);
+    }
+
     @Override
     public Map<String, Employee> getEmployeeMap(List<Employee> employees) {
-        Map<String, Employee> employeeMap = new HashMap<>();
-        for (Employee employee : employees) {
-            String key = "id" + employee.getId();
-            employeeMap.put(key, employee);
+        return getEmployeeIdMap(employees).asStringKeyedMap();
+    }
+
+    @Override
+    public IntEmployeeMap getEmployeeIdMap(List<Employee> employees) {
+        return new IntEmployeeMap(employees);
+    }
+
+    @Override
+    public EmployeeAggregator aggregate(List<Employee> employees, HistogramSpec histogram, GroupBy groupBy) {
+        if (employees.size() < parallelThreshold || !(employees instanceof RandomAccess)) {
+            EmployeeAggregator aggregator = new EmployeeAggregator(histogram, groupBy);
+            employees.forEach(aggregator);
+            return aggregator;
+        }
+
+        int size = employees.size();
+        int chunkSize = Math.max(MIN_CHUNK_SIZE, size / (pool.getParallelism() * 4));
+
+        List<AggregateTask> tasks = new ArrayList<>();
+        for (int from = 0; from < size; from += chunkSize) {
+            tasks.add(new AggregateTask(employees, histogram, groupBy, from, Math.min(size, from + chunkSize)));
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+
+        EmployeeAggregator result = tasks.get(0).join();
+        for (int i = 1; i < tasks.size(); i++) {
+            result.merge(tasks.get(i).join());
+        }
+        return result;
+    }
+
+    private static class SalaryFilterTask extends RecursiveTask<List<Employee>> {
+
+        private final List<Employee> employees;
+
+        private final int targetSalary;
+
+        private final int from;
+
+        private final int to;
+
+        SalaryFilterTask(List<Employee> employees, int targetSalary, int from, int to) {
+            this.employees = employees;
+            this.targetSalary = targetSalary;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected List<Employee> compute() {
+            List<Employee> matches = new ArrayList<>();
+            for (int i = from; i < to; i++) {
+                Employee employee = employees.get(i);
+                if (employee.getSalary() > targetSalary) {
+                    matches.add(employee);
+                }
+            }
+            return matches;
+        }
+
+    }
+
+    private static class AggregateTask extends RecursiveTask<EmployeeAggregator> {
+
+        private final List<Employee> employees;
+
+        private final HistogramSpec histogram;
+
+        private final GroupBy groupBy;
+
+        private final int from;
+
+        private final int to;
+
+        AggregateTask(List<Employee> employees, HistogramSpec histogram, GroupBy groupBy, int from, int to) {
+            this.employees = employees;
+            this.histogram = histogram;
+            this.groupBy = groupBy;
+            this.from = from;
+            this.to = to;
         }
-        return Collections.unmodifiableMap(employeeMap);
+
+        @Override
+        protected EmployeeAggregator compute() {
+            EmployeeAggregator aggregator = new EmployeeAggregator(histogram, groupBy);
+            for (int i = from; i < to; i++) {
+                aggregator.accept(employees.get(i));
+            }
+            return aggregator;
+        }
+
     }
 
 }
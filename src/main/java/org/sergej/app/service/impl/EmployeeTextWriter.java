@@ -0,0 +1,220 @@
+package org.sergej.app.service.impl;
+
+import org.sergej.app.model.Employee;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes employees as UTF-8 comma-separated rows into one reusable buffer
+ * that is flushed to a channel, usually a {@link FileChannel}, in large blocks. Numbers and names
+ * are encoded straight into the buffer, so no per-row strings are created.
+ */
+class EmployeeTextWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 256 * 1024;
+
+    private static final int MAX_INT_LENGTH = 11;
+
+    private static final byte[] NULL_BYTES = {'n', 'u', 'l', 'l'};
+
+    private final WritableByteChannel channel;
+
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private final byte[] digits = new byte[MAX_INT_LENGTH];
+
+    private final RosterChecksum checksum = new RosterChecksum();
+
+    private long flushed;
+
+    EmployeeTextWriter(Path path) throws IOException {
+        this(FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    EmployeeTextWriter(WritableByteChannel channel) {
+        this.channel = channel;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the loader would skip the row,
+     *                                  which would break the footer count
+     */
+    void write(Employee employee) throws IOException {
+        requireLoadable(employee);
+        writeInt(employee.getId());
+        writeByte(',');
+        writeString(employee.getFirstName());
+        writeByte(',');
+        writeString(employee.getLastName());
+        writeByte(',');
+        writeInt(employee.getSalary());
+        writeByte('\n');
+        checksum.update(employee);
+    }
+
+    /**
+     * Writes the record count and checksum footer, see {@link RosterChecksum}.
+     */
+    void writeFooter() throws IOException {
+        writeString(checksum.footer());
+        writeByte('\n');
+    }
+
+    /**
+     * Byte offset in the output at which the next row will start.
+     */
+    long position() {
+        return flushed + buffer.position();
+    }
+
+    void flush() throws IOException {
+        buffer.flip();
+        flushed += buffer.remaining();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Flushes the buffer and, for a file channel, forces the written data to
+     * the storage device.
+     */
+    void sync() throws IOException {
+        flush();
+        if (channel instanceof FileChannel fileChannel) {
+            fileChannel.force(true);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Rejects rows the text parser refuses: an empty name, a name that would
+     * split the row, or a negative salary. Also rejects names with an unpaired
+     * surrogate: they would be written as '?' and fail the footer checksum,
+     * which hashes the original name. A {@code null} name is written as
+     * "null" and loads back as that text, as it always has.
+     */
+    private static void requireLoadable(Employee employee) {
+        String firstName = String.valueOf(employee.getFirstName());
+        String lastName = String.valueOf(employee.getLastName());
+        try {
+            EmployeeParser.validate(firstName, lastName, employee.getSalary());
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Employee cannot be saved: " + e.getMessage() + ": " + employee, e);
+        }
+        if (!isSingleField(firstName) || !isSingleField(lastName)) {
+            throw new IllegalArgumentException(
+                    "Employee cannot be saved: a name contains a comma or a line break: " + employee);
+        }
+        if (hasUnpairedSurrogate(firstName) || hasUnpairedSurrogate(lastName)) {
+            throw new IllegalArgumentException(
+                    "Employee cannot be saved: a name contains an unpaired surrogate: " + employee);
+        }
+    }
+
+    private static boolean isSingleField(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c == ',' || c == '\n' || c == '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasUnpairedSurrogate(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < name.length()
+                    && Character.isLowSurrogate(name.charAt(i + 1))) {
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeByte(int b) throws IOException {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put((byte) b);
+    }
+
+    private void writeInt(int value) throws IOException {
+        if (buffer.remaining() < MAX_INT_LENGTH) {
+            flush();
+        }
+
+        // Work on the negative value so that Integer.MIN_VALUE needs no special case
+        boolean negative = value < 0;
+        int remaining = negative ? value : -value;
+        int position = MAX_INT_LENGTH;
+        do {
+            int quotient = remaining / 10;
+            digits[--position] = (byte) ('0' + quotient * 10 - remaining);
+            remaining = quotient;
+        } while (remaining != 0);
+
+        if (negative) {
+            digits[--position] = '-';
+        }
+        buffer.put(digits, position, MAX_INT_LENGTH - position);
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            for (byte b : NULL_BYTES) {
+                writeByte(b);
+            }
+            return;
+        }
+
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (buffer.remaining() < 4) {
+                flush();
+            }
+
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogates are replaced the same way String.getBytes does
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+    }
+
+}
@@ -1,127 +1,699 @@
 package org.sergej.app.service.impl;
 
+import org.sergej.app.codec.CompressionCodec;
+import org.sergej.app.codec.CompressionCodecs;
+import org.sergej.app.codec.PipelinedInputStream;
+import org.sergej.app.codec.PipelinedOutputStream;
+import org.sergej.app.exception.DuplicateEmployeeIdException;
 import org.sergej.app.exception.FileLoadException;
+import org.sergej.app.metrics.MetricsSink;
+import org.sergej.app.model.BatchLoadResult;
+import org.sergej.app.model.DuplicateIdPolicy;
 import org.sergej.app.model.Employee;
+import org.sergej.app.model.EmployeeRecord;
+import org.sergej.app.model.ParseError;
+import org.sergej.app.repository.EmployeeDeduplicator;
+import org.sergej.app.repository.RosterSnapshot;
+import org.sergej.app.service.EmployeeFileWatcher;
 import org.sergej.app.service.FileService;
+import org.sergej.app.service.ParseErrorListener;
+import org.sergej.app.util.NamePool;
 
-import java.io.BufferedReader;
+import java.io.BufferedInputStream;
 import java.io.File;
-import java.io.FileReader;
-import java.io.FileWriter;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class FileServiceImpl implements FileService {
 
+    private static final int COMPRESSED_BUFFER_SIZE = 64 * 1024;
+
+    private static final int RECORD_READ_SIZE = 256;
+
+    private final ParallelEmployeeLoader parallelLoader;
+
+    private final BinaryEmployeeCodec binaryCodec;
+
+    private final NamePool namePool;
+
+    private final ParseErrorListener errorListener;
+
+    private final MetricsSink metrics;
+
+    private final Map<Path, EmployeeIdIndex> idIndexes = new ConcurrentHashMap<>();
+
+    public FileServiceImpl() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public FileServiceImpl(ForkJoinPool pool) {
+        this(pool, null);
+    }
+
+    /**
+     * Loaded first and last names are deduplicated through {@code namePool},
+     * so every row with the same name shares one string; {@code null}
+     * disables deduplication.
+     */
+    public FileServiceImpl(ForkJoinPool pool, NamePool namePool) {
+        this(pool, namePool, ParseErrorListener.STDERR);
+    }
+
+    /**
+     * Skipped rows are reported to {@code errorListener} instead of being
+     * printed to {@code System.err}.
+     */
+    public FileServiceImpl(ForkJoinPool pool, NamePool namePool, ParseErrorListener errorListener) {
+        this(pool, ParallelEmployeeLoader.DEFAULT_CHUNK_SIZE, namePool, errorListener);
+    }
+
+    /**
+     * Skipped rows and the bytes that loads read from disk are recorded in
+     * {@code metrics}; a load served from a cache above this service reads
+     * nothing and records no bytes.
+     */
+    public FileServiceImpl(ForkJoinPool pool, NamePool namePool, MetricsSink metrics) {
+        this(pool, ParallelEmployeeLoader.DEFAULT_CHUNK_SIZE, namePool, metrics::recordSkippedRow, metrics);
+    }
+
+    FileServiceImpl(ForkJoinPool pool, int chunkSize) {
+        this(pool, chunkSize, null);
+    }
+
+    FileServiceImpl(ForkJoinPool pool, int chunkSize, NamePool namePool) {
+        this(pool, chunkSize, namePool, ParseErrorListener.STDERR);
+    }
+
+    FileServiceImpl(ForkJoinPool pool, int chunkSize, NamePool namePool, ParseErrorListener errorListener) {
+        this(pool, chunkSize, namePool, errorListener, MetricsSink.NOOP);
+    }
+
+    FileServiceImpl(ForkJoinPool pool, int chunkSize, NamePool namePool, ParseErrorListener errorListener,
+                    MetricsSink metrics) {
+        this.parallelLoader = new ParallelEmployeeLoader(pool, chunkSize, namePool, errorListener);
+        this.binaryCodec = new BinaryEmployeeCodec(namePool, errorListener);
+        this.namePool = namePool;
+        this.errorListener = Objects.requireNonNull(errorListener);
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
     @Override
     public void saveEmployeesToFile(List<Employee> employees, String filename) {
-        if (!isFilenameValid(filename)) {
-            throw new IllegalArgumentException("The specified file name is invalid!");
+        saveEmployeesToFile(employees, filename, false);
+    }
+
+    @Override
+    public void saveEmployeesToFile(List<Employee> employees, String filename, boolean sync) {
+        // Saved under the same name the loaders resolve, so that " roster " is read back from "roster.txt"
+        filename = resolveFilename(filename);
+
+        if (isBinary(filename)) {
+            writeAtomically(Path.of(filename), sync, path -> binaryCodec.write(path, employees, true));
+            return;
         }
 
-        if (!filename.endsWith(".txt")) {
-            filename += ".txt";
+        CompressionCodec codec = CompressionCodecs.forFilename(filename);
+        if (codec != null) {
+            if (isBinary(filename.substring(0, filename.length() - codec.extension().length()))) {
+                throw new IllegalArgumentException("Binary employee files cannot be compressed");
+            }
+            writeAtomically(Path.of(filename), sync, path -> writeCompressed(path, employees, codec));
+            return;
         }
 
-        try (FileWriter writer = new FileWriter(filename)) {
-            writeEmployees(writer, employees);
+        EmployeeIdIndex.Builder idIndex = new EmployeeIdIndex.Builder(employees.size());
+        Path target = Path.of(filename);
+        writeAtomically(target, sync, path -> {
+            try (EmployeeTextWriter writer = new EmployeeTextWriter(path)) {
+                for (Employee employee : employees) {
+                    idIndex.add(employee.getId(), writer.position());
+                    writer.write(employee);
+                }
+                writer.writeFooter();
+                writer.sync();
+            }
+        });
+        writeIdIndex(target, idIndex);
+    }
+
+    @Override
+    public List<Employee> loadEmployeesFromFile(String filename) {
+        if (isBinary(resolveFilename(filename))) {
+            return readBinary(existingFile(filename));
+        }
+
+        List<Employee> employees = new ArrayList<>();
+        forEachEmployeeInFile(filename, employees::add);
+        return employees;
+    }
+
+    @Override
+    public List<Employee> loadEmployeesFromFileParallel(String filename) {
+        File file = existingFile(filename);
+        if (isBinary(file.getPath())) {
+            return readBinary(file);
+        }
+        if (compressionCodec(file) != null) {
+            // Compressed files cannot be mapped; the sequential reader already decompresses in the background
+            return loadEmployeesFromFile(filename);
+        }
+
+        try {
+            List<Employee> employees = parallelLoader.load(file.toPath());
+            metrics.recordBytesRead(file.length());
+            return employees;
         } catch (IOException e) {
-            throw new RuntimeException(e);
+            throw new FileLoadException("Failed to read file: " + file.getPath(), e);
         }
     }
 
     @Override
-    public List<Employee> loadEmployeesFromFile(String filename) {
-        if (!isFilenameValid(filename)) {
-            throw new IllegalArgumentException("The specified file name is invalid!");
+    public List<EmployeeRecord> loadEmployeeRecordsFromFile(String filename) {
+        List<EmployeeRecord> records = new ArrayList<>();
+        forEachEmployeeInFile(filename, employee -> records.add(EmployeeRecord.of(employee)));
+        return Collections.unmodifiableList(records);
+    }
+
+    @Override
+    public List<Employee> loadEmployeesFromFile(String filename, DuplicateIdPolicy policy) {
+        return deduplicate(filename, loadEmployeesFromFile(filename), policy);
+    }
+
+    @Override
+    public List<Employee> loadEmployeesFromFileParallel(String filename, DuplicateIdPolicy policy) {
+        return deduplicate(filename, loadEmployeesFromFileParallel(filename), policy);
+    }
+
+    @Override
+    public BatchLoadResult loadEmployeesFromFiles(Collection<String> filenames) {
+        return MultiFileLoader.load(filenames, MultiFileLoader.DEFAULT_MAX_CONCURRENCY, null, this::forEachEmployeeInFile);
+    }
+
+    @Override
+    public BatchLoadResult loadEmployeesFromFiles(Collection<String> filenames, int maxConcurrency,
+                                                  Consumer<Employee> sink) {
+        return MultiFileLoader.load(filenames, maxConcurrency, Objects.requireNonNull(sink), this::forEachEmployeeInFile);
+    }
+
+    @Override
+    public Optional<Employee> findById(String filename, int id) {
+        File file = existingFile(filename);
+        if (isBinary(file.getPath()) || compressionCodec(file) != null) {
+            // Binary rows are not addressable by offset and compressed files cannot be read from the middle
+            for (Employee employee : loadEmployeesFromFile(filename)) {
+                if (employee.getId() == id) {
+                    return Optional.of(employee);
+                }
+            }
+            return Optional.empty();
         }
 
-        filename = filename.trim();
-        if (!filename.endsWith(".txt")) {
-            filename += ".txt";
+        Path path = file.toPath().toAbsolutePath();
+        try {
+            long offset = idIndex(path, false).offsetOf(id);
+            if (offset < 0) {
+                return Optional.empty();
+            }
+            Employee employee = readRowAt(path, offset);
+            if (employee == null || employee.getId() != id) {
+                // The roster changed without changing its size or time stamp; the index cannot be trusted
+                offset = idIndex(path, true).offsetOf(id);
+                employee = offset < 0 ? null : readRowAt(path, offset);
+            }
+            return Optional.ofNullable(employee).filter(found -> found.getId() == id);
+        } catch (IOException e) {
+            throw new FileLoadException("Failed to read file: " + file.getPath(), e);
         }
+    }
 
-        List<Employee> employees = new ArrayList<>();
-        File file = new File(filename);
+    @Override
+    public RosterSnapshot openSnapshot(String filename) {
+        File file = existingFile(filename);
+        Path path = file.toPath().toAbsolutePath();
+        Path snapshotPath = path.resolveSibling(path.getFileName() + RosterSnapshot.EXTENSION);
+        try {
+            // Taken before parsing: if the file changes meanwhile, the next open rebuilds again
+            RosterSnapshot.Source source = RosterSnapshot.Source.of(path);
+            Optional<RosterSnapshot> snapshot = RosterSnapshot.open(snapshotPath);
+            if (snapshot.isPresent() && snapshot.get().isFrom(source)) {
+                return snapshot.get();
+            }
 
-        if (!file.exists()) {
-            throw new FileLoadException("File not found: " + filename);
+            List<Employee> employees = loadEmployeesFromFileParallel(filename);
+            writeAtomically(snapshotPath, false, temp -> RosterSnapshot.write(temp, employees, source));
+            return RosterSnapshot.open(snapshotPath)
+                    .orElseThrow(() -> new FileLoadException("Failed to write snapshot: " + snapshotPath));
+        } catch (IOException e) {
+            throw new FileLoadException("Failed to read snapshot: " + snapshotPath, e);
+        }
+    }
+
+    @Override
+    public Stream<Employee> streamEmployeesFromFile(String filename) {
+        if (isBinary(resolveFilename(filename))) {
+            return readBinary(existingFile(filename)).stream();
         }
 
+        EmployeeFileReader reader = openReader(filename);
+
+        Spliterator<Employee> spliterator = new Spliterators.AbstractSpliterator<>(
+                Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Employee> action) {
+                Employee employee = reader.nextOrFail();
+                if (employee == null) {
+                    reader.closeOrFail();
+                    return false;
+                }
+                action.accept(employee);
+                return true;
+            }
+        };
+
+        return StreamSupport.stream(spliterator, false)
+                .onClose(reader::closeOrFail);
+    }
+
+    @Override
+    public void forEachEmployeeInFile(String filename, Consumer<Employee> action) {
+        String resolvedFilename = resolveFilename(filename);
+        if (isBinary(resolvedFilename)) {
+            readBinary(existingFile(resolvedFilename)).forEach(action);
+            return;
+        }
+
+        try (EmployeeFileReader reader = openReader(resolvedFilename)) {
+            Employee employee;
+            while ((employee = reader.next()) != null) {
+                action.accept(employee);
+            }
+        } catch (IOException e) {
+            throw new FileLoadException("Failed to read file: " + resolvedFilename, e);
+        }
+    }
+
+    @Override
+    public Iterator<List<Employee>> loadEmployeesInBatches(String filename, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        if (isBinary(resolveFilename(filename))) {
+            return batches(readBinary(existingFile(filename)), batchSize);
+        }
+        return new EmployeeBatchIterator(openReader(filename), batchSize);
+    }
+
+    @Override
+    public EmployeeFileWatcher watchEmployeesFile(String filename) {
+        File file = existingFile(filename);
+        if (isBinary(file.getPath()) || compressionCodec(file) != null) {
+            throw new IllegalArgumentException("Only text employee files can be watched");
+        }
+        return new EmployeeFileWatcherImpl(file.toPath(), errorListener);
+    }
+
+    /**
+     * Returns the id index of a text roster: the cached one or the sidecar if
+     * it still describes the file, otherwise a rebuilt one.
+     */
+    private EmployeeIdIndex idIndex(Path path, boolean forceRebuild) throws IOException {
+        EmployeeIdIndex.Fingerprint fingerprint = EmployeeIdIndex.Fingerprint.of(path);
+        if (!forceRebuild) {
+            EmployeeIdIndex cached = idIndexes.get(path);
+            if (cached != null && cached.describes(fingerprint)) {
+                return cached;
+            }
+            EmployeeIdIndex sidecar = EmployeeIdIndex.open(EmployeeIdIndex.sidecarFor(path));
+            if (sidecar != null && sidecar.describes(fingerprint)) {
+                idIndexes.put(path, sidecar);
+                return sidecar;
+            }
+        }
+
+        EmployeeIdIndex rebuilt = EmployeeIdIndex.scan(path).build(fingerprint);
         try {
-            loadEmployeesFromFile(employees, file);
+            writeAtomically(EmployeeIdIndex.sidecarFor(path), false, rebuilt::write);
+        } catch (RuntimeException ignored) {
+            // A read-only directory only costs a rescan in the next process; the index is cached here anyway
+        }
+        idIndexes.put(path, rebuilt);
+        return rebuilt;
+    }
+
+    /**
+     * Reads the row that starts at {@code offset}, or returns {@code null} if
+     * it does not parse.
+     */
+    private Employee readRowAt(Path path, long offset) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(RECORD_READ_SIZE);
+            int lineEnd = -1;
+            while (lineEnd < 0) {
+                int start = buffer.position();
+                if (channel.read(buffer, offset + start) < 0) {
+                    lineEnd = buffer.position();
+                    break;
+                }
+                for (int i = start; i < buffer.position(); i++) {
+                    if (buffer.get(i) == '\n' || buffer.get(i) == '\r') {
+                        lineEnd = i;
+                        break;
+                    }
+                }
+                if (lineEnd < 0 && !buffer.hasRemaining()) {
+                    buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer.flip());
+                }
+            }
+
+            int start = EmployeeByteParser.trimStart(buffer, 0, lineEnd);
+            int end = EmployeeByteParser.trimEnd(buffer, start, lineEnd);
+            try {
+                return new EmployeeByteParser(namePool).parseEmployee(buffer, start, end);
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+    }
+
+    /**
+     * Writes the id index of a saved text roster. The roster is already in
+     * place, so a failure only removes the old index, which would be stale.
+     */
+    void writeIdIndex(Path roster, EmployeeIdIndex.Builder builder) {
+        Path sidecar = EmployeeIdIndex.sidecarFor(roster);
+        try {
+            EmployeeIdIndex index = builder.build(EmployeeIdIndex.Fingerprint.of(roster));
+            writeAtomically(sidecar, false, index::write);
+        } catch (IOException | RuntimeException e) {
+            deleteTempFile(sidecar);
+        }
+        idIndexes.remove(roster.toAbsolutePath());
+    }
+
+    /**
+     * Writes into a sibling temp file, forces it to disk and atomically moves it
+     * over the target, so readers see either the old or the new file, never a
+     * partial one. With {@code sync} the directory is forced as well, which
+     * makes the rename itself durable.
+     */
+    private void writeAtomically(Path target, boolean sync, FileContentWriter contentWriter) {
+        Path temp = tempFileFor(target);
+        boolean moved = false;
+
+        try {
+            contentWriter.write(temp);
+            replace(temp, target);
+            moved = true;
+
+            if (sync) {
+                syncDirectory(target.toAbsolutePath().getParent());
+            }
         } catch (IOException e) {
-            throw new FileLoadException("Failed to read file: " + filename, e);
+            throw new RuntimeException(e);
+        } finally {
+            if (!moved) {
+                deleteTempFile(temp);
+            }
         }
+    }
 
-        return employees;
+    static Path tempFileFor(Path target) {
+        return target.resolveSibling("." + target.getFileName() + "."
+                + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
     }
 
-    private void writeEmployees(FileWriter writer, List<Employee> employees) throws IOException {
-        for (Employee employee : employees) {
-            String employeeString = employee.getId() + "," +
-                    employee.getFirstName() + "," +
-                    employee.getLastName() + "," +
-                    employee.getSalary() + "\n";
-            writer.write(employeeString);
+    static void replace(Path temp, Path target) throws IOException {
+        try {
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
         }
     }
 
-    private void loadEmployeesFromFile(List<Employee> employees, File file) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
-            String line;
-            int lineNumber = 0;
+    private void syncDirectory(Path directory) throws IOException {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Some platforms (e.g. Windows) cannot open a directory as a channel
+            if (!Files.isDirectory(directory)) {
+                throw e;
+            }
+        }
+    }
 
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                line = line.trim();
+    static void deleteTempFile(Path temp) {
+        try {
+            Files.deleteIfExists(temp);
+        } catch (IOException ignored) {
+            // The write has already failed; a leftover temp file must not hide that error
+        }
+    }
 
-                if (line.isEmpty()) {
-                    continue;
+    /**
+     * Writes the text format through the codec; compression runs on a
+     * background thread while rows are being serialized.
+     */
+    private void writeCompressed(Path path, List<Employee> employees, CompressionCodec codec) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream file = new NonClosingOutputStream(Channels.newOutputStream(channel));
+            try (EmployeeTextWriter writer = new EmployeeTextWriter(Channels.newChannel(
+                    new PipelinedOutputStream(codec.compress(file), "employee-compressor")))) {
+                for (Employee employee : employees) {
+                    writer.write(employee);
                 }
+                writer.writeFooter();
+            }
+            channel.force(true);
+        }
+    }
+
+    private CompressionCodec compressionCodec(File file) {
+        try {
+            return CompressionCodecs.forFile(file.toPath());
+        } catch (IOException e) {
+            throw new FileLoadException("Failed to read file: " + file.getPath(), e);
+        }
+    }
+
+    /**
+     * Rows dropped under {@link DuplicateIdPolicy#REPORT} go to the error
+     * listener like skipped rows, numbered by their position in the roster.
+     */
+    private List<Employee> deduplicate(String filename, List<Employee> employees, DuplicateIdPolicy policy) {
+        String resolvedFilename = resolveFilename(filename);
+        try {
+            return EmployeeDeduplicator.deduplicate(employees, Objects.requireNonNull(policy),
+                    (duplicate, ordinal, kept) -> errorListener.onParseError(new ParseError(resolvedFilename,
+                            ordinal + 1, toLine(duplicate), ParseError.Reason.DUPLICATE_ID,
+                            "Duplicate employee id, first seen as " + kept.getFirstName() + " " + kept.getLastName())));
+        } catch (DuplicateEmployeeIdException e) {
+            throw new FileLoadException(e.getMessage() + " in file: " + resolvedFilename, e);
+        }
+    }
+
+    private static String toLine(Employee employee) {
+        return employee.getId() + "," + employee.getFirstName() + "," + employee.getLastName() + "," + employee.getSalary();
+    }
 
-                try {
-                    Employee employee = parseEmployee(line);
-                    employees.add(employee);
-                } catch (Exception ex) {
-                    System.err.printf("Error parsing line %d: '%s' — %s. Skipping.%n",
-                            lineNumber, line, ex.getMessage());
+    private List<Employee> readBinary(File file) {
+        try {
+            List<Employee> employees = binaryCodec.read(file.toPath());
+            metrics.recordBytesRead(file.length());
+            return employees;
+        } catch (IOException e) {
+            throw new FileLoadException("Failed to read file: " + file.getPath(), e);
+        }
+    }
+
+    private Iterator<List<Employee>> batches(List<Employee> employees, int batchSize) {
+        return new Iterator<>() {
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                return position < employees.size();
+            }
+
+            @Override
+            public List<Employee> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
                 }
+                int end = Math.min(employees.size(), position + batchSize);
+                List<Employee> batch = employees.subList(position, end);
+                position = end;
+                return batch;
             }
+        };
+    }
+
+    private EmployeeFileReader openReader(String filename) {
+        File file = existingFile(filename);
+
+        try {
+            CompressionCodec codec = compressionCodec(file);
+            InputStream in = new CountingInputStream(new FileInputStream(file), metrics);
+            if (codec == null) {
+                return new EmployeeFileReader(file.getPath(), new InputStreamReader(in, StandardCharsets.UTF_8),
+                        namePool, errorListener);
+            }
+
+            try {
+                InputStream decompressed = new PipelinedInputStream(
+                        codec.decompress(new BufferedInputStream(in, COMPRESSED_BUFFER_SIZE)), "employee-decompressor");
+                return new EmployeeFileReader(file.getPath(),
+                        new InputStreamReader(decompressed, StandardCharsets.UTF_8), namePool, errorListener);
+            } catch (IOException | RuntimeException e) {
+                in.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            throw new FileLoadException("Failed to read file: " + file.getPath(), e);
+        }
+    }
+
+    private File existingFile(String filename) {
+        String resolvedFilename = resolveFilename(filename);
+        File file = new File(resolvedFilename);
+
+        if (!file.exists()) {
+            throw new FileLoadException("File not found: " + resolvedFilename);
         }
+        return file;
     }
 
-    private boolean isFilenameValid(String filename) {
+    static String resolveFilename(String filename) {
+        if (!isFilenameValid(filename)) {
+            throw new IllegalArgumentException("The specified file name is invalid!");
+        }
+
+        filename = filename.trim();
+        if (!filename.endsWith(".txt") && !isBinary(filename) && CompressionCodecs.forFilename(filename) == null) {
+            filename += ".txt";
+        }
+        return filename;
+    }
+
+    static boolean isBinary(String filename) {
+        return filename.endsWith(BinaryEmployeeCodec.EXTENSION);
+    }
+
+    static boolean isFilenameValid(String filename) {
         return filename != null && !filename.isEmpty();
     }
 
-    private Employee parseEmployee(String line) {
-        String[] parts = line.split(",", -1);
+    /**
+     * Records the bytes read through it when closed, so that a stream that is
+     * abandoned early only counts what it consumed.
+     */
+    private static class CountingInputStream extends FilterInputStream {
+
+        private final MetricsSink metrics;
+
+        private long count;
 
-        if (parts.length != 4) {
-            throw new IllegalArgumentException("Expected 4 fields, but got " + parts.length);
+        private boolean closed;
+
+        CountingInputStream(InputStream in, MetricsSink metrics) {
+            super(in);
+            this.metrics = metrics;
         }
 
-        try {
-            int id = Integer.parseInt(parts[0].trim());
-            String firstName = parts[1].trim();
-            String lastName = parts[2].trim();
-            int salary = Integer.parseInt(parts[3].trim());
+        @Override
+        public int read() throws IOException {
+            int value = in.read();
+            if (value >= 0) {
+                count++;
+            }
+            return value;
+        }
 
-            if (firstName.isEmpty() || lastName.isEmpty()) {
-                throw new IllegalArgumentException("First name or last name is empty");
+        @Override
+        public int read(byte[] bytes, int offset, int length) throws IOException {
+            int read = in.read(bytes, offset, length);
+            if (read > 0) {
+                count += read;
             }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = in.skip(n);
+            count += skipped;
+            return skipped;
+        }
 
-            if (salary < 0) {
-                throw new IllegalArgumentException("Salary cannot be negative");
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                metrics.recordBytesRead(count);
             }
+            in.close();
+        }
+
+    }
 
-            return new Employee(id, firstName, lastName, salary);
+    /**
+     * Lets the compressor finish its stream without closing the file channel,
+     * which still has to be forced afterwards.
+     */
+    private static class NonClosingOutputStream extends FilterOutputStream {
 
-        } catch (NumberFormatException e) {
-            throw new IllegalArgumentException("Invalid number format: " + e.getMessage());
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
         }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+    }
+
+    @FunctionalInterface
+    private interface FileContentWriter {
+
+        void write(Path path) throws IOException;
+
     }
 
 }
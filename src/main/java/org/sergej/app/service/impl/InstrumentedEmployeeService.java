@@ -0,0 +1,83 @@
+package org.sergej.app.service.impl;
+
+import org.sergej.app.aggregation.EmployeeAggregator;
+import org.sergej.app.aggregation.GroupBy;
+import org.sergej.app.aggregation.HistogramSpec;
+import org.sergej.app.metrics.MetricsSink;
+import org.sergej.app.model.Employee;
+import org.sergej.app.repository.EmployeeRepository;
+import org.sergej.app.repository.IntEmployeeMap;
+import org.sergej.app.service.EmployeeService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * {@link EmployeeService} decorator that records the latency of every call in
+ * a {@link MetricsSink}, under the name {@code EmployeeService.<method>}.
+ */
+public class InstrumentedEmployeeService implements EmployeeService {
+
+    private final EmployeeService delegate;
+
+    private final MetricsSink sink;
+
+    public InstrumentedEmployeeService(EmployeeService delegate, MetricsSink sink) {
+        this.delegate = delegate;
+        this.sink = sink;
+    }
+
+    @Override
+    public Employee getEmployeeById(int id, List<Employee> employees) {
+        return timed("EmployeeService.getEmployeeById", () -> delegate.getEmployeeById(id, employees));
+    }
+
+    @Override
+    public Employee getEmployeeById(int id, EmployeeRepository repository) {
+        return timed("EmployeeService.getEmployeeById", () -> delegate.getEmployeeById(id, repository));
+    }
+
+    @Override
+    public List<Employee> getEmployeesBySalaryGreaterThan(int targetSalary, List<Employee> employees) {
+        return timed("EmployeeService.getEmployeesBySalaryGreaterThan",
+                () -> delegate.getEmployeesBySalaryGreaterThan(targetSalary, employees));
+    }
+
+    @Override
+    public List<Employee> getEmployeesBySalaryGreaterThan(int targetSalary, EmployeeRepository repository) {
+        return timed("EmployeeService.getEmployeesBySalaryGreaterThan",
+                () -> delegate.getEmployeesBySalaryGreaterThan(targetSalary, repository));
+    }
+
+    @Override
+    public List<Employee> getEmployeesByLastNamePrefix(String prefix, EmployeeRepository repository) {
+        return timed("EmployeeService.getEmployeesByLastNamePrefix",
+                () -> delegate.getEmployeesByLastNamePrefix(prefix, repository));
+    }
+
+    @Override
+    public Map<String, Employee> getEmployeeMap(List<Employee> employees) {
+        return timed("EmployeeService.getEmployeeMap", () -> delegate.getEmployeeMap(employees));
+    }
+
+    @Override
+    public IntEmployeeMap getEmployeeIdMap(List<Employee> employees) {
+        return timed("EmployeeService.getEmployeeIdMap", () -> delegate.getEmployeeIdMap(employees));
+    }
+
+    @Override
+    public EmployeeAggregator aggregate(List<Employee> employees, HistogramSpec histogram, GroupBy groupBy) {
+        return timed("EmployeeService.aggregate", () -> delegate.aggregate(employees, histogram, groupBy));
+    }
+
+    private <T> T timed(String operation, Supplier<T> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            sink.recordLatency(operation, System.nanoTime() - start);
+        }
+    }
+
+}
@@ -0,0 +1,218 @@
+package org.sergej.app.service.impl;
+
+import org.sergej.app.metrics.MetricsSink;
+import org.sergej.app.metrics.ServiceMetrics;
+import org.sergej.app.model.BatchLoadResult;
+import org.sergej.app.model.DuplicateIdPolicy;
+import org.sergej.app.model.Employee;
+import org.sergej.app.model.EmployeeRecord;
+import org.sergej.app.repository.RosterSnapshot;
+import org.sergej.app.service.EmployeeFileWatcher;
+import org.sergej.app.service.FileService;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * {@link FileService} decorator that records call latencies under
+ * {@code FileService.<method>}, plus the rows returned by every load.
+ * Streaming loads are timed from opening until the stream is closed or the
+ * batches are exhausted.
+ * <p>
+ * Skipped rows and bytes read are reported by the loader itself, so a load
+ * served from a cache counts no bytes; use {@link #create} or pass the
+ * metrics to {@link FileServiceImpl} so that they end up in the same place.
+ */
+public class InstrumentedFileService implements FileService {
+
+    private final FileService delegate;
+
+    private final MetricsSink sink;
+
+    public InstrumentedFileService(FileService delegate, MetricsSink sink) {
+        this.delegate = delegate;
+        this.sink = sink;
+    }
+
+    /**
+     * Instrumented {@link FileServiceImpl} whose skipped rows and bytes read
+     * are counted in {@code metrics}; skipped rows are not printed to
+     * {@code System.err}.
+     */
+    public static InstrumentedFileService create(ServiceMetrics metrics) {
+        return new InstrumentedFileService(new FileServiceImpl(ForkJoinPool.commonPool(), null, metrics), metrics);
+    }
+
+    @Override
+    public void saveEmployeesToFile(List<Employee> employees, String filename) {
+        saveEmployeesToFile(employees, filename, false);
+    }
+
+    @Override
+    public void saveEmployeesToFile(List<Employee> employees, String filename, boolean sync) {
+        long start = System.nanoTime();
+        try {
+            delegate.saveEmployeesToFile(employees, filename, sync);
+        } finally {
+            sink.recordLatency("FileService.saveEmployeesToFile", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public List<Employee> loadEmployeesFromFile(String filename) {
+        return load("FileService.loadEmployeesFromFile", filename,
+                () -> delegate.loadEmployeesFromFile(filename));
+    }
+
+    @Override
+    public List<Employee> loadEmployeesFromFileParallel(String filename) {
+        return load("FileService.loadEmployeesFromFileParallel", filename,
+                () -> delegate.loadEmployeesFromFileParallel(filename));
+    }
+
+    @Override
+    public List<EmployeeRecord> loadEmployeeRecordsFromFile(String filename) {
+        return load("FileService.loadEmployeeRecordsFromFile", filename,
+                () -> delegate.loadEmployeeRecordsFromFile(filename));
+    }
+
+    @Override
+    public List<Employee> loadEmployeesFromFile(String filename, DuplicateIdPolicy policy) {
+        return load("FileService.loadEmployeesFromFile", filename,
+                () -> delegate.loadEmployeesFromFile(filename, policy));
+    }
+
+    @Override
+    public List<Employee> loadEmployeesFromFileParallel(String filename, DuplicateIdPolicy policy) {
+        return load("FileService.loadEmployeesFromFileParallel", filename,
+                () -> delegate.loadEmployeesFromFileParallel(filename, policy));
+    }
+
+    @Override
+    public Optional<Employee> findById(String filename, int id) {
+        long start = System.nanoTime();
+        try {
+            return delegate.findById(filename, id);
+        } finally {
+            sink.recordLatency("FileService.findById", System.nanoTime() - start);
+        }
+    }
+
+    @Override
+    public RosterSnapshot openSnapshot(String filename) {
+        long start = System.nanoTime();
+        try {
+            return delegate.openSnapshot(filename);
+        } finally {
+            sink.recordLatency("FileService.openSnapshot", System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Each file is recorded as a {@code FileService.forEachEmployeeInFile}
+     * call, and the whole batch under {@code FileService.loadEmployeesFromFiles}.
+     */
+    @Override
+    public BatchLoadResult loadEmployeesFromFiles(Collection<String> filenames) {
+        return loadFiles(() -> MultiFileLoader.load(filenames, MultiFileLoader.DEFAULT_MAX_CONCURRENCY, null,
+                this::forEachEmployeeInFile));
+    }
+
+    @Override
+    public BatchLoadResult loadEmployeesFromFiles(Collection<String> filenames, int maxConcurrency,
+                                                  Consumer<Employee> sink) {
+        Objects.requireNonNull(sink);
+        return loadFiles(() -> MultiFileLoader.load(filenames, maxConcurrency, sink, this::forEachEmployeeInFile));
+    }
+
+    @Override
+    public Stream<Employee> streamEmployeesFromFile(String filename) {
+        long start = System.nanoTime();
+        long[] rows = new long[1];
+        return delegate.streamEmployeesFromFile(filename)
+                .peek(employee -> rows[0]++)
+                .onClose(() -> {
+                    sink.recordLatency("FileService.streamEmployeesFromFile", System.nanoTime() - start);
+                    sink.recordRowsParsed(rows[0]);
+                });
+    }
+
+    @Override
+    public void forEachEmployeeInFile(String filename, Consumer<Employee> action) {
+        long start = System.nanoTime();
+        long[] rows = new long[1];
+        try {
+            delegate.forEachEmployeeInFile(filename, employee -> {
+                rows[0]++;
+                action.accept(employee);
+            });
+        } finally {
+            sink.recordLatency("FileService.forEachEmployeeInFile", System.nanoTime() - start);
+            sink.recordRowsParsed(rows[0]);
+        }
+    }
+
+    @Override
+    public Iterator<List<Employee>> loadEmployeesInBatches(String filename, int batchSize) {
+        long start = System.nanoTime();
+        Iterator<List<Employee>> batches = delegate.loadEmployeesInBatches(filename, batchSize);
+        return new Iterator<>() {
+            private boolean finished;
+
+            @Override
+            public boolean hasNext() {
+                boolean hasNext = batches.hasNext();
+                if (!hasNext && !finished) {
+                    finished = true;
+                    sink.recordLatency("FileService.loadEmployeesInBatches", System.nanoTime() - start);
+                }
+                return hasNext;
+            }
+
+            @Override
+            public List<Employee> next() {
+                List<Employee> batch = batches.next();
+                sink.recordRowsParsed(batch.size());
+                return batch;
+            }
+        };
+    }
+
+    @Override
+    public EmployeeFileWatcher watchEmployeesFile(String filename) {
+        long start = System.nanoTime();
+        try {
+            return delegate.watchEmployeesFile(filename);
+        } finally {
+            sink.recordLatency("FileService.watchEmployeesFile", System.nanoTime() - start);
+        }
+    }
+
+    private <T> List<T> load(String operation, String filename, Supplier<List<T>> call) {
+        long start = System.nanoTime();
+        try {
+            List<T> employees = call.get();
+            sink.recordRowsParsed(employees.size());
+            return employees;
+        } finally {
+            sink.recordLatency(operation, System.nanoTime() - start);
+        }
+    }
+
+    private BatchLoadResult loadFiles(Supplier<BatchLoadResult> call) {
+        long start = System.nanoTime();
+        try {
+            return call.get();
+        } finally {
+            sink.recordLatency("FileService.loadEmployeesFromFiles", System.nanoTime() - start);
+        }
+    }
+
+}
@@ -0,0 +1,175 @@
+package org.sergej.app.service.impl;
+
+import org.sergej.app.exception.FileLoadException;
+import org.sergej.app.model.BatchLoadResult;
+import org.sergej.app.model.Employee;
+import org.sergej.app.model.FileLoadOutcome;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Loads many files concurrently, one virtual thread per file. Most of the
+ * time of a small file goes to opening and reading it, so a blocked virtual
+ * thread simply lets another one run; a semaphore caps how many files are
+ * open at once. A file that fails is recorded in its outcome and does not
+ * stop the others.
+ * <p>
+ * The sink is guarded by a {@link ReentrantLock} rather than a monitor, so a
+ * virtual thread waiting for it does not pin its carrier thread.
+ */
+final class MultiFileLoader {
+
+    static final int DEFAULT_MAX_CONCURRENCY = 64;
+
+    /**
+     * Rows a file hands to the sink per lock acquisition.
+     */
+    static final int SINK_BATCH_SIZE = 256;
+
+    private MultiFileLoader() {
+
+    }
+
+    /**
+     * @param sink   receives the rows of each file in small batches while it is
+     *               being read; it is called by one thread at a time, so it
+     *               does not have to be thread-safe, but batches of different
+     *               files interleave. {@code null} to merge the rows into the
+     *               result instead
+     * @param loader reads a single file, passing each row to the given consumer
+     */
+    static BatchLoadResult load(Collection<String> filenames, int maxConcurrency, Consumer<Employee> sink,
+                                BiConsumer<String, Consumer<Employee>> loader) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("Concurrency limit must be positive");
+        }
+
+        List<String> names = new ArrayList<>(filenames);
+        List<Future<Loaded>> futures = new ArrayList<>(names.size());
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Lock sinkLock = new ReentrantLock();
+
+        try (ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("employee-loader-", 0).factory())) {
+            for (String filename : names) {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    executor.shutdownNow();
+                    Thread.currentThread().interrupt();
+                    throw new FileLoadException("Interrupted while loading employee files", e);
+                }
+                futures.add(executor.submit(() -> {
+                    try {
+                        return loadOne(filename, sink, sinkLock, loader);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        List<FileLoadOutcome> outcomes = new ArrayList<>(futures.size());
+        List<List<Employee>> loaded = new ArrayList<>(futures.size());
+        int total = 0;
+        for (Future<Loaded> future : futures) {
+            if (future.state() == Future.State.FAILED && future.exceptionNow() instanceof Error error) {
+                throw error;
+            }
+            Loaded result = future.resultNow();
+            outcomes.add(result.outcome);
+            if (result.employees != null) {
+                loaded.add(result.employees);
+                total += result.employees.size();
+            }
+        }
+
+        List<Employee> employees = new ArrayList<>(total);
+        loaded.forEach(employees::addAll);
+        return new BatchLoadResult(employees, outcomes);
+    }
+
+    private static Loaded loadOne(String filename, Consumer<Employee> sink, Lock sinkLock,
+                                  BiConsumer<String, Consumer<Employee>> loader) {
+        long start = System.nanoTime();
+        SinkBuffer buffer = null;
+        try {
+            if (sink == null) {
+                List<Employee> employees = new ArrayList<>();
+                loader.accept(filename, employees::add);
+                return new Loaded(new FileLoadOutcome(filename, employees.size(), System.nanoTime() - start, null),
+                        employees);
+            }
+
+            buffer = new SinkBuffer(sink, sinkLock);
+            loader.accept(filename, buffer);
+            buffer.flush();
+            return new Loaded(new FileLoadOutcome(filename, buffer.delivered, System.nanoTime() - start, null), null);
+        } catch (RuntimeException e) {
+            // Rows already handed to the sink stay there; the outcome says how many
+            int delivered = buffer == null ? 0 : buffer.delivered;
+            return new Loaded(new FileLoadOutcome(filename, delivered, System.nanoTime() - start, e), null);
+        }
+    }
+
+    /**
+     * Collects the rows of one file and hands them to the shared sink every
+     * {@link #SINK_BATCH_SIZE} rows, so the lock is taken once per batch
+     * instead of once per row.
+     */
+    private static final class SinkBuffer implements Consumer<Employee> {
+
+        private final Consumer<Employee> sink;
+
+        private final Lock sinkLock;
+
+        private final List<Employee> pending = new ArrayList<>(SINK_BATCH_SIZE);
+
+        private int delivered;
+
+        SinkBuffer(Consumer<Employee> sink, Lock sinkLock) {
+            this.sink = sink;
+            this.sinkLock = sinkLock;
+        }
+
+        @Override
+        public void accept(Employee employee) {
+            pending.add(employee);
+            if (pending.size() == SINK_BATCH_SIZE) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            sinkLock.lock();
+            try {
+                for (Employee employee : pending) {
+                    sink.accept(employee);
+                    delivered++;
+                }
+            } finally {
+                sinkLock.unlock();
+            }
+            pending.clear();
+        }
+
+    }
+
+    private record Loaded(FileLoadOutcome outcome, List<Employee> employees) {
+
+    }
+
+}
@@ -0,0 +1,243 @@
+package org.sergej.app.service.impl;
+
+import org.sergej.app.model.Employee;
+import org.sergej.app.service.ParseErrorListener;
+import org.sergej.app.util.NamePool;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Loads a UTF-8 employee file by memory-mapping it in newline-aligned chunks
+ * and parsing the chunks in parallel. Results and skipped-line reports are
+ * merged in file order, with line numbers counted across the whole file.
+ */
+class ParallelEmployeeLoader {
+
+    static final int DEFAULT_CHUNK_SIZE = 16 * 1024 * 1024;
+
+    private final ForkJoinPool pool;
+
+    private final int chunkSize;
+
+    private final NamePool namePool;
+
+    private final ParseErrorListener errorListener;
+
+    ParallelEmployeeLoader(ForkJoinPool pool, int chunkSize) {
+        this(pool, chunkSize, null, ParseErrorListener.STDERR);
+    }
+
+    ParallelEmployeeLoader(ForkJoinPool pool, int chunkSize, NamePool namePool, ParseErrorListener errorListener) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive");
+        }
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+        this.namePool = namePool;
+        this.errorListener = errorListener;
+    }
+
+    List<Employee> load(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<ChunkTask> tasks = new ArrayList<>();
+            for (long[] bounds : split(channel)) {
+                tasks.add(new ChunkTask(channel, bounds[0], bounds[1], namePool));
+            }
+
+            pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+
+            int total = 0;
+            for (ChunkTask task : tasks) {
+                ChunkResult result = task.join();
+                if (result.failure != null) {
+                    throw result.failure;
+                }
+                total += result.employees.size();
+            }
+
+            List<Employee> employees = new ArrayList<>(total);
+            RosterChecksum checksum = new RosterChecksum();
+            int linesBefore = 0;
+            for (ChunkTask task : tasks) {
+                ChunkResult result = task.join();
+                int footerIndex = 0;
+                for (int i = 0; i <= result.employees.size(); i++) {
+                    while (footerIndex < result.footers.size() && result.footers.get(footerIndex).position() == i) {
+                        checksum.verify(result.footers.get(footerIndex++).line(), path.toString());
+                    }
+                    if (i < result.employees.size()) {
+                        checksum.update(result.employees.get(i));
+                    }
+                }
+                employees.addAll(result.employees);
+                for (SkippedLine skipped : result.skippedLines) {
+                    errorListener.onParseError(EmployeeParser.parseError(path.toString(),
+                            linesBefore + skipped.lineNumber(), skipped.line(), skipped.error()));
+                }
+                linesBefore += result.lineCount;
+            }
+            return employees;
+        }
+    }
+
+    /**
+     * Cuts the file into chunks of about {@code chunkSize} bytes, each ending
+     * right after a '\n' (or at the end of the file).
+     */
+    private List<long[]> split(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(8 * 1024);
+
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(size, start + chunkSize);
+            while (end < size && !endsWithLineFeed(channel, end, probe)) {
+                end = nextLineEnd(channel, end, size, probe);
+            }
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IOException("Line starting near byte " + start + " is too long to map");
+            }
+            chunks.add(new long[]{start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private boolean endsWithLineFeed(FileChannel channel, long end, ByteBuffer probe) throws IOException {
+        probe.clear().limit(1);
+        channel.read(probe, end - 1);
+        return probe.get(0) == '\n';
+    }
+
+    private long nextLineEnd(FileChannel channel, long from, long size, ByteBuffer probe) throws IOException {
+        long position = from;
+        while (position < size) {
+            probe.clear();
+            int read = channel.read(probe, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (probe.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private record SkippedLine(int lineNumber, String line, Exception error) {
+
+    }
+
+    /**
+     * Footer line found after {@code position} employees of the chunk.
+     */
+    private record Footer(int position, String line) {
+
+    }
+
+    private static class ChunkResult {
+
+        private final List<Employee> employees = new ArrayList<>();
+
+        private final List<SkippedLine> skippedLines = new ArrayList<>();
+
+        private final List<Footer> footers = new ArrayList<>();
+
+        private int lineCount;
+
+        private IOException failure;
+
+    }
+
+    private static class ChunkTask extends RecursiveTask<ChunkResult> {
+
+        private final FileChannel channel;
+
+        private final long start;
+
+        private final long end;
+
+        private final NamePool namePool;
+
+        ChunkTask(FileChannel channel, long start, long end, NamePool namePool) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+            this.namePool = namePool;
+        }
+
+        @Override
+        protected ChunkResult compute() {
+            ChunkResult result = new ChunkResult();
+            MappedByteBuffer buffer;
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            } catch (IOException e) {
+                result.failure = e;
+                return result;
+            }
+
+            EmployeeByteParser parser = new EmployeeByteParser(namePool);
+            int limit = buffer.limit();
+            int lineStart = 0;
+
+            while (lineStart < limit) {
+                int lineEnd = lineStart;
+                while (lineEnd < limit && buffer.get(lineEnd) != '\n' && buffer.get(lineEnd) != '\r') {
+                    lineEnd++;
+                }
+
+                int next = lineEnd + 1;
+                if (lineEnd < limit && buffer.get(lineEnd) == '\r' && next < limit && buffer.get(next) == '\n') {
+                    next++;
+                }
+
+                result.lineCount++;
+                parseLine(parser, buffer, lineStart, lineEnd, result);
+                lineStart = next;
+            }
+            return result;
+        }
+
+        private void parseLine(EmployeeByteParser parser, ByteBuffer buffer, int lineStart, int lineEnd,
+                               ChunkResult result) {
+            int start = EmployeeByteParser.trimStart(buffer, lineStart, lineEnd);
+            int end = EmployeeByteParser.trimEnd(buffer, start, lineEnd);
+
+            if (start == end) {
+                return;
+            }
+
+            if (buffer.get(start) == '#') {
+                String line = parser.decode(buffer, start, end);
+                if (RosterChecksum.isFooter(line)) {
+                    result.footers.add(new Footer(result.employees.size(), line));
+                    return;
+                }
+            }
+
+            try {
+                result.employees.add(parser.parseEmployee(buffer, start, end));
+            } catch (Exception ex) {
+                result.skippedLines.add(new SkippedLine(result.lineCount,
+                        parser.decode(buffer, start, end), ex));
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,93 @@
+package org.sergej.app.service.impl;
+
+import org.sergej.app.exception.FileLoadException;
+import org.sergej.app.model.Employee;
+
+/**
+ * Order-sensitive checksum over the parsed employee records of a text roster.
+ * It is computed from field values rather than raw bytes, so the writer and
+ * both loaders can maintain it without re-encoding lines.
+ * <p>
+ * The writer ends the file with a footer line
+ * {@code #employees=<count>;checksum=<hex>} that covers every record before it.
+ * Files without a footer (hand-written or produced by older versions) load as before.
+ */
+class RosterChecksum {
+
+    static final String FOOTER_PREFIX = "#employees=";
+
+    private static final String CHECKSUM_SEPARATOR = ";checksum=";
+
+    private long count;
+
+    private long value;
+
+    void update(Employee employee) {
+        long hash = employee.getId();
+        hash = hash * 31 + employee.getSalary();
+        hash = hash * 31 + nameHash(employee.getFirstName());
+        hash = hash * 31 + nameHash(employee.getLastName());
+
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+
+        value = (value ^ hash) * 0x9E3779B97F4A7C15L + 1;
+        count++;
+    }
+
+    /**
+     * Names are hashed the way the loader will see them: trimmed, with
+     * {@code null} written out as "null".
+     */
+    private static int nameHash(String name) {
+        return String.valueOf(name).trim().hashCode();
+    }
+
+    /**
+     * Independent checksum with the same records seen so far.
+     */
+    RosterChecksum copy() {
+        RosterChecksum copy = new RosterChecksum();
+        copy.count = count;
+        copy.value = value;
+        return copy;
+    }
+
+    long getCount() {
+        return count;
+    }
+
+    String footer() {
+        return FOOTER_PREFIX + count + CHECKSUM_SEPARATOR + Long.toHexString(value);
+    }
+
+    static boolean isFooter(String line) {
+        return line.startsWith(FOOTER_PREFIX);
+    }
+
+    /**
+     * Checks the records seen so far against a footer line.
+     */
+    void verify(String footer, String filename) {
+        int separator = footer.indexOf(CHECKSUM_SEPARATOR);
+        long expectedCount;
+        long expectedValue;
+        try {
+            expectedCount = Long.parseLong(footer.substring(FOOTER_PREFIX.length(), separator));
+            expectedValue = Long.parseUnsignedLong(
+                    footer.substring(separator + CHECKSUM_SEPARATOR.length()), 16);
+        } catch (RuntimeException e) {
+            throw new FileLoadException("Malformed footer in " + filename + ": '" + footer + "'");
+        }
+
+        if (expectedCount != count) {
+            throw new FileLoadException("File " + filename + " is truncated or corrupted: expected "
+                    + expectedCount + " employees, but read " + count);
+        }
+        if (expectedValue != value) {
+            throw new FileLoadException("File " + filename + " is corrupted: checksum mismatch");
+        }
+    }
+
+}
@@ -0,0 +1,131 @@
+package org.sergej.app.util;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing hash table from int keys to non-negative int values.
+ * Keys and values are kept in two parallel primitive arrays, so neither
+ * lookups nor inserts box anything.
+ */
+public class IntIntHashTable {
+
+    public static final int NO_VALUE = -1;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private int[] keys;
+
+    private int[] values;
+
+    private int mask;
+
+    private int size;
+
+    public IntIntHashTable(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative");
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    public int get(int key) {
+        int slot = slot(key);
+        while (values[slot] != NO_VALUE) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NO_VALUE;
+    }
+
+    public boolean containsKey(int key) {
+        return get(key) != NO_VALUE;
+    }
+
+    /**
+     * Stores the value and returns the previous one, or {@link #NO_VALUE}.
+     */
+    public int put(int key, int value) {
+        return insert(key, value, true);
+    }
+
+    /**
+     * Stores the value only if the key is absent and returns the value already
+     * present, or {@link #NO_VALUE} if the new one was stored.
+     */
+    public int putIfAbsent(int key, int value) {
+        return insert(key, value, false);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int insert(int key, int value, boolean overwrite) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value cannot be negative");
+        }
+
+        int slot = slot(key);
+        while (values[slot] != NO_VALUE) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                if (overwrite) {
+                    values[slot] = value;
+                }
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > keys.length >>> 1) {
+            resize();
+        }
+        return NO_VALUE;
+    }
+
+    private void resize() {
+        if (keys.length == MAX_CAPACITY) {
+            throw new IllegalStateException("Hash table is full");
+        }
+
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(oldKeys.length << 1);
+
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldValues[i] != NO_VALUE) {
+                int slot = slot(oldKeys[i]);
+                while (values[slot] != NO_VALUE) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, NO_VALUE);
+        mask = capacity - 1;
+    }
+
+    private int slot(int key) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long required = Math.max(4L, (long) expectedSize * 2);
+        if (required >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Integer.highestOneBit((int) required - 1) << 1;
+    }
+
+}
@@ -0,0 +1,106 @@
+package org.sergej.app.util;
+
+/**
+ * Bounded pool that hands out one shared {@link String} instance per distinct
+ * name, so a roster where a few thousand names cover millions of rows keeps
+ * only those few thousand strings.
+ * <p>
+ * The pool is a fixed-size, two-way set-associative cache: a name is looked
+ * up in two neighbouring slots and, on a miss, replaces one of them. Memory
+ * stays bounded however many distinct names pass through; rare names may be
+ * evicted and stored again as separate copies, which is harmless.
+ * Slots are read and written without locks: strings are immutable, so a
+ * racing thread sees either a complete string or a miss.
+ */
+public class NamePool {
+
+    public static final int DEFAULT_CAPACITY = 16 * 1024;
+
+    private final String[] slots;
+
+    private final int mask;
+
+    public NamePool() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public NamePool(int capacity) {
+        if (capacity < 2 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 2 and 2^30");
+        }
+        int size = Integer.highestOneBit(capacity * 2 - 1);
+        this.slots = new String[size];
+        this.mask = size - 1;
+    }
+
+    public String intern(String name) {
+        if (name == null) {
+            return null;
+        }
+        int slot = slot(name.hashCode());
+        String candidate = slots[slot];
+        if (name.equals(candidate)) {
+            return candidate;
+        }
+        candidate = slots[slot ^ 1];
+        if (name.equals(candidate)) {
+            return candidate;
+        }
+        store(slot, name);
+        return name;
+    }
+
+    /**
+     * Returns the pooled string equal to {@code chars[start, end)}. A hit
+     * allocates nothing; a new string is created only on a miss.
+     */
+    public String intern(char[] chars, int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + chars[i];
+        }
+
+        int slot = slot(hash);
+        String candidate = slots[slot];
+        if (matches(candidate, chars, start, end)) {
+            return candidate;
+        }
+        candidate = slots[slot ^ 1];
+        if (matches(candidate, chars, start, end)) {
+            return candidate;
+        }
+
+        String name = new String(chars, start, end - start);
+        store(slot, name);
+        return name;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    private int slot(int hash) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    private void store(int slot, String name) {
+        if (slots[slot] == null || slots[slot ^ 1] != null) {
+            slots[slot] = name;
+        } else {
+            slots[slot ^ 1] = name;
+        }
+    }
+
+    private static boolean matches(String candidate, char[] chars, int start, int end) {
+        if (candidate == null || candidate.length() != end - start) {
+            return false;
+        }
+        for (int i = start; i < end; i++) {
+            if (candidate.charAt(i - start) != chars[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,147 @@
+package org.sergej.app.util;
+
+import java.nio.IntBuffer;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Builds match bitmaps over an int salary column: bit {@code i} of the result
+ * is set when {@code salaries[i] > threshold}. Each 64-row word is computed
+ * with a branch-free compare over an {@code int[]}, so the loop has no
+ * data-dependent jumps and HotSpot can unroll it. Columns in direct buffers
+ * are bulk-copied into a small scratch array block by block rather than read
+ * one element at a time. Large columns are split across a
+ * {@link ForkJoinPool} by word ranges, which never share a word.
+ */
+public final class SalaryBitmap {
+
+    /**
+     * Column length from which the pool overloads split the work, as used by
+     * {@link org.sergej.app.repository.EmployeeTable}.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 128 * 1024;
+
+    /**
+     * Words per bulk copy from a direct buffer: 4096 rows, a 16 KB scratch array.
+     */
+    private static final int BLOCK_WORDS = 64;
+
+    private SalaryBitmap() {
+
+    }
+
+    public static long[] greaterThan(int[] salaries, int threshold) {
+        return greaterThan(IntBuffer.wrap(salaries), threshold);
+    }
+
+    public static long[] greaterThan(int[] salaries, int threshold, ForkJoinPool pool, int parallelThreshold) {
+        return greaterThan(IntBuffer.wrap(salaries), threshold, pool, parallelThreshold);
+    }
+
+    /**
+     * Bitmap over {@code salaries[0, limit)}; the buffer position is ignored.
+     */
+    public static long[] greaterThan(IntBuffer salaries, int threshold) {
+        long[] bitmap = new long[wordCount(salaries.limit())];
+        fill(salaries, threshold, bitmap, 0, bitmap.length);
+        return bitmap;
+    }
+
+    /**
+     * Same as {@link #greaterThan(IntBuffer, int)}, split across {@code pool}
+     * once the column has at least {@code parallelThreshold} rows. The buffer
+     * is only read with absolute gets, so the tasks can share it.
+     */
+    public static long[] greaterThan(IntBuffer salaries, int threshold, ForkJoinPool pool, int parallelThreshold) {
+        if (salaries.limit() < parallelThreshold) {
+            return greaterThan(salaries, threshold);
+        }
+
+        long[] bitmap = new long[wordCount(salaries.limit())];
+        int wordsPerTask = Math.max(BLOCK_WORDS, wordCount(parallelThreshold));
+        pool.invoke(new FillTask(salaries, threshold, bitmap, 0, bitmap.length, wordsPerTask));
+        return bitmap;
+    }
+
+    public static int cardinality(long[] bitmap) {
+        int count = 0;
+        for (long word : bitmap) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    static int wordCount(int length) {
+        return (length + 63) >>> 6;
+    }
+
+    private static void fill(IntBuffer salaries, int threshold, long[] bitmap, int fromWord, int toWord) {
+        int length = salaries.limit();
+        if (salaries.hasArray()) {
+            fill(salaries.array(), salaries.arrayOffset(), length, threshold, bitmap, fromWord, toWord);
+            return;
+        }
+
+        int[] block = new int[Math.min(BLOCK_WORDS, toWord - fromWord) << 6];
+        for (int word = fromWord; word < toWord; word += BLOCK_WORDS) {
+            int base = word << 6;
+            int end = Math.min(length, base + block.length);
+            salaries.get(base, block, 0, end - base);
+            fill(block, -base, end, threshold, bitmap, word, Math.min(toWord, word + BLOCK_WORDS));
+        }
+    }
+
+    /**
+     * Row {@code i} of the column is {@code values[offset + i]}, for rows below {@code length}.
+     */
+    private static void fill(int[] values, int offset, int length, int threshold, long[] bitmap,
+                             int fromWord, int toWord) {
+        for (int word = fromWord; word < toWord; word++) {
+            int base = word << 6;
+            int end = Math.min(base + 64, length);
+            long bits = 0;
+            for (int i = base; i < end; i++) {
+                // The sign bit of (threshold - salary) computed in long is 1 exactly when salary > threshold
+                bits |= (((long) threshold - values[offset + i]) >>> 63) << (i - base);
+            }
+            bitmap[word] = bits;
+        }
+    }
+
+    private static class FillTask extends RecursiveAction {
+
+        private final IntBuffer salaries;
+
+        private final int threshold;
+
+        private final long[] bitmap;
+
+        private final int fromWord;
+
+        private final int toWord;
+
+        private final int wordsPerTask;
+
+        FillTask(IntBuffer salaries, int threshold, long[] bitmap, int fromWord, int toWord, int wordsPerTask) {
+            this.salaries = salaries;
+            this.threshold = threshold;
+            this.bitmap = bitmap;
+            this.fromWord = fromWord;
+            this.toWord = toWord;
+            this.wordsPerTask = wordsPerTask;
+        }
+
+        @Override
+        protected void compute() {
+            if (toWord - fromWord <= wordsPerTask) {
+                fill(salaries, threshold, bitmap, fromWord, toWord);
+                return;
+            }
+            int middle = (fromWord + toWord) >>> 1;
+            invokeAll(new FillTask(salaries, threshold, bitmap, fromWord, middle, wordsPerTask),
+                    new FillTask(salaries, threshold, bitmap, middle, toWord, wordsPerTask));
+        }
+
+    }
+
+}
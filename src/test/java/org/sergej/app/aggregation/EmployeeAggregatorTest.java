@@ -0,0 +1,190 @@
+package org.sergej.app.aggregation;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.sergej.app.model.Employee;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeAggregatorTest {
+
+    @Test
+    @DisplayName("aggregate: считает количество, сумму, минимум, максимум и среднее")
+    void accept_Employees_ComputesBasicStatistics() {
+        EmployeeAggregator aggregator = new EmployeeAggregator(null, null);
+        List.of(new Employee(1, "Иван", "Иванов", 1000),
+                new Employee(2, "Пётр", "Петров", 3000),
+                new Employee(3, "Анна", "Иванова", 2000)).forEach(aggregator);
+
+        SalaryStatistics total = aggregator.getTotal();
+        assertEquals(3, total.getCount());
+        assertEquals(6000, total.getSum());
+        assertEquals(1000, total.getMin());
+        assertEquals(3000, total.getMax());
+        assertEquals(2000.0, total.getMean());
+        assertTrue(aggregator.getGroups().isEmpty());
+    }
+
+    @Test
+    @DisplayName("aggregate: пустой набор даёт нулевую статистику")
+    void getTotal_NoEmployees_ReturnsZeros() {
+        SalaryStatistics total = new EmployeeAggregator(null, null).getTotal();
+
+        assertEquals(0, total.getCount());
+        assertEquals(0, total.getMin());
+        assertEquals(0, total.getMax());
+        assertEquals(0.0, total.getMean());
+        assertEquals(0, total.getPercentile(50));
+    }
+
+    @Test
+    @DisplayName("aggregate: группирует по фамилии")
+    void accept_GroupByLastName_ComputesPerGroup() {
+        EmployeeAggregator aggregator = new EmployeeAggregator(null, GroupBy.LAST_NAME);
+        List.of(new Employee(1, "Иван", "Иванов", 1000),
+                new Employee(2, "Пётр", "Иванов", 3000),
+                new Employee(3, "Анна", "Петрова", 2000)).forEach(aggregator);
+
+        assertEquals(2, aggregator.getGroups().size());
+        assertEquals(2, aggregator.getGroups().get("Иванов").getCount());
+        assertEquals(2000.0, aggregator.getGroups().get("Иванов").getMean());
+        assertEquals(2000, aggregator.getGroups().get("Петрова").getMax());
+        assertEquals(3, aggregator.getTotal().getCount());
+    }
+
+    @Test
+    @DisplayName("histogram: раскладывает зарплаты по корзинам с выходами за границы")
+    void accept_WithHistogram_CountsBuckets() {
+        SalaryStatistics statistics = new SalaryStatistics(new HistogramSpec(0, 100, 3));
+        for (int salary : new int[]{-5, 0, 99, 100, 250, 299, 300, Integer.MAX_VALUE}) {
+            statistics.accept(salary);
+        }
+
+        assertArrayEquals(new long[]{2, 1, 2}, statistics.getHistogram());
+        assertEquals(1, statistics.getHistogramUnderflow());
+        assertEquals(2, statistics.getHistogramOverflow());
+    }
+
+    @Test
+    @DisplayName("percentile: приближение не хуже 2% от точного значения")
+    void getPercentile_RandomSalaries_WithinRelativeError() {
+        SplittableRandom random = new SplittableRandom(42);
+        int[] salaries = new int[100_000];
+        SalaryStatistics statistics = new SalaryStatistics();
+        for (int i = 0; i < salaries.length; i++) {
+            salaries[i] = random.nextInt(0, 1_000_000);
+            statistics.accept(salaries[i]);
+        }
+        Arrays.sort(salaries);
+
+        for (double percentile : new double[]{1, 25, 50, 90, 99, 100}) {
+            int exact = salaries[(int) Math.ceil(percentile / 100 * salaries.length) - 1];
+            int approximate = statistics.getPercentile(percentile);
+            assertEquals(exact, approximate, exact * 0.02);
+        }
+        assertEquals(salaries[salaries.length - 1], statistics.getPercentile(100));
+    }
+
+    @Test
+    @DisplayName("percentile: малые значения считаются точно")
+    void getPercentile_SmallValues_Exact() {
+        SalaryStatistics statistics = new SalaryStatistics();
+        for (int salary = 1; salary <= 100; salary++) {
+            statistics.accept(salary);
+        }
+
+        assertEquals(50, statistics.getPercentile(50));
+        assertEquals(90, statistics.getPercentile(90));
+        assertThrows(IllegalArgumentException.class, () -> statistics.getPercentile(0));
+    }
+
+    @Test
+    @DisplayName("percentile: малая группа без массива корзин даёт те же значения корзин")
+    void getPercentile_SmallGroup_MatchesBucketMidpoints() {
+        SplittableRandom random = new SplittableRandom(11);
+        int[] salaries = new int[200];
+        SalaryStatistics statistics = new SalaryStatistics();
+        for (int i = 0; i < salaries.length; i++) {
+            salaries[i] = random.nextInt(0, 1_000_000);
+            statistics.accept(salaries[i]);
+        }
+        Arrays.sort(salaries);
+
+        for (double percentile : new double[]{1, 25, 50, 90, 99}) {
+            int exact = salaries[(int) Math.ceil(percentile / 100 * salaries.length) - 1];
+            int expected = Math.max(salaries[0], Math.min(salaries[salaries.length - 1],
+                    SalaryStatistics.bucketMidpoint(SalaryStatistics.bucketIndex(exact))));
+            assertEquals(expected, statistics.getPercentile(percentile));
+        }
+    }
+
+    @Test
+    @DisplayName("merge: слияние малых групп в большую совпадает с одним проходом")
+    void merge_SmallChunks_MatchesSinglePass() {
+        SplittableRandom random = new SplittableRandom(3);
+        SalaryStatistics single = new SalaryStatistics();
+        SalaryStatistics merged = new SalaryStatistics();
+        for (int chunk = 0; chunk < 10; chunk++) {
+            SalaryStatistics part = new SalaryStatistics();
+            for (int i = 0; i < 100; i++) {
+                int salary = random.nextInt(-1_000, 1_000_000);
+                single.accept(salary);
+                part.accept(salary);
+            }
+            merged.merge(part);
+        }
+
+        assertStatisticsEqual(single, merged);
+        assertEquals(single.getPercentile(1), merged.getPercentile(1));
+        assertEquals(single.getPercentile(90), merged.getPercentile(90));
+    }
+
+    @Test
+    @DisplayName("merge: объединение частей совпадает с одним проходом")
+    void merge_Chunks_MatchesSinglePass() {
+        SplittableRandom random = new SplittableRandom(7);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            employees.add(new Employee(i, "Имя" + random.nextInt(10), "Фамилия" + random.nextInt(20),
+                    random.nextInt(0, 500_000)));
+        }
+        HistogramSpec spec = new HistogramSpec(0, 50_000, 10);
+
+        EmployeeAggregator single = new EmployeeAggregator(spec, GroupBy.FIRST_NAME);
+        employees.forEach(single);
+
+        EmployeeAggregator merged = employees.parallelStream()
+                .collect(EmployeeAggregator.collector(spec, GroupBy.FIRST_NAME));
+
+        assertStatisticsEqual(single.getTotal(), merged.getTotal());
+        assertEquals(single.getGroups().keySet(), merged.getGroups().keySet());
+        for (String key : single.getGroups().keySet()) {
+            assertStatisticsEqual(single.getGroups().get(key), merged.getGroups().get(key));
+        }
+    }
+
+    @Test
+    @DisplayName("merge: разные гистограммы объединять нельзя")
+    void merge_DifferentHistograms_ThrowsException() {
+        SalaryStatistics first = new SalaryStatistics(new HistogramSpec(0, 10, 5));
+        SalaryStatistics second = new SalaryStatistics(new HistogramSpec(0, 20, 5));
+
+        assertThrows(IllegalArgumentException.class, () -> first.merge(second));
+    }
+
+    private static void assertStatisticsEqual(SalaryStatistics expected, SalaryStatistics actual) {
+        assertEquals(expected.getCount(), actual.getCount());
+        assertEquals(expected.getSum(), actual.getSum());
+        assertEquals(expected.getMin(), actual.getMin());
+        assertEquals(expected.getMax(), actual.getMax());
+        assertEquals(expected.getPercentile(50), actual.getPercentile(50));
+        assertEquals(expected.getPercentile(99), actual.getPercentile(99));
+        assertArrayEquals(expected.getHistogram(), actual.getHistogram());
+    }
+
+}
@@ -0,0 +1,68 @@
+package org.sergej.app.metrics;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.sergej.app.model.ParseError;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    @DisplayName("percentile: приближение не хуже 4% от точного значения")
+    void getPercentile_RandomLatencies_WithinRelativeError() {
+        SplittableRandom random = new SplittableRandom(42);
+        long[] values = new long[50_000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong(1, 10_000_000_000L);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        for (double percentile : new double[]{1, 50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            assertEquals(exact, histogram.getPercentile(percentile), exact * 0.04);
+        }
+        assertEquals(values.length, histogram.getCount());
+        assertEquals(values[values.length - 1], histogram.getMax());
+        assertEquals(values[values.length - 1], histogram.getPercentile(100));
+    }
+
+    @Test
+    @DisplayName("record: экстремальные значения не выходят за границы корзин")
+    void record_ExtremeValues_DoesNotFail() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(0);
+        histogram.record(63);
+        histogram.record(Long.MAX_VALUE);
+
+        assertEquals(4, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(25));
+        assertEquals(63, histogram.getPercentile(75));
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(50));
+    }
+
+    @Test
+    @DisplayName("ParseErrorCollector: хранит только последние ошибки и считает отброшенные")
+    void parseErrorCollector_KeepsMostRecentErrors() {
+        ParseErrorCollector collector = new ParseErrorCollector(3);
+        for (int line = 1; line <= 5; line++) {
+            collector.onParseError(new ParseError("file.txt", line, "bad", ParseError.Reason.OTHER, "error"));
+        }
+
+        assertEquals(5, collector.getTotalCount());
+        assertEquals(2, collector.getDroppedCount());
+        assertEquals(3, collector.getErrors().getFirst().lineNumber());
+        assertEquals(5, collector.getErrors().getLast().lineNumber());
+    }
+
+}
@@ -0,0 +1,40 @@
+package org.sergej.app.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeRecordTest {
+
+    @Test
+    @DisplayName("of и toEmployee: преобразования не теряют полей и не разделяют состояние")
+    void of_ToEmployee_RoundTrip() {
+        Employee employee = new Employee(7, "Иван", "Петров", 50000);
+        EmployeeRecord record = EmployeeRecord.of(employee);
+
+        employee.setSalary(1);
+        Employee copy = record.toEmployee();
+
+        assertEquals(new EmployeeRecord(7, "Иван", "Петров", 50000), record);
+        assertEquals(record, EmployeeRecord.of(copy));
+        assertNotSame(copy, record.toEmployee());
+    }
+
+    @Test
+    @DisplayName("builder и withSalary: создают новые записи")
+    void builder_WithSalary_CreatesNewRecords() {
+        EmployeeRecord record = EmployeeRecord.builder()
+                .id(1)
+                .firstName("Анна")
+                .lastName("Иванова")
+                .salary(100)
+                .build();
+
+        EmployeeRecord raised = record.withSalary(200);
+
+        assertEquals(100, record.salary());
+        assertEquals(new EmployeeRecord(1, "Анна", "Иванова", 200), raised);
+    }
+
+}
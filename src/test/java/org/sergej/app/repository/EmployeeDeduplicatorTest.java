@@ -0,0 +1,85 @@
+package org.sergej.app.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.sergej.app.exception.DuplicateEmployeeIdException;
+import org.sergej.app.model.DuplicateIdPolicy;
+import org.sergej.app.model.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeDeduplicatorTest {
+
+    private final List<Employee> employees = List.of(
+            new Employee(1, "Иван", "Петров", 100),
+            new Employee(5, "Василий", "Сергеевич", 200),
+            new Employee(2, "Анна", "Иванова", 300),
+            new Employee(5, "Сергей", "Николаевич", 400),
+            new Employee(1, "Пётр", "Иванов", 500));
+
+    @Test
+    @DisplayName("deduplicate: без дубликатов возвращает исходный список")
+    void deduplicate_UniqueIds_ReturnsSameList() {
+        List<Employee> unique = employees.subList(0, 3);
+
+        assertSame(unique, EmployeeDeduplicator.deduplicate(unique, DuplicateIdPolicy.REJECT, null));
+    }
+
+    @Test
+    @DisplayName("deduplicate: KEEP_FIRST оставляет первую строку с каждым id")
+    void deduplicate_KeepFirst_KeepsFirstRows() {
+        List<Employee> result = EmployeeDeduplicator.deduplicate(employees, DuplicateIdPolicy.KEEP_FIRST, null);
+
+        assertEquals(List.of(employees.get(0), employees.get(1), employees.get(2)), result);
+    }
+
+    @Test
+    @DisplayName("deduplicate: KEEP_LAST оставляет последнюю строку на месте первой")
+    void deduplicate_KeepLast_ReplacesInPlace() {
+        List<Employee> result = EmployeeDeduplicator.deduplicate(employees, DuplicateIdPolicy.KEEP_LAST, null);
+
+        assertEquals(List.of(employees.get(4), employees.get(3), employees.get(2)), result);
+    }
+
+    @Test
+    @DisplayName("deduplicate: REJECT бросает исключение с id дубликата")
+    void deduplicate_Reject_ThrowsDuplicateEmployeeIdException() {
+        DuplicateEmployeeIdException e = assertThrows(DuplicateEmployeeIdException.class,
+                () -> EmployeeDeduplicator.deduplicate(employees, DuplicateIdPolicy.REJECT, null));
+
+        assertEquals(5, e.getId());
+    }
+
+    @Test
+    @DisplayName("deduplicate: REPORT сообщает о каждой отброшенной строке")
+    void deduplicate_Report_NotifiesListener() {
+        List<String> reported = new ArrayList<>();
+
+        List<Employee> result = EmployeeDeduplicator.deduplicate(employees, DuplicateIdPolicy.REPORT,
+                (duplicate, ordinal, kept) -> reported.add(ordinal + ":" + kept.getFirstName()));
+
+        assertEquals(3, result.size());
+        assertEquals(List.of("3:Василий", "4:Иван"), reported);
+    }
+
+    @Test
+    @DisplayName("deduplicate: разреженные id обрабатываются через хеш-таблицу")
+    void deduplicate_SparseIds_KeepsFirstRows() {
+        List<Employee> sparse = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            int id = (i % 5_000) * 1_000_003;
+            sparse.add(new Employee(id, "Имя", "Фамилия", i));
+        }
+
+        List<Employee> result = EmployeeDeduplicator.deduplicate(sparse, DuplicateIdPolicy.KEEP_FIRST, null);
+
+        assertEquals(5_000, result.size());
+        for (int i = 0; i < result.size(); i++) {
+            assertEquals(i, result.get(i).getSalary());
+        }
+    }
+
+}
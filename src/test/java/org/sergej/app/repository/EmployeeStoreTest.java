@@ -0,0 +1,137 @@
+package org.sergej.app.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.sergej.app.model.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeStoreTest {
+
+    @Test
+    @DisplayName("add/updateSalary/remove: базовые операции")
+    void basicOperations() {
+        EmployeeStore store = new EmployeeStore();
+
+        assertTrue(store.add(new Employee(1, "Иван", "Иванов", 100)));
+        assertFalse(store.add(new Employee(1, "Пётр", "Петров", 200)));
+        assertTrue(store.updateSalary(1, 150));
+        assertFalse(store.updateSalary(2, 150));
+
+        Employee employee = store.findById(1).orElseThrow();
+        assertEquals("Иван", employee.getFirstName());
+        assertEquals(150, employee.getSalary());
+
+        assertTrue(store.remove(1));
+        assertFalse(store.remove(1));
+        assertEquals(Optional.empty(), store.findById(1));
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    @DisplayName("findById: изменение возвращённой копии не затрагивает хранилище")
+    void findById_ReturnsCopy() {
+        EmployeeStore store = new EmployeeStore();
+        Employee original = new Employee(1, "Иван", "Иванов", 100);
+        store.add(original);
+
+        original.setSalary(999);
+        store.findById(1).orElseThrow().setSalary(500);
+
+        assertEquals(100, store.findById(1).orElseThrow().getSalary());
+    }
+
+    @Test
+    @DisplayName("snapshot: после множества вставок и удалений содержит живые записи по возрастанию id")
+    void snapshot_AfterChurn_ContainsLiveEmployeesSortedById() {
+        EmployeeStore store = new EmployeeStore();
+        for (int id = 0; id < 20_000; id++) {
+            store.add(new Employee(id, "Имя", "Фамилия", id));
+        }
+        for (int id = 0; id < 20_000; id += 2) {
+            store.remove(id);
+        }
+        for (int id = 0; id < 20_000; id += 4) {
+            store.add(new Employee(id, "Новое", "Имя", -id));
+        }
+
+        List<Employee> snapshot = store.snapshot();
+        assertEquals(15_000, snapshot.size());
+        assertEquals(15_000, store.size());
+        for (int i = 1; i < snapshot.size(); i++) {
+            assertTrue(snapshot.get(i - 1).getId() < snapshot.get(i).getId());
+        }
+        assertEquals(-4, store.findById(4).orElseThrow().getSalary());
+        assertFalse(store.containsId(2));
+        assertEquals(15_000, store.toRepository().size());
+    }
+
+    @Test
+    @DisplayName("store: читатели не видят частично обновлённых записей при параллельной записи")
+    void concurrentWritersAndReaders_NeverSeeTornEmployees() throws Exception {
+        EmployeeStore store = new EmployeeStore();
+        int writers = 4;
+        int idsPerWriter = 5_000;
+        AtomicBoolean running = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 2);
+        try {
+            List<Future<?>> readers = new ArrayList<>();
+            for (int r = 0; r < 2; r++) {
+                readers.add(executor.submit(() -> {
+                    while (running.get()) {
+                        for (int id = 0; id < writers * idsPerWriter; id += 97) {
+                            store.findById(id).ifPresent(EmployeeStoreTest::assertConsistent);
+                        }
+                    }
+                }));
+            }
+
+            List<Future<?>> writerTasks = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                int base = w * idsPerWriter;
+                writerTasks.add(executor.submit(() -> {
+                    for (int id = base; id < base + idsPerWriter; id++) {
+                        store.add(new Employee(id, "F" + id, "L" + id, id * 2));
+                        store.updateSalary(id, id * 3);
+                        if (id % 3 == 0) {
+                            store.remove(id);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> task : writerTasks) {
+                task.get(30, TimeUnit.SECONDS);
+            }
+            running.set(false);
+            for (Future<?> reader : readers) {
+                reader.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int total = writers * idsPerWriter;
+        assertEquals(total - (total + 2) / 3, store.size());
+        for (Employee employee : store.snapshot()) {
+            assertConsistent(employee);
+            assertEquals(employee.getId() * 3, employee.getSalary());
+        }
+    }
+
+    private static void assertConsistent(Employee employee) {
+        int id = employee.getId();
+        assertEquals("F" + id, employee.getFirstName());
+        assertEquals("L" + id, employee.getLastName());
+        assertTrue(employee.getSalary() == id * 2 || employee.getSalary() == id * 3);
+    }
+
+}
@@ -0,0 +1,119 @@
+package org.sergej.app.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.sergej.app.exception.EmployeeNotFoundException;
+import org.sergej.app.model.Employee;
+import org.sergej.app.service.EmployeeService;
+import org.sergej.app.service.impl.EmployeeServiceImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeTableTest {
+
+    private List<Employee> employees;
+
+    private EmployeeTable table;
+
+    @BeforeEach
+    void setUp() {
+        employees = List.of(
+                new Employee(1, "Иван", "Петров", 50000),
+                new Employee(2, "Иван", "Иванов", 75000),
+                new Employee(3, "Анна", "Петров", 35000),
+                new Employee(4, "Анна", "Иванова", 90000)
+        );
+        table = EmployeeTable.of(employees);
+    }
+
+    @Test
+    @DisplayName("запросы таблицы совпадают с EmployeeService")
+    void queries_MatchEmployeeService() {
+        EmployeeService service = new EmployeeServiceImpl();
+
+        assertEquals(service.getEmployeeById(3, employees).toString(), table.getEmployeeById(3).toString());
+        assertEquals(service.getEmployeesBySalaryGreaterThan(40000, employees),
+                table.getEmployeesBySalaryGreaterThan(40000));
+        assertEquals(3, table.countBySalaryGreaterThan(40000));
+
+        Map<String, Employee> map = table.getEmployeeMap();
+        assertEquals(service.getEmployeeMap(employees).keySet(), map.keySet());
+        assertEquals("Иванова", map.get("id4").getLastName());
+    }
+
+    @Test
+    @DisplayName("getEmployeesBySalaryGreaterThan: большая таблица фильтруется параллельно с тем же результатом")
+    void getEmployeesBySalaryGreaterThan_LargeTable_MatchesSequentialFilter() {
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 300_000; i++) {
+            roster.add(new Employee(i, "Имя", "Фамилия", (i * 7919) % 100_000));
+        }
+        EmployeeTable large = EmployeeTable.of(roster);
+
+        List<Integer> expected = roster.stream().filter(e -> e.getSalary() > 60_000).map(Employee::getId).toList();
+        assertEquals(expected, large.getEmployeesBySalaryGreaterThan(60_000).stream().map(Employee::getId).toList());
+        assertEquals(expected.size(), large.countBySalaryGreaterThan(60_000));
+    }
+
+    @Test
+    @DisplayName("getEmployeeMap: дубликаты и порядок обхода как у IntEmployeeMap")
+    void getEmployeeMap_Duplicates_MatchesIntEmployeeMap() {
+        List<Employee> roster = List.of(
+                new Employee(7, "Иван", "Петров", 1),
+                new Employee(3, "Анна", "Иванова", 2),
+                new Employee(7, "Олег", "Сидоров", 3)
+        );
+
+        Map<String, Employee> map = EmployeeTable.of(roster).getEmployeeMap();
+
+        assertEquals(new IntEmployeeMap(roster).asStringKeyedMap(), map);
+        assertEquals(List.of("id7", "id3"), new ArrayList<>(map.keySet()));
+        assertEquals("Олег", map.get("id7").getFirstName());
+        assertNull(map.get("id07"));
+    }
+
+    @Test
+    @DisplayName("getEmployeeById: бросает исключение при несуществующем ID")
+    void getEmployeeById_NonExistingId_ThrowsException() {
+        EmployeeNotFoundException exception = assertThrows(
+                EmployeeNotFoundException.class,
+                () -> table.getEmployeeById(999)
+        );
+
+        assertEquals("Employee with id 999 not found!", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("имена хранятся в словаре один раз")
+    void names_AreDeduplicated() {
+        assertEquals(5, table.dictionarySize());
+        assertSame(table.getFirstName(0), table.getFirstName(1));
+    }
+
+    @Test
+    @DisplayName("builder: растёт по мере добавления строк и не допускает повторной сборки")
+    void builder_GrowsAndBuildsOnce() {
+        EmployeeTable.Builder builder = EmployeeTable.builder();
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            Employee employee = new Employee(i, "Имя" + (i % 10), "Фамилия" + (i % 7), i);
+            roster.add(employee);
+            builder.add(employee);
+        }
+
+        EmployeeTable built = builder.build();
+
+        assertEquals(5_000, built.size());
+        assertEquals(17, built.dictionarySize());
+        assertEquals(4_999, built.getSalary(4_999));
+        assertEquals(roster.get(1234).toString(), built.getEmployeeById(1234).toString());
+        assertThrows(IllegalStateException.class, builder::build);
+        assertThrows(IllegalStateException.class, () -> builder.add(roster.getFirst()));
+    }
+
+}
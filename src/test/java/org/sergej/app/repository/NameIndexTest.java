@@ -0,0 +1,87 @@
+package org.sergej.app.repository;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.sergej.app.model.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NameIndexTest {
+
+    private final List<Employee> employees = List.of(
+            new Employee(1, "Иван", "Иванов", 100),
+            new Employee(2, "Пётр", "Петров", 200),
+            new Employee(3, "Анна", "Иванова", 300),
+            new Employee(4, "Иван", "иванов", 400),
+            new Employee(5, "Олег", "Ивашкин", 500),
+            new Employee(6, "Мария", null, 600));
+
+    private final NameIndex index = NameIndex.of(employees, Employee::getLastName);
+
+    @Test
+    @DisplayName("exact: учитывает регистр")
+    void exact_CaseSensitive_ReturnsMatchingRows() {
+        assertArrayEquals(new int[]{0}, index.exact("Иванов"));
+        assertArrayEquals(new int[]{3}, index.exact("иванов"));
+        assertArrayEquals(new int[0], index.exact("Сидоров"));
+    }
+
+    @Test
+    @DisplayName("exactIgnoreCase: находит все регистры")
+    void exactIgnoreCase_ReturnsAllCases() {
+        assertArrayEquals(new int[]{0, 3}, index.exactIgnoreCase("ИВАНОВ"));
+    }
+
+    @Test
+    @DisplayName("prefix: возвращает строки по возрастанию порядковых номеров")
+    void prefix_ReturnsSortedOrdinals() {
+        assertArrayEquals(new int[]{0, 2, 4}, index.prefix("Ива"));
+        assertArrayEquals(new int[]{0, 2, 3, 4}, index.prefixIgnoreCase("ива"));
+        assertArrayEquals(new int[]{0, 2, 3}, index.prefixIgnoreCase("ИВАНОВ"));
+        assertArrayEquals(new int[0], index.prefixIgnoreCase("Я"));
+        assertEquals(5, index.prefixIgnoreCase("").length);
+    }
+
+    @Test
+    @DisplayName("index: имена приводятся к NFC и хранятся один раз, null не индексируется")
+    void build_NormalizesAndDeduplicatesNames() {
+        NameIndex.Builder builder = NameIndex.builder(Employee::getFirstName);
+        builder.add("Пётр", 0);
+        builder.add("Пётр", 1);
+        builder.add(null, 2);
+        builder.add("Пётр", 3);
+        NameIndex names = builder.build();
+
+        assertEquals(1, names.termCount());
+        assertEquals(3, names.size());
+        assertArrayEquals(new int[]{0, 1, 3}, names.exact("Пётр"));
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+    @Test
+    @DisplayName("prefixIgnoreCase: совпадает с линейным поиском на случайных данных")
+    void prefixIgnoreCase_MatchesLinearScan() {
+        String[] names = {"Иванов", "ИВАНОВА", "Ивашов", "Петров", "петрова", "Сидоров", "Smith", "smithson"};
+        SplittableRandom random = new SplittableRandom(42);
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            roster.add(new Employee(i, "Имя", names[random.nextInt(names.length)], i));
+        }
+        NameIndex lastNames = NameIndex.of(roster, Employee::getLastName);
+
+        for (String prefix : new String[]{"ив", "Иван", "ПЕТ", "smith", "S", "Z"}) {
+            String lower = prefix.toLowerCase(Locale.ROOT);
+            int[] expected = IntStream.range(0, roster.size())
+                    .filter(i -> roster.get(i).getLastName().toLowerCase(Locale.ROOT).startsWith(lower))
+                    .toArray();
+            assertArrayEquals(expected, lastNames.prefixIgnoreCase(prefix));
+        }
+    }
+
+}
@@ -0,0 +1,143 @@
+package org.sergej.app.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sergej.app.exception.FileLoadException;
+import org.sergej.app.model.Employee;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RosterSnapshotTest {
+
+    private static final RosterSnapshot.Source SOURCE = new RosterSnapshot.Source(1234, 5678);
+
+    @TempDir
+    Path tempDir;
+
+    private List<Employee> roster;
+
+    @BeforeEach
+    void setUp() {
+        roster = List.of(
+                new Employee(3, "Вадим", "Кузнецов", 60000),
+                new Employee(1, "Василиса", null, 50000),
+                new Employee(2, "Василий", "Николаевич", 75000),
+                new Employee(1, "Диана", "Сергеевна", 90000),
+                new Employee(-7, null, "Кузнецов", 60000)
+        );
+    }
+
+    @Test
+    @DisplayName("open: строки и имена совпадают с исходным списком")
+    void open_WrittenSnapshot_RestoresRows() throws IOException {
+        RosterSnapshot snapshot = writeAndOpen(roster);
+
+        assertEquals(roster.size(), snapshot.size());
+        assertEquals(roster, snapshot.getEmployees());
+        assertTrue(snapshot.isFrom(SOURCE));
+        assertFalse(snapshot.isFrom(new RosterSnapshot.Source(1234, 5679)));
+    }
+
+    @Test
+    @DisplayName("findById и getEmployeeMap: та же семантика дубликатов, что у репозитория и IntEmployeeMap")
+    void findById_Duplicates_MatchInMemoryStructures() throws IOException {
+        RosterSnapshot snapshot = writeAndOpen(roster);
+        EmployeeRepository repository = new EmployeeRepository(roster);
+        Map<String, Employee> expectedMap = new IntEmployeeMap(roster).asStringKeyedMap();
+
+        for (int id : new int[]{1, 2, 3, -7, 4}) {
+            assertEquals(repository.findById(id), snapshot.findById(id));
+            assertEquals(repository.findById(id).isPresent(), snapshot.containsId(id));
+        }
+        Map<String, Employee> map = snapshot.getEmployeeMap();
+        assertEquals(expectedMap, map);
+        assertEquals(new ArrayList<>(expectedMap.keySet()), new ArrayList<>(map.keySet()));
+        assertEquals("Диана", map.get("id1").getFirstName());
+        assertNull(map.get("id01"));
+        assertFalse(map.containsKey(1));
+    }
+
+    @Test
+    @DisplayName("getSalaryIndex: порядок совпадает с SalaryIndex, построенным заново")
+    void getSalaryIndex_MatchesRebuiltIndex() throws IOException {
+        RosterSnapshot snapshot = writeAndOpen(roster);
+        SalaryIndex expected = new SalaryIndex(roster);
+        SalaryIndex index = snapshot.getSalaryIndex();
+
+        assertEquals(expected.greaterThanOrEqual(60000), index.greaterThanOrEqual(60000));
+        assertEquals(expected.top(3), index.top(3));
+        assertEquals(expected.countBetween(50000, 75000), index.countBetween(50000, 75000));
+        assertSame(index, snapshot.getSalaryIndex());
+    }
+
+    @Test
+    @DisplayName("open: пустой список сохраняется и читается")
+    void open_EmptyRoster_ReturnsEmptySnapshot() throws IOException {
+        RosterSnapshot snapshot = writeAndOpen(List.of());
+
+        assertEquals(0, snapshot.size());
+        assertTrue(snapshot.getEmployeeMap().isEmpty());
+        assertEquals(Optional.empty(), snapshot.findById(0));
+        assertTrue(snapshot.getSalaryIndex().greaterThan(Integer.MIN_VALUE).isEmpty());
+    }
+
+    @Test
+    @DisplayName("open: чужой, усечённый или отсутствующий файл не открывается")
+    void open_InvalidFile_ReturnsEmpty() throws IOException {
+        Path path = tempDir.resolve("roster.snap");
+        RosterSnapshot.write(path, roster, SOURCE);
+        byte[] bytes = Files.readAllBytes(path);
+
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 1));
+        assertEquals(Optional.empty(), RosterSnapshot.open(path));
+
+        bytes[4] = (byte) (RosterSnapshot.VERSION + 1);
+        Files.write(path, bytes);
+        assertEquals(Optional.empty(), RosterSnapshot.open(path));
+
+        Files.writeString(path, "garbage");
+        assertEquals(Optional.empty(), RosterSnapshot.open(path));
+        assertEquals(Optional.empty(), RosterSnapshot.open(tempDir.resolve("missing.snap")));
+    }
+
+    @Test
+    @DisplayName("verify/findById: испорченное тело обнаруживается проверкой и при обращении, без зацикливания")
+    void verify_CorruptBody_DetectedOnAccess() throws IOException {
+        Path path = tempDir.resolve("roster.snap");
+        RosterSnapshot.write(path, roster, SOURCE);
+        assertTrue(RosterSnapshot.open(path).orElseThrow().verify());
+        byte[] bytes = Files.readAllBytes(path);
+
+        // Header, four columns of 5 rows and the 16 table keys; then the first rows, which mark empty slots
+        int firstRows = 64 + 4 * 4 * roster.size() + 4 * 16;
+        Arrays.fill(bytes, firstRows, firstRows + 4 * 16, (byte) 0x7F);
+        // The first name code of row 0
+        int firstNames = 64 + 2 * 4 * roster.size();
+        Arrays.fill(bytes, firstNames, firstNames + 4, (byte) 0x7F);
+        Files.write(path, bytes);
+        RosterSnapshot snapshot = RosterSnapshot.open(path).orElseThrow();
+
+        assertFalse(snapshot.verify());
+        assertThrows(FileLoadException.class, () -> snapshot.findById(42));
+        assertThrows(FileLoadException.class, () -> snapshot.get(0));
+        assertEquals("Николаевич", snapshot.get(2).getLastName());
+    }
+
+    private RosterSnapshot writeAndOpen(List<Employee> employees) throws IOException {
+        Path path = tempDir.resolve("roster.snap");
+        RosterSnapshot.write(path, employees, SOURCE);
+        return RosterSnapshot.open(path).orElseThrow();
+    }
+
+}
@@ -0,0 +1,81 @@
+package org.sergej.app.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.sergej.app.model.Employee;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryIndexTest {
+
+    private SalaryIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SalaryIndex(List.of(
+                new Employee(1, "Василиса", "Петровна", 50000),
+                new Employee(2, "Василий", "Николаевич", 75000),
+                new Employee(3, "Вадим", "Кузнецов", 60000),
+                new Employee(4, "Диана", "Сергеевна", 90000),
+                new Employee(5, "Анна", "Ивановна", 60000)
+        ));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "0, 5",
+            "50000, 4",
+            "60000, 2",
+            "90000, 0"
+    })
+    @DisplayName("greaterThan: количество совпадает с countGreaterThan")
+    void greaterThan_MatchesCount(int salary, int expectedCount) {
+        assertEquals(expectedCount, index.greaterThan(salary).size());
+        assertEquals(expectedCount, index.countGreaterThan(salary));
+    }
+
+    @Test
+    @DisplayName("greaterThanOrEqual: включает границу, равные зарплаты в порядке списка")
+    void greaterThanOrEqual_IncludesBoundary() {
+        List<Employee> result = index.greaterThanOrEqual(60000);
+
+        assertEquals(List.of(3, 5, 2, 4), result.stream().map(Employee::getId).toList());
+        assertEquals(4, index.countGreaterThanOrEqual(60000));
+    }
+
+    @Test
+    @DisplayName("between: возвращает сотрудников в закрытом диапазоне")
+    void between_ReturnsInclusiveRange() {
+        List<Employee> result = index.between(50000, 75000);
+
+        assertEquals(List.of(1, 3, 5, 2), result.stream().map(Employee::getId).toList());
+        assertEquals(4, index.countBetween(50000, 75000));
+        assertTrue(index.between(75000, 50000).isEmpty());
+        assertEquals(0, index.countBetween(70000, 74000));
+    }
+
+    @Test
+    @DisplayName("top: возвращает самых высокооплачиваемых по убыванию зарплаты")
+    void top_ReturnsHighestSalariesFirst() {
+        assertEquals(List.of(4, 2), index.top(2).stream().map(Employee::getId).toList());
+        assertEquals(5, index.top(100).size());
+        assertTrue(index.top(0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> index.top(-1));
+    }
+
+    @Test
+    @DisplayName("срез нельзя изменить и нельзя выйти за его границы")
+    void slice_IsReadOnlyAndBounded() {
+        List<Employee> result = index.greaterThan(60000);
+
+        assertThrows(UnsupportedOperationException.class,
+                () -> result.add(new Employee(6, "Илья", "Иванов", 80000)));
+        assertThrows(IndexOutOfBoundsException.class, () -> result.get(2));
+    }
+
+}
@@ -0,0 +1,214 @@
+package org.sergej.app.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sergej.app.exception.FileLoadException;
+import org.sergej.app.model.Employee;
+import org.sergej.app.model.ParseError;
+import org.sergej.app.service.AsyncFileService;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncFileServiceImplTest {
+
+    private final AsyncFileService asyncService = new AsyncFileServiceImpl();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("saveEmployeesToFile/loadEmployeesFromFile: асинхронное сохранение и загрузка совпадают с синхронными")
+    void saveAndLoad_RoundTrip_MatchesBlockingService() throws Exception {
+        List<Employee> roster = roster(100_000);
+        String filename = tempDir.resolve("roster").toString();
+
+        asyncService.saveEmployeesToFile(roster, filename).get(30, TimeUnit.SECONDS);
+
+        assertEquals(roster, new FileServiceImpl().loadEmployeesFromFile(filename));
+        assertEquals(roster, asyncService.loadEmployeesFromFile(filename).get(30, TimeUnit.SECONDS));
+        assertEquals(List.of(tempDir.resolve("roster.txt"), EmployeeIdIndex.sidecarFor(tempDir.resolve("roster.txt"))),
+                listTempDir().stream().sorted().toList());
+    }
+
+    @Test
+    @DisplayName("saveEmployeesToFile: имя обрезается как при загрузке, индекс ID заменяется новым")
+    void saveEmployeesToFile_UntrimmedName_WritesFreshIdIndex() throws Exception {
+        Path target = tempDir.resolve("roster.txt");
+        FileServiceImpl blockingService = new FileServiceImpl();
+        blockingService.saveEmployeesToFile(List.of(new Employee(1, "Старый", "Сотрудник", 1)), target.toString());
+        String filename = "  " + tempDir.resolve("roster") + "  ";
+
+        asyncService.saveEmployeesToFile(List.of(new Employee(7, "Новая", "Запись", 70),
+                new Employee(1, "Первый", "Сотрудник", 10)), filename).get(30, TimeUnit.SECONDS);
+
+        assertEquals(List.of(target, EmployeeIdIndex.sidecarFor(target)), listTempDir().stream().sorted().toList());
+        assertEquals(10, new FileServiceImpl().findById(filename, 1).orElseThrow().getSalary());
+        assertEquals(70, new FileServiceImpl().findById(filename, 7).orElseThrow().getSalary());
+        EmployeeIdIndex index = EmployeeIdIndex.open(EmployeeIdIndex.sidecarFor(target));
+        assertNotNull(index);
+        assertTrue(index.describes(EmployeeIdIndex.Fingerprint.of(target)));
+    }
+
+    @Test
+    @DisplayName("loadEmployeesFromFile: строки с \\r\\n на границе буферов и ошибки разбора")
+    void loadEmployeesFromFile_CrLfAndInvalidRows_ReportsLineNumbers() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 10_000; i++) {
+            content.append(i).append(",Имя").append(i).append(",Фамилия,").append(i).append("\r\n");
+        }
+        content.append("oops\r\n").append("10000,Последний,Сотрудник,1");
+        Path file = tempDir.resolve("crlf.txt");
+        Files.writeString(file, content, StandardCharsets.UTF_8);
+        List<ParseError> errors = Collections.synchronizedList(new ArrayList<>());
+        AsyncFileService service = new AsyncFileServiceImpl(null, null, errors::add);
+
+        List<Employee> result = service.loadEmployeesFromFile(file.toString()).get(30, TimeUnit.SECONDS);
+
+        assertEquals(10_001, result.size());
+        assertEquals("Имя9999", result.get(9_999).getFirstName());
+        assertEquals("Сотрудник", result.getLast().getLastName());
+        assertEquals(1, errors.size());
+        assertEquals(10_001, errors.getFirst().lineNumber());
+    }
+
+    @Test
+    @DisplayName("publishEmployeesFromFile: выдаёт строки только по запросу и останавливается после отмены")
+    void publishEmployeesFromFile_Backpressure_DeliversOnlyRequestedRows() throws Exception {
+        List<Employee> roster = roster(50_000);
+        String filename = tempDir.resolve("published.txt").toString();
+        new FileServiceImpl().saveEmployeesToFile(roster, filename);
+
+        TestSubscriber subscriber = new TestSubscriber();
+        asyncService.publishEmployeesFromFile(filename).subscribe(subscriber);
+        subscriber.subscription.request(5);
+        subscriber.awaitRows(5);
+        Thread.sleep(50);
+
+        assertEquals(5, subscriber.received.size());
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(10);
+        Thread.sleep(50);
+        assertEquals(5, subscriber.received.size());
+        assertFalse(subscriber.done.isDone());
+        assertEquals(roster.subList(0, 5), subscriber.received);
+    }
+
+    @Test
+    @DisplayName("publishEmployeesFromFile: подписчик, запрашивающий по одной строке, получает весь файл")
+    void publishEmployeesFromFile_OneByOne_CompletesInOrder() throws Exception {
+        List<Employee> roster = roster(20_000);
+        String filename = tempDir.resolve("one-by-one.txt").toString();
+        new FileServiceImpl().saveEmployeesToFile(roster, filename);
+
+        TestSubscriber subscriber = new TestSubscriber() {
+            @Override
+            public void onNext(Employee employee) {
+                super.onNext(employee);
+                subscription.request(1);
+            }
+        };
+        asyncService.publishEmployeesFromFile(filename).subscribe(subscriber);
+        subscriber.subscription.request(1);
+
+        subscriber.done.get(30, TimeUnit.SECONDS);
+        assertEquals(roster, subscriber.received);
+    }
+
+    @Test
+    @DisplayName("loadEmployeesFromFile: gzip и бинарные файлы загружаются, ошибки приходят через future")
+    void loadEmployeesFromFile_FallbacksAndFailures() throws Exception {
+        List<Employee> roster = roster(5_000);
+        String compressed = tempDir.resolve("roster.txt.gz").toString();
+        String binary = tempDir.resolve("roster.emp").toString();
+        asyncService.saveEmployeesToFile(roster, compressed).get(30, TimeUnit.SECONDS);
+        asyncService.saveEmployeesToFile(roster, binary).get(30, TimeUnit.SECONDS);
+
+        assertEquals(roster, asyncService.loadEmployeesFromFile(compressed).get(30, TimeUnit.SECONDS));
+        assertEquals(roster, asyncService.loadEmployeesFromFile(binary).get(30, TimeUnit.SECONDS));
+
+        CompletableFuture<List<Employee>> missing = asyncService.loadEmployeesFromFile(tempDir.resolve("missing").toString());
+        ExecutionException e = assertThrows(ExecutionException.class, () -> missing.get(30, TimeUnit.SECONDS));
+        assertInstanceOf(FileLoadException.class, e.getCause());
+        assertTrue(asyncService.saveEmployeesToFile(roster, "").isCompletedExceptionally());
+    }
+
+    @Test
+    @DisplayName("publishEmployeesFromFile: неположительный запрос завершается onError")
+    void publishEmployeesFromFile_NonPositiveRequest_SignalsError() throws Exception {
+        String filename = tempDir.resolve("small.txt").toString();
+        new FileServiceImpl().saveEmployeesToFile(roster(10), filename);
+
+        TestSubscriber subscriber = new TestSubscriber();
+        asyncService.publishEmployeesFromFile(filename).subscribe(subscriber);
+        subscriber.subscription.request(0);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> subscriber.done.get(30, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+    }
+
+    private List<Path> listTempDir() throws IOException {
+        try (Stream<Path> files = Files.list(tempDir)) {
+            return files.toList();
+        }
+    }
+
+    private static List<Employee> roster(int size) {
+        List<Employee> roster = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            roster.add(new Employee(i, "Имя" + (i % 100), "Фамилия" + (i % 37), i * 10));
+        }
+        return roster;
+    }
+
+    private static class TestSubscriber implements Flow.Subscriber<Employee> {
+
+        final List<Employee> received = Collections.synchronizedList(new ArrayList<>());
+
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+
+        volatile Flow.Subscription subscription;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Employee employee) {
+            received.add(employee);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            done.completeExceptionally(error);
+        }
+
+        @Override
+        public void onComplete() {
+            done.complete(null);
+        }
+
+        void awaitRows(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (received.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+        }
+
+    }
+
+}
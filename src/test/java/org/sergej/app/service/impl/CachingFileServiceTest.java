@@ -0,0 +1,181 @@
+package org.sergej.app.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sergej.app.exception.FileLoadException;
+import org.sergej.app.model.Employee;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingFileServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final AtomicInteger parses = new AtomicInteger();
+
+    private final FileServiceImpl countingService = new FileServiceImpl() {
+        @Override
+        public List<Employee> loadEmployeesFromFile(String filename) {
+            parses.incrementAndGet();
+            return super.loadEmployeesFromFile(filename);
+        }
+    };
+
+    private String filename;
+
+    @BeforeEach
+    void setUp() {
+        filename = tempDir.resolve("cache.txt").toString();
+        countingService.saveEmployeesToFile(List.of(
+                new Employee(1, "Иван", "Иванов", 100),
+                new Employee(2, "Пётр", "Петров", 200)), filename);
+    }
+
+    @Test
+    @DisplayName("loadEmployeesFromFile: повторная загрузка берётся из кэша")
+    void loadEmployeesFromFile_SecondCall_IsCacheHit() {
+        CachingFileService cache = new CachingFileService(countingService, 1_000_000);
+
+        List<Employee> first = cache.loadEmployeesFromFile(filename);
+        List<Employee> second = cache.loadEmployeesFromFile(tempDir.resolve("cache").toString());
+
+        assertEquals(first, second);
+        assertEquals(1, parses.get());
+        assertEquals(new CachingFileService.Stats(1, 1, 0, cache.stats().weight(), 1), cache.stats());
+        assertTrue(cache.stats().weight() > 0);
+    }
+
+    @Test
+    @DisplayName("loadEmployeesFromFile: изменения возвращённых объектов не попадают в кэш")
+    void loadEmployeesFromFile_ModifiedResult_DoesNotAffectCache() {
+        CachingFileService cache = new CachingFileService(countingService, 1_000_000);
+
+        List<Employee> first = cache.loadEmployeesFromFile(filename);
+        first.getFirst().setSalary(999);
+        first.add(new Employee());
+        List<Employee> second = cache.loadEmployeesFromFile(filename);
+
+        assertEquals(2, second.size());
+        assertEquals(100, second.getFirst().getSalary());
+        assertNotSame(first.getFirst(), second.getFirst());
+        assertSame(cache.loadEmployeeRecordsFromFile(filename), cache.loadEmployeeRecordsFromFile(filename));
+        assertEquals(1, parses.get());
+    }
+
+    @Test
+    @DisplayName("loadEmployeesFromFile: изменённый файл перечитывается")
+    void loadEmployeesFromFile_FileChanged_Reloads() throws IOException {
+        CachingFileService cache = new CachingFileService(countingService, 1_000_000);
+        cache.loadEmployeesFromFile(filename);
+
+        Files.writeString(Path.of(filename), "3,Анна,Сидорова,300\n");
+        List<Employee> reloaded = cache.loadEmployeesFromFile(filename);
+
+        assertEquals(2, parses.get());
+        assertEquals(3, reloaded.getFirst().getId());
+
+        cache.saveEmployeesToFile(List.of(new Employee(4, "Олег", "Орлов", 400)), filename);
+        assertEquals(4, cache.loadEmployeesFromFile(filename).getFirst().getId());
+        assertEquals(3, parses.get());
+    }
+
+    @Test
+    @DisplayName("cache: превышение бюджета вытесняет давно не использованные записи")
+    void loadEmployeesFromFile_OverBudget_EvictsLeastRecentlyUsed() {
+        String other = tempDir.resolve("other.txt").toString();
+        countingService.saveEmployeesToFile(List.of(new Employee(5, "Анна", "Иванова", 500)), other);
+        CachingFileService cache = new CachingFileService(countingService, 300);
+
+        cache.loadEmployeesFromFile(filename);
+        cache.loadEmployeesFromFile(other);
+
+        assertEquals(1, cache.stats().evictions());
+        assertEquals(1, cache.stats().size());
+        cache.loadEmployeesFromFile(other);
+        assertEquals(2, parses.get());
+        cache.loadEmployeesFromFile(filename);
+        assertEquals(3, parses.get());
+    }
+
+    @Test
+    @DisplayName("cache: запись устаревает по TTL")
+    void loadEmployeesFromFile_TtlExpired_Reloads() {
+        AtomicLong now = new AtomicLong();
+        CachingFileService cache = new CachingFileService(countingService, 1_000_000,
+                Duration.ofSeconds(10), now::get);
+
+        cache.loadEmployeesFromFile(filename);
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        cache.loadEmployeesFromFile(filename);
+        assertEquals(1, parses.get());
+
+        now.addAndGet(Duration.ofSeconds(5).toNanos());
+        cache.loadEmployeesFromFile(filename);
+        assertEquals(2, parses.get());
+        assertEquals(1, cache.stats().evictions());
+    }
+
+    @Test
+    @DisplayName("cache: одновременные загрузки одного файла выполняют один разбор")
+    void loadEmployeesFromFile_ConcurrentLoads_AreCoalesced() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FileServiceImpl slowService = new FileServiceImpl() {
+            @Override
+            public List<Employee> loadEmployeesFromFile(String name) {
+                parses.incrementAndGet();
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.loadEmployeesFromFile(name);
+            }
+        };
+        CachingFileService cache = new CachingFileService(slowService, 1_000_000);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            Future<List<Employee>> first = executor.submit(() -> cache.loadEmployeesFromFile(filename));
+            assertTrue(started.await(10, TimeUnit.SECONDS));
+            Future<List<Employee>> second = executor.submit(() -> cache.loadEmployeesFromFile(filename));
+            Future<List<Employee>> third = executor.submit(() -> cache.loadEmployeesFromFile(filename));
+            while (cache.stats().hits() < 2) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            assertEquals(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+            assertEquals(first.get(), third.get(10, TimeUnit.SECONDS));
+            assertEquals(1, parses.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("loadEmployeesFromFile: отсутствующий файл не кэшируется")
+    void loadEmployeesFromFile_MissingFile_ThrowsException() {
+        CachingFileService cache = new CachingFileService(countingService, 1_000_000);
+
+        assertThrows(FileLoadException.class, () -> cache.loadEmployeesFromFile(tempDir.resolve("missing.txt").toString()));
+        assertEquals(0, cache.stats().size());
+    }
+
+}
@@ -0,0 +1,178 @@
+package org.sergej.app.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sergej.app.exception.FileLoadException;
+import org.sergej.app.model.Employee;
+import org.sergej.app.model.EmployeeDelta;
+import org.sergej.app.model.ParseError;
+import org.sergej.app.service.EmployeeFileWatcher;
+import org.sergej.app.service.FileService;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeFileWatcherImplTest {
+
+    private FileService fileService;
+
+    @TempDir
+    Path tempDir;
+
+    private Path filePath;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        fileService = new FileServiceImpl();
+        filePath = tempDir.resolve("roster.txt");
+        Files.writeString(filePath, "1,Диана,Сергеевна,50000\n2,Василий,Николаевич,75000\n");
+    }
+
+    @Test
+    @DisplayName("poll: первый опрос загружает весь файл")
+    void poll_FirstPoll_LoadsWholeFile() {
+        try (EmployeeFileWatcher watcher = fileService.watchEmployeesFile(filePath.toString())) {
+            EmployeeDelta delta = watcher.poll();
+
+            assertTrue(delta.reloaded());
+            assertEquals(2, delta.added().size());
+            assertTrue(watcher.poll().isEmpty());
+        }
+    }
+
+    @Test
+    @DisplayName("poll: публикует только дописанные строки, разделяя новые и обновлённые ID")
+    void poll_AppendedRows_PublishesAddedAndUpdated() throws IOException {
+        try (EmployeeFileWatcher watcher = fileService.watchEmployeesFile(filePath.toString())) {
+            List<EmployeeDelta> published = new ArrayList<>();
+            watcher.subscribe(published::add);
+            watcher.poll();
+
+            append("3,Вадим,Кузнецов,60000\n2,Василий,Николаевич,80000\n");
+            EmployeeDelta delta = watcher.poll();
+
+            assertFalse(delta.reloaded());
+            assertEquals(List.of(3), ids(delta.added()));
+            assertEquals(80000, delta.updated().getFirst().getSalary());
+            assertEquals(2, published.size());
+            assertEquals(3, watcher.getEmployees().size());
+            assertEquals(80000, watcher.getEmployees().get(1).getSalary());
+        }
+    }
+
+    @Test
+    @DisplayName("poll: недописанная строка читается только после завершения")
+    void poll_PartialLine_WaitsForLineEnd() throws IOException {
+        try (EmployeeFileWatcher watcher = fileService.watchEmployeesFile(filePath.toString())) {
+            watcher.poll();
+
+            append("3,Вадим,Кузн");
+            assertTrue(watcher.poll().isEmpty());
+
+            append("ецов,60000\r");
+            EmployeeDelta delta = watcher.poll();
+            assertEquals("Кузнецов", delta.added().getFirst().getLastName());
+
+            append("\n4,Анна,Иванова,40000\n");
+            assertEquals(List.of(4), ids(watcher.poll().added()));
+        }
+    }
+
+    @Test
+    @DisplayName("poll: при усечении или замене файла выполняется полная перезагрузка")
+    void poll_TruncatedOrReplacedFile_Reloads() throws IOException {
+        try (EmployeeFileWatcher watcher = fileService.watchEmployeesFile(filePath.toString())) {
+            watcher.poll();
+
+            Files.writeString(filePath, "5,Илья,Иванов,10000\n");
+            EmployeeDelta truncated = watcher.poll();
+            assertTrue(truncated.reloaded());
+            assertEquals(List.of(5), ids(truncated.added()));
+
+            fileService.saveEmployeesToFile(List.of(
+                    new Employee(6, "Анна", "Иванова", 20000),
+                    new Employee(7, "Пётр", "Петров", 30000)
+            ), filePath.toString());
+            EmployeeDelta replaced = watcher.poll();
+            assertTrue(replaced.reloaded());
+            assertEquals(List.of(6, 7), ids(replaced.added()));
+            assertEquals(List.of(6, 7), ids(watcher.getEmployees()));
+        }
+    }
+
+    @Test
+    @DisplayName("poll: неудачный опрос ничего не применяет, следующий продолжает с того же места")
+    void poll_FailedFooterCheck_LeavesStateUnchanged() throws IOException {
+        List<ParseError> errors = new ArrayList<>();
+        try (EmployeeFileWatcher watcher = new EmployeeFileWatcherImpl(filePath, errors::add)) {
+            List<EmployeeDelta> published = new ArrayList<>();
+            watcher.subscribe(published::add);
+            watcher.poll();
+
+            String appended = "bad row\n3,Вадим,Кузнецов,60000\n";
+            append(appended + "#employees=9;checksum=0\n");
+            assertThrows(FileLoadException.class, watcher::poll);
+            assertThrows(FileLoadException.class, watcher::poll);
+            assertEquals(List.of(1, 2), ids(watcher.getEmployees()));
+            assertTrue(errors.isEmpty());
+
+            try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.WRITE)) {
+                channel.truncate(channel.size() - "#employees=9;checksum=0\n".length());
+            }
+            EmployeeDelta delta = watcher.poll();
+
+            assertEquals(List.of(3), ids(delta.added()));
+            assertTrue(delta.updated().isEmpty());
+            assertEquals(2, published.size());
+            assertEquals(1, errors.size());
+            assertEquals(3, errors.getFirst().lineNumber());
+        }
+    }
+
+    @Test
+    @DisplayName("start: ошибка фонового опроса передаётся слушателю ошибок, а не в stderr")
+    void start_FailedPoll_ReportsToErrorListener() throws Exception {
+        CompletableFuture<ParseError> error = new CompletableFuture<>();
+        try (EmployeeFileWatcher watcher = new EmployeeFileWatcherImpl(filePath, error::complete)) {
+            Files.delete(filePath);
+            watcher.start(Duration.ofMillis(10));
+
+            ParseError reported = error.get(5, TimeUnit.SECONDS);
+            assertEquals(filePath.toString(), reported.filename());
+            assertEquals(0, reported.lineNumber());
+            assertEquals(ParseError.Reason.OTHER, reported.reason());
+            assertTrue(reported.message().contains("File not found"));
+        }
+    }
+
+    @Test
+    @DisplayName("watchEmployeesFile: бинарный файл отслеживать нельзя")
+    void watchEmployeesFile_BinaryFile_ThrowsIllegalArgumentException() {
+        String binary = tempDir.resolve("roster.emp").toString();
+        fileService.saveEmployeesToFile(List.of(new Employee(1, "A", "B", 1)), binary);
+
+        assertThrows(IllegalArgumentException.class, () -> fileService.watchEmployeesFile(binary));
+    }
+
+    private void append(String text) throws IOException {
+        Files.writeString(filePath, text, StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+    }
+
+    private static List<Integer> ids(List<Employee> employees) {
+        return employees.stream().map(Employee::getId).toList();
+    }
+
+}
@@ -0,0 +1,94 @@
+package org.sergej.app.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.sergej.app.model.Employee;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeParserTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "1,Диана,Сергеевна,50000",
+            "1 , Диана  ,  Сергеевна  , 50000",
+            "+7,A,B,0",
+            "-7,A,B,+15",
+            "2147483647,A,B,2147483647",
+            "-2147483648,A,B,1",
+            "2147483648,A,B,1",
+            "1,A,B,-2147483649",
+            "1,A,B,-1",
+            "1,A,B,-0",
+            "1,,B,1",
+            "1,A, ,1",
+            "1,A,,abc",
+            "abc,,,",
+            "1,A,B",
+            "1,A,B,2,3",
+            ",,,",
+            "1,A,B,+",
+            "-,A,B,1",
+            "1,A,B,1 2",
+            "1,A,B,١٢"
+    })
+    @DisplayName("parseEmployee: результат и сообщения об ошибках совпадают с разбором через split")
+    void parseEmployee_MatchesSplitBasedParser(String line) {
+        String expected = describe(() -> referenceParse(line));
+        String actual = describe(() -> EmployeeParser.parseEmployee(line.toCharArray(), 0, line.length()));
+
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("parseInt: разбирает число в пределах диапазона буфера")
+    void parseInt_ParsesSubRange() {
+        char[] chars = "xx  -123 yy".toCharArray();
+
+        assertEquals(-123, EmployeeParser.parseInt(chars, 2, 8));
+    }
+
+    private static String describe(java.util.function.Supplier<Employee> parse) {
+        try {
+            Employee employee = parse.get();
+            return employee.getId() + "|" + employee.getFirstName() + "|"
+                    + employee.getLastName() + "|" + employee.getSalary();
+        } catch (IllegalArgumentException e) {
+            return "error: " + e.getMessage();
+        }
+    }
+
+    /**
+     * Разбор строки в том виде, в каком он был до перехода на посимвольный парсер.
+     */
+    private static Employee referenceParse(String line) {
+        String[] parts = line.split(",", -1);
+
+        if (parts.length != 4) {
+            throw new IllegalArgumentException("Expected 4 fields, but got " + parts.length);
+        }
+
+        try {
+            int id = Integer.parseInt(parts[0].trim());
+            String firstName = parts[1].trim();
+            String lastName = parts[2].trim();
+            int salary = Integer.parseInt(parts[3].trim());
+
+            if (firstName.isEmpty() || lastName.isEmpty()) {
+                throw new IllegalArgumentException("First name or last name is empty");
+            }
+
+            if (salary < 0) {
+                throw new IllegalArgumentException("Salary cannot be negative");
+            }
+
+            return new Employee(id, firstName, lastName, salary);
+
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number format: " + e.getMessage());
+        }
+    }
+
+}
@@ -5,15 +5,22 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
+import org.sergej.app.aggregation.EmployeeAggregator;
+import org.sergej.app.aggregation.GroupBy;
+import org.sergej.app.aggregation.HistogramSpec;
 import org.sergej.app.exception.EmployeeNotFoundException;
 import org.sergej.app.model.Employee;
+import org.sergej.app.repository.EmployeeRepository;
+import org.sergej.app.repository.IntEmployeeMap;
 import org.sergej.app.service.EmployeeService;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -68,6 +75,58 @@ class EmployeeServiceImplTest {
         assertEquals("Employee with id 1 not found!", exception.getMessage());
     }
 
+    @Test
+    @DisplayName("getEmployeeById: находит сотрудника через индекс репозитория")
+    void getEmployeeById_Repository_ReturnsEmployee() {
+        EmployeeRepository repository = new EmployeeRepository(employees);
+
+        Employee result = service.getEmployeeById(3, repository);
+
+        assertEquals(3, result.getId());
+        assertEquals("Вадим", result.getFirstName());
+    }
+
+    @Test
+    @DisplayName("getEmployeeById: через репозиторий бросает исключение при несуществующем ID")
+    void getEmployeeById_RepositoryNonExistingId_ThrowsException() {
+        EmployeeRepository repository = new EmployeeRepository(employees);
+
+        EmployeeNotFoundException exception = assertThrows(
+                EmployeeNotFoundException.class,
+                () -> service.getEmployeeById(999, repository)
+        );
+
+        assertEquals("Employee with id 999 not found!", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("getEmployeeById: при дублирующихся ID репозиторий возвращает первого, как и поиск по списку")
+    void getEmployeeById_RepositoryDuplicateIds_ReturnsFirst() {
+        List<Employee> withDuplicates = List.of(
+                new Employee(5, "Василий", "Сергеевич", 21000),
+                new Employee(5, "Сергей", "Николаевич", 40000)
+        );
+        EmployeeRepository repository = new EmployeeRepository(withDuplicates);
+
+        assertEquals("Василий", service.getEmployeeById(5, repository).getFirstName());
+        assertEquals("Василий", service.getEmployeeById(5, withDuplicates).getFirstName());
+    }
+
+    @Test
+    @DisplayName("getEmployeeById: репозиторий находит всех сотрудников большого списка")
+    void getEmployeeById_RepositoryLargeRoster_FindsEveryId() {
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            roster.add(new Employee(i * 7 - 5000, "Имя" + i, "Фамилия" + i, i));
+        }
+        EmployeeRepository repository = new EmployeeRepository(roster);
+
+        for (Employee employee : roster) {
+            assertSame(employee, service.getEmployeeById(employee.getId(), repository));
+        }
+        assertThrows(EmployeeNotFoundException.class, () -> service.getEmployeeById(1, repository));
+    }
+
     @ParameterizedTest
     @CsvSource({
             "70000, 2",
@@ -107,6 +166,23 @@ class EmployeeServiceImplTest {
         assertEquals(original, employees);
     }
 
+    @ParameterizedTest
+    @CsvSource({
+            "70000, 2",
+            "60000, 2",
+            "90000, 0",
+            "50000, 3"
+    })
+    @DisplayName("getEmployeesBySalaryGreaterThan: индекс репозитория даёт тот же результат, что и список")
+    void getEmployeesBySalaryGreaterThan_Repository_MatchesListResult(int targetSalary, int expectedCount) {
+        EmployeeRepository repository = new EmployeeRepository(employees);
+
+        List<Employee> result = service.getEmployeesBySalaryGreaterThan(targetSalary, repository);
+
+        assertEquals(expectedCount, result.size());
+        assertEquals(service.getEmployeesBySalaryGreaterThan(targetSalary, employees), result);
+    }
+
     @Test
     @DisplayName("getEmployeeMap: создаёт корректную карту по ID")
     void getEmployeeMap_CreatesCorrectMap() {
@@ -135,4 +211,93 @@ class EmployeeServiceImplTest {
         assertEquals(4, map.size());
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("getEmployeeIdMap: находит сотрудников по int-ключу, при дубликатах побеждает последний")
+    void getEmployeeIdMap_LookupsAndDuplicates() {
+        List<Employee> withDuplicates = new ArrayList<>(employees);
+        withDuplicates.add(new Employee(2, "Илья", "Иванов", 80000));
+
+        IntEmployeeMap map = service.getEmployeeIdMap(withDuplicates);
+
+        assertEquals(4, map.size());
+        assertEquals("Илья", map.get(2).getFirstName());
+        assertEquals("Диана", map.get(4).getFirstName());
+        assertNull(map.get(999));
+        assertFalse(map.containsKey(0));
+    }
+
+    @Test
+    @DisplayName("getEmployeeMap: совпадает с картой на HashMap и не принимает ключи в другом формате")
+    void getEmployeeMap_MatchesHashMapAndRejectsForeignKeys() {
+        List<Employee> roster = new ArrayList<>(employees);
+        roster.add(new Employee(-7, "Анна", "Ивановна", 35000));
+        roster.add(new Employee(0, "Илья", "Иванов", 80000));
+        roster.add(new Employee(Integer.MIN_VALUE, "Пётр", "Петров", 10000));
+
+        Map<String, Employee> expected = new HashMap<>();
+        for (Employee employee : roster) {
+            expected.put("id" + employee.getId(), employee);
+        }
+
+        Map<String, Employee> map = service.getEmployeeMap(roster);
+
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+        assertSame(roster.get(4), map.get("id-7"));
+        assertSame(roster.get(5), map.get("id0"));
+        assertSame(roster.get(6), map.get("id-2147483648"));
+        for (String key : List.of("id", "id01", "id-0", "id+1", "ID1", "1", "id1 ", "id2147483648", "id99999999999")) {
+            assertNull(map.get(key), key);
+            assertFalse(map.containsKey(key), key);
+        }
+        assertNull(map.get(1));
+    }
+
+    @Test
+    @DisplayName("getEmployeesBySalaryGreaterThan: параллельный путь сохраняет порядок и совпадает с последовательным")
+    void getEmployeesBySalaryGreaterThan_ParallelPath_MatchesSequential() {
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            roster.add(new Employee(i, "Имя", "Фамилия", (i * 7919) % 100_000));
+        }
+        EmployeeService parallelService = new EmployeeServiceImpl(ForkJoinPool.commonPool(), 1_000);
+
+        List<Employee> expected = roster.stream().filter(e -> e.getSalary() > 60_000).toList();
+        List<Employee> result = parallelService.getEmployeesBySalaryGreaterThan(60_000, roster);
+
+        assertEquals(expected, result);
+        assertThrows(UnsupportedOperationException.class, () -> result.add(roster.getFirst()));
+    }
+
+    @Test
+    @DisplayName("getEmployeesByLastNamePrefix: ищет по префиксу фамилии без учёта регистра")
+    void getEmployeesByLastNamePrefix_IgnoresCase() {
+        EmployeeRepository repository = new EmployeeRepository(employees);
+
+        List<Employee> result = service.getEmployeesByLastNamePrefix("пЕТ", repository);
+
+        assertEquals(List.of(employees.get(0)), result);
+        assertTrue(service.getEmployeesByLastNamePrefix("Я", repository).isEmpty());
+    }
+
+    @Test
+    @DisplayName("aggregate: параллельная агрегация совпадает с последовательной")
+    void aggregate_ParallelPath_MatchesSequential() {
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            roster.add(new Employee(i, "Имя" + i % 3, "Фамилия", (i * 7919) % 100_000));
+        }
+        HistogramSpec histogram = new HistogramSpec(0, 10_000, 10);
+        EmployeeService parallelService = new EmployeeServiceImpl(ForkJoinPool.commonPool(), 1_000);
+
+        EmployeeAggregator expected = service.aggregate(roster, histogram, GroupBy.FIRST_NAME);
+        EmployeeAggregator result = parallelService.aggregate(roster, histogram, GroupBy.FIRST_NAME);
+
+        assertEquals(expected.getTotal().getSum(), result.getTotal().getSum());
+        assertEquals(expected.getTotal().getPercentile(50), result.getTotal().getPercentile(50));
+        assertArrayEquals(expected.getTotal().getHistogram(), result.getTotal().getHistogram());
+        assertEquals(3, result.getGroups().size());
+        assertEquals(expected.getGroups().get("Имя1").getCount(), result.getGroups().get("Имя1").getCount());
+    }
+
+}
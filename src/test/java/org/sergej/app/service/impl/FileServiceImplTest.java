@@ -5,15 +5,30 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.sergej.app.exception.FileLoadException;
+import org.sergej.app.model.BatchLoadResult;
+import org.sergej.app.model.DuplicateIdPolicy;
 import org.sergej.app.model.Employee;
+import org.sergej.app.model.EmployeeRecord;
+import org.sergej.app.model.ParseError;
+import org.sergej.app.repository.RosterSnapshot;
 import org.sergej.app.service.FileService;
+import org.sergej.app.util.NamePool;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -47,9 +62,10 @@ class FileServiceImplTest {
         assertTrue(Files.exists(filePath));
 
         List<String> lines = Files.readAllLines(filePath);
-        assertEquals(2, lines.size());
+        assertEquals(3, lines.size());
         assertEquals("1,Диана,Сергеевна,50000", lines.get(0));
         assertEquals("2,Василий,Николаевич,75000", lines.get(1));
+        assertTrue(lines.get(2).startsWith("#employees=2;"));
     }
 
     @Test
@@ -63,7 +79,131 @@ class FileServiceImplTest {
         fileService.saveEmployeesToFile(employees, filePath.toAbsolutePath().toString());
 
         assertTrue(Files.exists(filePath));
-        assertEquals("1,A,B,100", Files.readString(filePath).trim());
+        assertEquals("1,A,B,100", Files.readAllLines(filePath).getFirst());
+    }
+
+    @Test
+    @DisplayName("saveEmployeesToFile: пишет граничные числа и не-ASCII имена в UTF-8")
+    void saveEmployeesToFile_WritesEdgeValuesAsUtf8() throws IOException {
+        Path filePath = tempDir.resolve("edge.txt");
+        List<Employee> employees = List.of(
+                new Employee(Integer.MIN_VALUE, "Ёжик", "O'Нил", Integer.MAX_VALUE),
+                new Employee(0, "Emoji\uD83D\uDE00", "Ü", 0),
+                new Employee(-42, "X", null, 7)
+        );
+
+        fileService.saveEmployeesToFile(employees, filePath.toAbsolutePath().toString(), true);
+
+        List<String> lines = Files.readAllLines(filePath, StandardCharsets.UTF_8);
+        assertEquals("-2147483648,Ёжик,O'Нил,2147483647", lines.get(0));
+        assertEquals("0,Emoji\uD83D\uDE00,Ü,0", lines.get(1));
+        assertEquals("-42,X,null,7", lines.get(2));
+    }
+
+    @Test
+    @DisplayName("saveEmployeesToFile: строки, которые загрузчик бы пропустил, не сохраняются")
+    void saveEmployeesToFile_UnloadableRows_ThrowsAndKeepsOldFile() {
+        String filename = tempDir.resolve("unloadable.txt").toAbsolutePath().toString();
+        List<Employee> valid = List.of(new Employee(1, "A", "B", 10), new Employee(5, "null", "Q", 0));
+        fileService.saveEmployeesToFile(valid, filename);
+
+        for (Employee invalid : List.of(new Employee(2, "", "C", 5), new Employee(3, "X,Y", "Z", 5),
+                new Employee(4, "Q", "R", -1), new Employee(6, "Q", "R\nS", 1), new Employee(7, " ", "T", 1))) {
+            List<Employee> roster = List.of(new Employee(1, "A", "B", 10), invalid);
+            assertThrows(IllegalArgumentException.class, () -> fileService.saveEmployeesToFile(roster, filename));
+        }
+
+        assertEquals(valid.stream().map(Employee::toString).toList(),
+                fileService.loadEmployeesFromFile(filename).stream().map(Employee::toString).toList());
+    }
+
+    @Test
+    @DisplayName("saveEmployeesToFile: имя с непарным суррогатом отклоняется, пары суррогатов сохраняются и читаются")
+    void saveEmployeesToFile_UnpairedSurrogate_RejectedPairsRoundTrip() {
+        String filename = tempDir.resolve("surrogates.txt").toAbsolutePath().toString();
+        List<Employee> valid = List.of(new Employee(1, "Ёж\uD83E\uDD94", "\uD835\uDC00Б", 10));
+        fileService.saveEmployeesToFile(valid, filename);
+
+        assertEquals(valid.stream().map(Employee::toString).toList(),
+                fileService.loadEmployeesFromFile(filename).stream().map(Employee::toString).toList());
+        for (String name : List.of("A\uD83E", "\uDD94B", "\uDD94\uD83E")) {
+            List<Employee> roster = List.of(new Employee(2, name, "C", 5));
+            assertThrows(IllegalArgumentException.class, () -> fileService.saveEmployeesToFile(roster, filename));
+        }
+        assertEquals(valid.stream().map(Employee::toString).toList(),
+                fileService.loadEmployeesFromFile(filename).stream().map(Employee::toString).toList());
+    }
+
+    @Test
+    @DisplayName("saveEmployeesToFile: большой список записывается и читается целиком")
+    void saveEmployeesToFile_LargeRoster_RoundTrip() {
+        String filename = tempDir.resolve("large-save.txt").toAbsolutePath().toString();
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            employees.add(new Employee(i, "Имя" + i, "Фамилия" + i, i * 3));
+        }
+
+        fileService.saveEmployeesToFile(employees, filename);
+        List<Employee> loaded = fileService.loadEmployeesFromFile(filename);
+
+        assertEquals(employees.size(), loaded.size());
+        for (int i = 0; i < employees.size(); i++) {
+            assertEquals(employees.get(i).toString(), loaded.get(i).toString());
+        }
+    }
+
+    @Test
+    @DisplayName("saveEmployeesToFile: при ошибке записи старый файл остаётся целым, временных файлов нет")
+    void saveEmployeesToFile_FailedWrite_KeepsOldFile() throws IOException {
+        String filename = tempDir.resolve("atomic.txt").toAbsolutePath().toString();
+        fileService.saveEmployeesToFile(List.of(new Employee(1, "A", "B", 100)), filename);
+
+        List<Employee> broken = new ArrayList<>();
+        broken.add(new Employee(2, "C", "D", 200));
+        broken.add(null);
+        assertThrows(NullPointerException.class, () -> fileService.saveEmployeesToFile(broken, filename));
+
+        List<Employee> loaded = fileService.loadEmployeesFromFile(filename);
+        assertEquals(1, loaded.size());
+        assertEquals("A", loaded.getFirst().getFirstName());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(List.of(Path.of(filename), Path.of(filename + ".idx")), files.sorted().toList());
+        }
+    }
+
+    @Test
+    @DisplayName("loadEmployeesFromFile: файл с потерянной строкой не проходит проверку футера")
+    void loadEmployeesFromFile_MissingRow_ThrowsFileLoadException() throws IOException {
+        Path filePath = tempDir.resolve("footer.txt");
+        String filename = filePath.toAbsolutePath().toString();
+        fileService.saveEmployeesToFile(List.of(
+                new Employee(1, "Диана", "Сергеевна", 50000),
+                new Employee(2, "Василий", "Николаевич", 75000)
+        ), filename);
+
+        List<String> lines = new ArrayList<>(Files.readAllLines(filePath));
+        lines.remove(1);
+        Files.write(filePath, lines);
+
+        FileLoadException ex = assertThrows(FileLoadException.class,
+                () -> fileService.loadEmployeesFromFile(filename));
+        assertTrue(ex.getMessage().contains("expected 2 employees, but read 1"));
+        assertThrows(FileLoadException.class, () -> fileService.loadEmployeesFromFileParallel(filename));
+    }
+
+    @Test
+    @DisplayName("loadEmployeesFromFile: изменённое значение не проходит проверку контрольной суммы")
+    void loadEmployeesFromFile_ChangedValue_ThrowsFileLoadException() throws IOException {
+        Path filePath = tempDir.resolve("checksum.txt");
+        String filename = filePath.toAbsolutePath().toString();
+        fileService.saveEmployeesToFile(List.of(new Employee(1, "Диана", "Сергеевна", 50000)), filename);
+
+        Files.writeString(filePath, Files.readString(filePath).replace("50000", "90000"));
+
+        FileLoadException ex = assertThrows(FileLoadException.class,
+                () -> fileService.loadEmployeesFromFile(filename));
+        assertTrue(ex.getMessage().contains("checksum mismatch"));
+        assertThrows(FileLoadException.class, () -> fileService.loadEmployeesFromFileParallel(filename));
     }
 
     @Test
@@ -204,6 +344,40 @@ class FileServiceImplTest {
         assertEquals("Сергеевна", result.getFirst().getLastName());
     }
 
+    @Test
+    @DisplayName("loadEmployeesFromFile: поддерживает окончания строк \\n, \\r\\n и \\r")
+    void loadEmployeesFromFile_MixedLineEndings() throws IOException {
+        Path filePath = tempDir.resolve("line-endings.txt");
+        Files.writeString(filePath, "1,A,B,100\r\n2,C,D,200\r3,E,F,300\n\r\n4,G,H,400");
+
+        List<Employee> result = fileService.loadEmployeesFromFile(filePath.toAbsolutePath().toString());
+
+        assertEquals(4, result.size());
+        assertEquals(400, result.get(3).getSalary());
+    }
+
+    @Test
+    @DisplayName("loadEmployeesFromFile: строки на границах буфера и длинные строки разбираются целиком")
+    void loadEmployeesFromFile_RowsAcrossBufferBoundaries() throws IOException {
+        Path filePath = tempDir.resolve("large.txt");
+        String longName = "Я".repeat(200_000);
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            lines.add(i + ",Имя" + i + ",Фамилия" + i + "," + i);
+        }
+        lines.add("20000," + longName + ",Фамилия,1");
+        Files.write(filePath, lines);
+
+        List<Employee> result = fileService.loadEmployeesFromFile(filePath.toAbsolutePath().toString());
+
+        assertEquals(20_001, result.size());
+        for (int i = 0; i < 20_000; i++) {
+            assertEquals("Фамилия" + i, result.get(i).getLastName());
+            assertEquals(i, result.get(i).getSalary());
+        }
+        assertEquals(longName, result.get(20_000).getFirstName());
+    }
+
     @Test
     @DisplayName("loadEmployeesFromFile: бросает IllegalArgumentException при null имени")
     void loadEmployeesFromFile_NullFilename_ThrowsIllegalArgumentException() {
@@ -211,9 +385,457 @@ class FileServiceImplTest {
                 () -> fileService.loadEmployeesFromFile(null));
     }
 
+    @Test
+    @DisplayName("loadEmployeesFromFileParallel: результат совпадает с последовательной загрузкой")
+    void loadEmployeesFromFileParallel_MatchesSequentialLoad() throws IOException {
+        Path filePath = tempDir.resolve("parallel.txt");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 5_000; i++) {
+            content.append(i).append(",Имя").append(i).append(",Фамилия").append(i).append(',').append(i * 10);
+            content.append(i % 3 == 0 ? "\r\n" : "\n");
+            if (i % 997 == 0) {
+                content.append("broken,row\n\n");
+            }
+        }
+        Files.writeString(filePath, content);
+        String filename = filePath.toAbsolutePath().toString();
+
+        PrintStream originalErr = System.err;
+        ByteArrayOutputStream sequentialErr = new ByteArrayOutputStream();
+        ByteArrayOutputStream parallelErr = new ByteArrayOutputStream();
+
+        try {
+            System.setErr(new PrintStream(sequentialErr));
+            List<Employee> sequential = fileService.loadEmployeesFromFile(filename);
+
+            System.setErr(new PrintStream(parallelErr));
+            List<Employee> parallel = new FileServiceImpl(ForkJoinPool.commonPool(), 4096)
+                    .loadEmployeesFromFileParallel(filename);
+
+            assertEquals(5_000, parallel.size());
+            for (int i = 0; i < sequential.size(); i++) {
+                assertEquals(sequential.get(i).toString(), parallel.get(i).toString());
+            }
+            assertEquals(sequentialErr.toString(), parallelErr.toString());
+            assertTrue(parallelErr.toString().contains("Error parsing line 2:"));
+        } finally {
+            System.setErr(originalErr);
+        }
+    }
+
+    @Test
+    @DisplayName("loadEmployeesFromFile: с пулом имён одинаковые имена разделяют один экземпляр")
+    void loadEmployeesFromFile_WithNamePool_SharesNameInstances() {
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            roster.add(new Employee(i, "Иван", i % 2 == 0 ? "Иванов" : "Петров", i));
+        }
+        FileService pooled = new FileServiceImpl(ForkJoinPool.commonPool(), 4096, new NamePool());
+
+        for (String name : List.of("names.txt", "names.emp")) {
+            String filename = tempDir.resolve(name).toAbsolutePath().toString();
+            fileService.saveEmployeesToFile(roster, filename);
+
+            for (List<Employee> loaded : List.of(pooled.loadEmployeesFromFile(filename),
+                    pooled.loadEmployeesFromFileParallel(filename))) {
+                assertEquals(roster.size(), loaded.size());
+                assertSame(loaded.get(0).getFirstName(), loaded.get(999).getFirstName());
+                assertSame(loaded.get(0).getLastName(), loaded.get(998).getLastName());
+                assertEquals("Петров", loaded.get(1).getLastName());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("loadEmployeeRecordsFromFile: возвращает неизменяемые записи тех же строк")
+    void loadEmployeeRecordsFromFile_ReturnsImmutableRecords() {
+        List<Employee> roster = List.of(new Employee(1, "Иван", "Петров", 100), new Employee(2, "Анна", "Иванова", 200));
+        for (String name : List.of("records.txt", "records.emp")) {
+            String filename = tempDir.resolve(name).toAbsolutePath().toString();
+            fileService.saveEmployeesToFile(roster, filename);
+
+            List<EmployeeRecord> records = fileService.loadEmployeeRecordsFromFile(filename);
+
+            assertEquals(roster.stream().map(EmployeeRecord::of).toList(), records);
+            assertThrows(UnsupportedOperationException.class, () -> records.add(records.getFirst()));
+        }
+    }
+
+    @Test
+    @DisplayName("loadEmployeesFromFileParallel: пустой файл даёт пустой список")
+    void loadEmployeesFromFileParallel_EmptyFile_ReturnsEmptyList() throws IOException {
+        Path filePath = tempDir.resolve("empty.txt");
+        Files.writeString(filePath, "");
+
+        assertTrue(fileService.loadEmployeesFromFileParallel(filePath.toAbsolutePath().toString()).isEmpty());
+    }
+
+    @Test
+    @DisplayName("loadEmployeesFromFileParallel: бросает FileLoadException, если файл не существует")
+    void loadEmployeesFromFileParallel_NonExistingFile_ThrowsFileLoadException() {
+        assertThrows(FileLoadException.class,
+                () -> fileService.loadEmployeesFromFileParallel(pathInTempDir("missing")));
+    }
+
+    @Test
+    @DisplayName("saveEmployeesToFile: файл .emp сохраняется в бинарном формате и загружается обратно")
+    void saveEmployeesToFile_BinaryFormat_RoundTrip() throws IOException {
+        Path filePath = tempDir.resolve("roster.emp");
+        List<Employee> employees = List.of(
+                new Employee(1, "Диана", "Сергеевна", 50000),
+                new Employee(-2, "Василий", "Николаевич", 75000),
+                new Employee(3, "A", "B", 0)
+        );
+
+        fileService.saveEmployeesToFile(employees, filePath.toAbsolutePath().toString());
+
+        assertTrue(Files.exists(filePath));
+        assertFalse(Files.exists(tempDir.resolve("roster.emp.txt")));
+
+        List<Employee> loaded = fileService.loadEmployeesFromFile(filePath.toAbsolutePath().toString());
+        assertEquals(employees.size(), loaded.size());
+        for (int i = 0; i < employees.size(); i++) {
+            assertEquals(employees.get(i).toString(), loaded.get(i).toString());
+        }
+    }
+
+    @Test
+    @DisplayName("loadEmployeesFromFile: повреждённый файл .emp приводит к FileLoadException")
+    void loadEmployeesFromFile_CorruptedBinaryFile_ThrowsFileLoadException() throws IOException {
+        Path filePath = tempDir.resolve("corrupted.emp");
+        fileService.saveEmployeesToFile(List.of(new Employee(1, "Диана", "Сергеевна", 50000)),
+                filePath.toAbsolutePath().toString());
+
+        byte[] bytes = Files.readAllBytes(filePath);
+        bytes[bytes.length - 1] ^= 1;
+        Files.write(filePath, bytes);
+
+        FileLoadException ex = assertThrows(FileLoadException.class,
+                () -> fileService.loadEmployeesFromFile(filePath.toAbsolutePath().toString()));
+        assertTrue(ex.getMessage().contains("checksum mismatch"));
+    }
+
+    @Test
+    @DisplayName("loadEmployeesFromFile: строки .emp проходят ту же проверку, что и текстовые")
+    void loadEmployeesFromFile_InvalidBinaryRows_SkipsAndReports() {
+        String filename = tempDir.resolve("invalid.emp").toAbsolutePath().toString();
+        List<ParseError> errors = new ArrayList<>();
+        FileService reporting = new FileServiceImpl(ForkJoinPool.commonPool(), null, errors::add);
+        reporting.saveEmployeesToFile(List.of(
+                new Employee(1, "A", "B", 10),
+                new Employee(2, " ", "C", 5),
+                new Employee(3, "X", "Y", -1)
+        ), filename);
+
+        List<Employee> loaded = reporting.loadEmployeesFromFile(filename);
+
+        assertEquals(List.of(1), loaded.stream().map(Employee::getId).toList());
+        assertEquals(List.of(ParseError.Reason.EMPTY_NAME, ParseError.Reason.NEGATIVE_SALARY),
+                errors.stream().map(ParseError::reason).toList());
+        assertEquals(List.of(2, 3), errors.stream().map(ParseError::lineNumber).toList());
+        assertEquals("3,X,Y,-1", errors.get(1).line());
+    }
+
+    @Test
+    @DisplayName("loadEmployeesFromFile: .emp и .txt возвращают одинаково обрезанные имена")
+    void loadEmployeesFromFile_UntrimmedNames_SameForBinaryAndText() {
+        List<Employee> roster = List.of(new Employee(1, "  Иван ", "\tПетров  ", 10),
+                new Employee(2, "Анна", " Мария Иванова ", 20));
+        String text = tempDir.resolve("untrimmed.txt").toAbsolutePath().toString();
+        String binary = tempDir.resolve("untrimmed.emp").toAbsolutePath().toString();
+        fileService.saveEmployeesToFile(roster, text);
+        fileService.saveEmployeesToFile(roster, binary);
+
+        List<Employee> fromBinary = fileService.loadEmployeesFromFile(binary);
+
+        assertEquals(fileService.loadEmployeesFromFile(text).stream().map(Employee::toString).toList(),
+                fromBinary.stream().map(Employee::toString).toList());
+        assertEquals("Иван", fromBinary.getFirst().getFirstName());
+        assertEquals("Мария Иванова", fromBinary.get(1).getLastName());
+    }
+
+    @Test
+    @DisplayName("saveEmployeesToFile: null в имени нельзя сохранить в .emp, старый файл остаётся")
+    void saveEmployeesToFile_BinaryNullName_ThrowsIllegalArgumentException() {
+        String filename = tempDir.resolve("nulls.emp").toAbsolutePath().toString();
+        fileService.saveEmployeesToFile(List.of(new Employee(1, "A", "B", 10)), filename);
+
+        assertThrows(IllegalArgumentException.class, () -> fileService.saveEmployeesToFile(
+                List.of(new Employee(2, "C", "D", 20), new Employee(3, "E", null, 30)), filename));
+        assertEquals(List.of(1), fileService.loadEmployeesFromFile(filename).stream().map(Employee::getId).toList());
+    }
+
+    @Test
+    @DisplayName("loadEmployeesInBatches: бинарный файл тоже читается пачками")
+    void loadEmployeesInBatches_BinaryFile_SplitsIntoBatches() {
+        String filename = tempDir.resolve("batches.emp").toAbsolutePath().toString();
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            employees.add(new Employee(i, "Имя", "Фамилия", i * 1000));
+        }
+        fileService.saveEmployeesToFile(employees, filename);
+
+        Iterator<List<Employee>> batches = fileService.loadEmployeesInBatches(filename, 2);
+        List<Integer> sizes = new ArrayList<>();
+        while (batches.hasNext()) {
+            sizes.add(batches.next().size());
+        }
+
+        assertEquals(List.of(2, 2, 1), sizes);
+    }
+
+    @Test
+    @DisplayName("streamEmployeesFromFile: лениво фильтрует сотрудников из файла")
+    void streamEmployeesFromFile_FiltersLazily() throws IOException {
+        Path filePath = tempDir.resolve("stream.txt");
+        Files.write(filePath, List.of(
+                "1,Диана,Сергеевна,50000",
+                "broken line",
+                "2,Василий,Николаевич,75000",
+                "3,Вадим,Кузнецов,90000"
+        ));
+
+        try (Stream<Employee> stream = fileService.streamEmployeesFromFile(filePath.toAbsolutePath().toString())) {
+            List<Integer> ids = stream
+                    .filter(e -> e.getSalary() > 60000)
+                    .map(Employee::getId)
+                    .toList();
+
+            assertEquals(List.of(2, 3), ids);
+        }
+    }
+
+    @Test
+    @DisplayName("streamEmployeesFromFile: бросает FileLoadException, если файл не существует")
+    void streamEmployeesFromFile_NonExistingFile_ThrowsFileLoadException() {
+        assertThrows(FileLoadException.class,
+                () -> fileService.streamEmployeesFromFile(pathInTempDir("missing")));
+    }
+
+    @Test
+    @DisplayName("forEachEmployeeInFile: передаёт каждого сотрудника в обработчик по порядку")
+    void forEachEmployeeInFile_VisitsEveryEmployeeInOrder() throws IOException {
+        Path filePath = tempDir.resolve("each.txt");
+        Files.write(filePath, List.of(
+                "1,Диана,Сергеевна,50000",
+                "",
+                "2,Василий,Николаевич,75000"
+        ));
+
+        List<Employee> visited = new ArrayList<>();
+        fileService.forEachEmployeeInFile(filePath.toAbsolutePath().toString(), visited::add);
+
+        assertEquals(2, visited.size());
+        assertEquals("Диана", visited.get(0).getFirstName());
+        assertEquals("Василий", visited.get(1).getFirstName());
+    }
+
+    @Test
+    @DisplayName("loadEmployeesInBatches: делит файл на пачки заданного размера")
+    void loadEmployeesInBatches_SplitsIntoBatches() throws IOException {
+        Path filePath = tempDir.resolve("batches.txt");
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            lines.add(i + ",Имя,Фамилия," + i * 1000);
+        }
+        Files.write(filePath, lines);
+
+        Iterator<List<Employee>> batches = fileService.loadEmployeesInBatches(
+                filePath.toAbsolutePath().toString(), 3);
+
+        List<Integer> sizes = new ArrayList<>();
+        while (batches.hasNext()) {
+            sizes.add(batches.next().size());
+        }
+
+        assertEquals(List.of(3, 3, 1), sizes);
+        assertThrows(NoSuchElementException.class, batches::next);
+    }
+
+    @Test
+    @DisplayName("loadEmployeesInBatches: бросает IllegalArgumentException при неположительном размере пачки")
+    void loadEmployeesInBatches_NonPositiveBatchSize_ThrowsIllegalArgumentException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> fileService.loadEmployeesInBatches(pathInTempDir("any"), 0));
+    }
+
     /**
      * Вспомогательный метод для получения пути без расширения .txt
      */
+    @Test
+    @DisplayName("saveEmployeesToFile: gzip-файл сжимается и читается всеми способами загрузки")
+    void saveEmployeesToFile_Gzip_RoundTrips() throws IOException {
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 200_000; i++) {
+            roster.add(new Employee(i, "Иван", "Иванов" + (i % 100), 50_000 + i % 1_000));
+        }
+        Path plain = tempDir.resolve("roster.txt");
+        Path compressed = tempDir.resolve("roster.txt.gz");
+        fileService.saveEmployeesToFile(roster, plain.toString());
+        fileService.saveEmployeesToFile(roster, compressed.toString());
+
+        assertTrue(Files.size(compressed) * 3 < Files.size(plain));
+        assertEquals(0x1F, Files.readAllBytes(compressed)[0] & 0xFF);
+
+        assertEquals(roster, fileService.loadEmployeesFromFile(compressed.toString()));
+        assertEquals(roster, fileService.loadEmployeesFromFileParallel(compressed.toString()));
+        try (Stream<Employee> employees = fileService.streamEmployeesFromFile(compressed.toString())) {
+            assertEquals(roster.size(), employees.count());
+        }
+        Iterator<List<Employee>> batches = fileService.loadEmployeesInBatches(compressed.toString(), 150_000);
+        assertEquals(150_000, batches.next().size());
+        assertEquals(50_000, batches.next().size());
+        assertFalse(batches.hasNext());
+    }
+
+    @Test
+    @DisplayName("loadEmployeesFromFile: сжатие определяется по сигнатуре, если расширение обычное")
+    void loadEmployeesFromFile_GzipWithTextExtension_DetectedByMagicBytes() throws IOException {
+        List<Employee> roster = List.of(new Employee(1, "Иван", "Иванов", 100));
+        Path compressed = tempDir.resolve("disguised.gz");
+        fileService.saveEmployeesToFile(roster, compressed.toString());
+        Path disguised = Files.move(compressed, tempDir.resolve("disguised.txt"));
+
+        assertEquals(roster, fileService.loadEmployeesFromFile(disguised.toString()));
+        assertThrows(IllegalArgumentException.class, () -> fileService.watchEmployeesFile(disguised.toString()));
+    }
+
+    @Test
+    @DisplayName("loadEmployeesFromFile: повреждённый gzip-файл даёт FileLoadException")
+    void loadEmployeesFromFile_CorruptedGzip_ThrowsFileLoadException() throws IOException {
+        Path compressed = tempDir.resolve("broken.txt.gz");
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            roster.add(new Employee(i, "Имя" + i, "Фамилия" + i, i));
+        }
+        fileService.saveEmployeesToFile(roster, compressed.toString());
+        byte[] bytes = Files.readAllBytes(compressed);
+        Files.write(compressed, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertThrows(FileLoadException.class, () -> fileService.loadEmployeesFromFile(compressed.toString()));
+        assertThrows(IllegalArgumentException.class,
+                () -> fileService.saveEmployeesToFile(roster, tempDir.resolve("roster.emp.gz").toString()));
+    }
+
+    @Test
+    @DisplayName("loadEmployeesFromFile: политика дубликатов id применяется при загрузке")
+    void loadEmployeesFromFile_DuplicateIds_AppliesPolicy() throws IOException {
+        Path filePath = tempDir.resolve("duplicates.txt");
+        Files.write(filePath, List.of(
+                "5,Василий,Сергеевич,21000",
+                "1,Иван,Петров,50000",
+                "5,Сергей,Николаевич,40000"));
+        List<ParseError> errors = new ArrayList<>();
+        FileService reporting = new FileServiceImpl(ForkJoinPool.commonPool(), null, errors::add);
+        String filename = filePath.toString();
+
+        assertEquals(3, reporting.loadEmployeesFromFile(filename).size());
+        assertEquals("Сергей", reporting.loadEmployeesFromFile(filename, DuplicateIdPolicy.KEEP_LAST)
+                .getFirst().getFirstName());
+        assertThrows(FileLoadException.class,
+                () -> reporting.loadEmployeesFromFileParallel(filename, DuplicateIdPolicy.REJECT));
+        assertTrue(errors.isEmpty());
+
+        List<Employee> result = reporting.loadEmployeesFromFileParallel(filename, DuplicateIdPolicy.REPORT);
+
+        assertEquals(List.of(5, 1), result.stream().map(Employee::getId).toList());
+        assertEquals(1, errors.size());
+        assertEquals(ParseError.Reason.DUPLICATE_ID, errors.getFirst().reason());
+        assertEquals(3, errors.getFirst().lineNumber());
+        assertEquals("5,Сергей,Николаевич,40000", errors.getFirst().line());
+    }
+
+    @Test
+    @DisplayName("loadEmployeesFromFiles: объединяет файлы по порядку и сообщает об ошибках по файлам")
+    void loadEmployeesFromFiles_MergesInOrder_ReportsFailures() throws IOException {
+        List<String> filenames = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Path filePath = tempDir.resolve("department" + i + ".txt");
+            Files.write(filePath, List.of(i * 2 + ",Имя,Фамилия,1", (i * 2 + 1) + ",Имя,Фамилия,2"));
+            filenames.add(filePath.toString());
+        }
+        filenames.add(5, pathInTempDir("missing"));
+
+        BatchLoadResult result = fileService.loadEmployeesFromFiles(filenames);
+
+        assertEquals(40, result.employees().size());
+        for (int i = 0; i < 40; i++) {
+            assertEquals(i, result.employees().get(i).getId());
+        }
+        assertEquals(21, result.files().size());
+        assertEquals(1, result.failures().size());
+        assertInstanceOf(FileLoadException.class, result.files().get(5).error());
+        assertEquals(2, result.files().get(6).rowCount());
+    }
+
+    @Test
+    @DisplayName("findById: читает одну строку по индексу, сохранённому рядом с файлом")
+    void findById_SavedRoster_UsesSidecarIndex() throws IOException {
+        List<Employee> roster = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            roster.add(new Employee((i * 7919) % 50_000, "Имя" + i, "Фамилия", i));
+        }
+        roster.add(new Employee(42, "Дубликат", "Фамилия", 999_999));
+        String filename = tempDir.resolve("indexed").toString();
+        fileService.saveEmployeesToFile(roster, filename);
+
+        assertTrue(Files.exists(tempDir.resolve("indexed.txt.idx")));
+        for (int i = 0; i < roster.size() - 1; i += 997) {
+            assertEquals(Optional.of(roster.get(i)), fileService.findById(filename, roster.get(i).getId()));
+        }
+        assertEquals("Имя" + indexOfId(roster, 42), fileService.findById(filename, 42).orElseThrow().getFirstName());
+        assertEquals(Optional.empty(), fileService.findById(filename, 50_000));
+    }
+
+    @Test
+    @DisplayName("findById: устаревший или повреждённый индекс перестраивается")
+    void findById_StaleIndex_RebuildsIndex() throws IOException {
+        Path filePath = tempDir.resolve("stale.txt");
+        fileService.saveEmployeesToFile(List.of(new Employee(1, "Иван", "Петров", 100),
+                new Employee(2, "Анна", "Иванова", 200)), filePath.toString());
+
+        Files.write(filePath, List.of("2,Пётр,Сидоров,300", "bad row", "3,Олег,Смирнов,400", "1,Ира,Орлова,500"));
+        assertEquals("Пётр", fileService.findById(filePath.toString(), 2).orElseThrow().getFirstName());
+        assertEquals("Ира", fileService.findById(filePath.toString(), 1).orElseThrow().getFirstName());
+
+        Files.writeString(tempDir.resolve("stale.txt.idx"), "garbage");
+        FileService freshService = new FileServiceImpl();
+        assertEquals("Олег", freshService.findById(filePath.toString(), 3).orElseThrow().getFirstName());
+        assertEquals(Optional.empty(), freshService.findById(filePath.toString(), 4));
+        assertTrue(Files.size(tempDir.resolve("stale.txt.idx")) > "garbage".length());
+    }
+
+    @Test
+    @DisplayName("openSnapshot: снимок переиспользуется, а после изменения файла перестраивается")
+    void openSnapshot_ChangedRoster_RebuildsSnapshot() throws IOException {
+        Path filePath = tempDir.resolve("snapshot.txt");
+        Path snapshotPath = tempDir.resolve("snapshot.txt.snap");
+        fileService.saveEmployeesToFile(List.of(new Employee(1, "Иван", "Петров", 100),
+                new Employee(2, "Анна", "Иванова", 200)), filePath.toString());
+
+        RosterSnapshot snapshot = fileService.openSnapshot(filePath.toString());
+        assertEquals(fileService.loadEmployeesFromFile(filePath.toString()), snapshot.getEmployees());
+        FileTime written = Files.getLastModifiedTime(snapshotPath);
+        assertEquals(2, new FileServiceImpl().openSnapshot(filePath.toString()).size());
+        assertEquals(written, Files.getLastModifiedTime(snapshotPath));
+
+        Files.write(filePath, List.of("2,Пётр,Сидоров,300", "3,Олег,Смирнов,400", "4,Ира,Орлова,500"));
+        RosterSnapshot rebuilt = new FileServiceImpl().openSnapshot(filePath.toString());
+        assertEquals(3, rebuilt.size());
+        assertEquals("Пётр", rebuilt.findById(2).orElseThrow().getFirstName());
+        assertEquals(Optional.empty(), rebuilt.findById(1));
+        assertEquals(1, snapshot.findById(1).orElseThrow().getId());
+    }
+
+    private static int indexOfId(List<Employee> roster, int id) {
+        for (int i = 0; i < roster.size(); i++) {
+            if (roster.get(i).getId() == id) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
     private String pathInTempDir(String filename) {
         String name = filename.endsWith(".txt") ? filename.substring(0, filename.length() - 4) : filename;
         String path = tempDir.resolve(name + ".txt").toAbsolutePath().toString();
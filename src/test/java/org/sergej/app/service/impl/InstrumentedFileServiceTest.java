@@ -0,0 +1,158 @@
+package org.sergej.app.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.sergej.app.metrics.ServiceMetrics;
+import org.sergej.app.model.Employee;
+import org.sergej.app.model.ParseError;
+import org.sergej.app.repository.EmployeeRepository;
+import org.sergej.app.service.EmployeeService;
+import org.sergej.app.service.FileService;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InstrumentedFileServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("loadEmployeesFromFile: считает строки, байты и пропущенные строки по причинам без вывода в stderr")
+    void loadEmployeesFromFile_RecordsRowsBytesAndSkippedRows() throws IOException {
+        Path file = tempDir.resolve("metrics.txt");
+        Files.writeString(file, """
+                1,Иван,Иванов,100
+                2,Пётр,Петров
+                3,Анна,,300
+                4,Олег,Орлов,-1
+                x,Мария,Сидорова,400
+                5,Ольга,Волкова,500
+                """);
+        ServiceMetrics metrics = new ServiceMetrics();
+        FileService fileService = InstrumentedFileService.create(metrics);
+
+        PrintStream originalErr = System.err;
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        List<Employee> loaded;
+        try {
+            System.setErr(new PrintStream(err));
+            loaded = fileService.loadEmployeesFromFile(file.toString());
+            fileService.loadEmployeesFromFileParallel(file.toString());
+        } finally {
+            System.setErr(originalErr);
+        }
+
+        assertEquals(2, loaded.size());
+        assertEquals("", err.toString());
+        assertEquals(4, metrics.getRowsParsed());
+        assertEquals(2 * Files.size(file), metrics.getBytesRead());
+        assertEquals(2, metrics.getSkippedRows(ParseError.Reason.FIELD_COUNT));
+        assertEquals(2, metrics.getSkippedRows(ParseError.Reason.EMPTY_NAME));
+        assertEquals(2, metrics.getSkippedRows(ParseError.Reason.NEGATIVE_SALARY));
+        assertEquals(2, metrics.getSkippedRows(ParseError.Reason.INVALID_NUMBER));
+        assertEquals(1, metrics.getLatency("FileService.loadEmployeesFromFile").getCount());
+        assertEquals(1, metrics.getLatency("FileService.loadEmployeesFromFileParallel").getCount());
+
+        ParseError first = metrics.getErrorCollector().getErrors().getFirst();
+        assertEquals(2, first.lineNumber());
+        assertEquals("2,Пётр,Петров", first.line());
+        assertEquals("Expected 4 fields, but got 3", first.message());
+    }
+
+    @Test
+    @DisplayName("loadEmployeesFromFile: попадание в кэш не увеличивает число прочитанных байт")
+    void loadEmployeesFromFile_CacheHit_RecordsNoBytes() {
+        Path file = tempDir.resolve("cached.txt");
+        ServiceMetrics metrics = new ServiceMetrics();
+        FileService fileService = new InstrumentedFileService(new CachingFileService(
+                new FileServiceImpl(ForkJoinPool.commonPool(), null, metrics), 1 << 20), metrics);
+        fileService.saveEmployeesToFile(List.of(new Employee(1, "Иван", "Иванов", 100)), file.toString());
+
+        fileService.loadEmployeesFromFile(file.toString());
+        long bytesAfterMiss = metrics.getBytesRead();
+        fileService.loadEmployeesFromFile(file.toString());
+
+        assertEquals(file.toFile().length(), bytesAfterMiss);
+        assertEquals(bytesAfterMiss, metrics.getBytesRead());
+        assertEquals(2, metrics.getRowsParsed());
+    }
+
+    @Test
+    @DisplayName("streamEmployeesFromFile: брошенный поток учитывает только прочитанные байты")
+    void streamEmployeesFromFile_AbandonedStream_RecordsBytesConsumed() {
+        Path file = tempDir.resolve("large.txt");
+        ServiceMetrics metrics = new ServiceMetrics();
+        FileService fileService = InstrumentedFileService.create(metrics);
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 1; i <= 20_000; i++) {
+            employees.add(new Employee(i, "Иван", "Иванов", i));
+        }
+        fileService.saveEmployeesToFile(employees, file.toString());
+
+        try (Stream<Employee> stream = fileService.streamEmployeesFromFile(file.toString())) {
+            assertEquals(1, stream.findFirst().orElseThrow().getId());
+        }
+
+        assertTrue(metrics.getBytesRead() > 0);
+        assertTrue(metrics.getBytesRead() < file.toFile().length());
+    }
+
+    @Test
+    @DisplayName("streamEmployeesFromFile: метрики записываются при закрытии потока")
+    void streamEmployeesFromFile_RecordsOnClose() {
+        String filename = tempDir.resolve("stream.txt").toString();
+        ServiceMetrics metrics = new ServiceMetrics();
+        FileService fileService = InstrumentedFileService.create(metrics);
+        fileService.saveEmployeesToFile(List.of(new Employee(1, "Иван", "Иванов", 100),
+                new Employee(2, "Пётр", "Петров", 200)), filename);
+
+        try (Stream<Employee> employees = fileService.streamEmployeesFromFile(filename)) {
+            assertEquals(2, employees.count());
+        }
+        fileService.forEachEmployeeInFile(filename, employee -> { });
+        fileService.loadEmployeesInBatches(filename, 1).forEachRemaining(batch -> { });
+
+        assertEquals(6, metrics.getRowsParsed());
+        assertEquals(1, (long) metrics.getCallCounts().get("FileService.streamEmployeesFromFile"));
+        assertEquals(1, (long) metrics.getCallCounts().get("FileService.forEachEmployeeInFile"));
+        assertEquals(1, (long) metrics.getCallCounts().get("FileService.loadEmployeesInBatches"));
+        assertEquals(1, (long) metrics.getCallCounts().get("FileService.saveEmployeesToFile"));
+    }
+
+    @Test
+    @DisplayName("InstrumentedEmployeeService: задержки доступны через JMX")
+    void instrumentedEmployeeService_ExposesLatenciesOverJmx() throws Exception {
+        ServiceMetrics metrics = new ServiceMetrics();
+        EmployeeService service = new InstrumentedEmployeeService(new EmployeeServiceImpl(), metrics);
+        EmployeeRepository repository = new EmployeeRepository(List.of(new Employee(1, "Иван", "Иванов", 100)));
+
+        service.getEmployeeById(1, repository);
+        service.getEmployeeById(1, repository.getEmployees());
+        assertThrows(RuntimeException.class, () -> service.getEmployeeById(2, repository));
+
+        ObjectName name = metrics.register("test-" + System.nanoTime());
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertEquals(3, (long) metrics.getCallCounts().get("EmployeeService.getEmployeeById"));
+            assertEquals(0L, (long) server.getAttribute(name, "RowsParsed"));
+            assertNotNull(server.getAttribute(name, "P99LatencyMicros"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+
+}
@@ -0,0 +1,101 @@
+package org.sergej.app.service.impl;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.sergej.app.exception.FileLoadException;
+import org.sergej.app.model.BatchLoadResult;
+import org.sergej.app.model.Employee;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiFileLoaderTest {
+
+    @Test
+    @DisplayName("load: одновременно читается не больше заданного числа файлов")
+    void load_ConcurrencyLimit_IsRespected() {
+        List<String> filenames = IntStream.range(0, 200).mapToObj(i -> "file" + i).toList();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        BatchLoadResult result = MultiFileLoader.load(filenames, 8, null, (filename, rows) -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(2);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            running.decrementAndGet();
+            rows.accept(new Employee(Integer.parseInt(filename.substring(4)), "Имя", "Фамилия", 1));
+        });
+
+        assertTrue(maxRunning.get() <= 8);
+        assertEquals(200, result.files().size());
+        assertEquals(IntStream.range(0, 200).boxed().toList(),
+                result.employees().stream().map(Employee::getId).toList());
+    }
+
+    @Test
+    @DisplayName("load: ошибка одного файла не мешает остальным")
+    void load_FailingFile_ReportedInOutcome() {
+        List<Employee> received = new ArrayList<>();
+
+        BatchLoadResult result = MultiFileLoader.load(List.of("ok1", "bad", "ok2"), 2, received::add,
+                (filename, rows) -> {
+                    if (filename.equals("bad")) {
+                        throw new FileLoadException("File not found: bad");
+                    }
+                    rows.accept(new Employee(1, filename, "Фамилия", 1));
+                });
+
+        assertTrue(result.employees().isEmpty());
+        assertEquals(2, received.size());
+        assertEquals(1, result.failures().size());
+        assertEquals("bad", result.failures().getFirst().filename());
+        assertInstanceOf(FileLoadException.class, result.failures().getFirst().error());
+        assertTrue(result.files().get(2).isSuccess());
+        assertThrows(IllegalArgumentException.class,
+                () -> MultiFileLoader.load(List.of("ok"), 0, null, (filename, rows) -> { }));
+    }
+
+    @Test
+    @DisplayName("load: строки передаются в приёмник по мере чтения, не дожидаясь конца файла")
+    void load_Sink_ReceivesRowsWhileFileIsRead() {
+        List<Employee> received = new ArrayList<>();
+        AtomicInteger receivedMidway = new AtomicInteger(-1);
+
+        BatchLoadResult result = MultiFileLoader.load(List.of("big"), 1, received::add, (filename, rows) -> {
+            for (int i = 0; i < MultiFileLoader.SINK_BATCH_SIZE; i++) {
+                rows.accept(new Employee(i, "Имя", "Фамилия", 1));
+            }
+            receivedMidway.set(received.size());
+            rows.accept(new Employee(-1, "Имя", "Фамилия", 1));
+        });
+
+        assertEquals(MultiFileLoader.SINK_BATCH_SIZE, receivedMidway.get());
+        assertEquals(MultiFileLoader.SINK_BATCH_SIZE + 1, received.size());
+        assertEquals(MultiFileLoader.SINK_BATCH_SIZE + 1, result.files().getFirst().rowCount());
+    }
+
+    @Test
+    @DisplayName("load: файл, упавший посередине, сообщает, сколько строк уже получил приёмник")
+    void load_FileFailingMidway_ReportsDeliveredRows() {
+        List<Employee> received = new ArrayList<>();
+
+        BatchLoadResult result = MultiFileLoader.load(List.of("broken"), 1, received::add, (filename, rows) -> {
+            for (int i = 0; i < MultiFileLoader.SINK_BATCH_SIZE + 10; i++) {
+                rows.accept(new Employee(i, "Имя", "Фамилия", 1));
+            }
+            throw new FileLoadException("Checksum mismatch: broken");
+        });
+
+        assertEquals(MultiFileLoader.SINK_BATCH_SIZE, received.size());
+        assertFalse(result.files().getFirst().isSuccess());
+        assertEquals(MultiFileLoader.SINK_BATCH_SIZE, result.files().getFirst().rowCount());
+    }
+
+}
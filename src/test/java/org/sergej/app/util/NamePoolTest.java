@@ -0,0 +1,38 @@
+package org.sergej.app.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NamePoolTest {
+
+    @Test
+    @DisplayName("intern: одинаковые имена возвращаются одним экземпляром")
+    void intern_EqualNames_ReturnsSameInstance() {
+        NamePool pool = new NamePool();
+        String first = pool.intern(new String("Иван"));
+        String second = pool.intern(new String("Иван"));
+        char[] chars = "  Иван,".toCharArray();
+
+        assertSame(first, second);
+        assertSame(first, pool.intern(chars, 2, 6));
+        assertNull(pool.intern(null));
+    }
+
+    @Test
+    @DisplayName("intern: пул ограничен по размеру и остаётся корректным при вытеснении")
+    void intern_ManyDistinctNames_StaysBoundedAndCorrect() {
+        NamePool pool = new NamePool(64);
+        for (int i = 0; i < 10_000; i++) {
+            String name = "Имя" + i;
+            assertEquals(name, pool.intern(name));
+            char[] chars = name.toCharArray();
+            assertEquals(name, pool.intern(chars, 0, chars.length));
+        }
+
+        assertEquals(64, pool.capacity());
+        assertThrows(IllegalArgumentException.class, () -> new NamePool(1));
+    }
+
+}
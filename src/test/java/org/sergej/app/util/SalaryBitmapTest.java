@@ -0,0 +1,50 @@
+package org.sergej.app.util;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SalaryBitmapTest {
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 63, 64, 65, 1000, 100_003})
+    @DisplayName("greaterThan: битовая карта совпадает с поэлементным сравнением")
+    void greaterThan_MatchesScalarComparison(int length) {
+        SplittableRandom random = new SplittableRandom(length);
+        int[] salaries = new int[length];
+        for (int i = 0; i < length; i++) {
+            salaries[i] = switch (i % 5) {
+                case 0 -> Integer.MIN_VALUE;
+                case 1 -> Integer.MAX_VALUE;
+                default -> random.nextInt(-100, 100);
+            };
+        }
+
+        IntBuffer direct = ByteBuffer.allocateDirect(length * Integer.BYTES).order(ByteOrder.nativeOrder())
+                .asIntBuffer().put(salaries).flip().asReadOnlyBuffer();
+
+        for (int threshold : new int[]{Integer.MIN_VALUE, -1, 0, 50, Integer.MAX_VALUE}) {
+            long[] expected = new long[(length + 63) / 64];
+            for (int i = 0; i < length; i++) {
+                if (salaries[i] > threshold) {
+                    expected[i / 64] |= 1L << (i % 64);
+                }
+            }
+
+            assertArrayEquals(expected, SalaryBitmap.greaterThan(salaries, threshold));
+            assertArrayEquals(expected, SalaryBitmap.greaterThan(salaries, threshold, ForkJoinPool.commonPool(), 128));
+            assertArrayEquals(expected, SalaryBitmap.greaterThan(IntBuffer.wrap(salaries), threshold));
+            assertArrayEquals(expected, SalaryBitmap.greaterThan(direct, threshold));
+            assertArrayEquals(expected, SalaryBitmap.greaterThan(direct, threshold, ForkJoinPool.commonPool(), 128));
+        }
+    }
+
+}